@@ -0,0 +1,64 @@
+package com.daam.server.benchmark;
+
+import com.daam.server.entity.Order;
+import com.daam.server.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The full MVC path of POST /api/items/order/{orderid}: JSON binding, validation, the
+ * batched insert and response serialization. Each invocation inserts another set of items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AddItemsToOrderBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private Long orderId;
+    private String itemsJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET);
+        BenchmarkContext.seed(context, 50, 1000);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        Order order = context.getBean(OrderRepository.class).save(BenchmarkContext.order(3L));
+        orderId = order.getId();
+        itemsJson = context.getBean(ObjectMapper.class)
+                .writeValueAsString(BenchmarkContext.items(null, BenchmarkContext.ITEMS_PER_ORDER));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult addItemsToOrder() throws Exception {
+        return mockMvc.perform(post("/api/items/order/{orderid}", orderId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemsJson))
+                .andReturn();
+    }
+}
@@ -0,0 +1,93 @@
+package com.daam.server.benchmark;
+
+import com.daam.server.ServerApplication;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.entity.Order;
+import com.daam.server.repository.ItemRepository;
+import com.daam.server.repository.MenuItemRepository;
+import com.daam.server.repository.OrderRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the Server against an in-memory H2 database and seeds it with realistic volumes.
+ */
+final class BenchmarkContext {
+
+    static final int MENU_ITEMS = 40;
+    static final int ITEMS_PER_ORDER = 8;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraArgs) {
+        // Command-line style arguments take precedence over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--spring.flyway.enabled=false",
+                "--server.port=0",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(ServerApplication.class)
+                .web(webApplicationType)
+                .run(args.toArray(String[]::new));
+    }
+
+    static List<MenuItem> menuItems(int count) {
+        List<MenuItem> menuItems = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            menuItems.add(new MenuItem(null, "Menu item " + i,
+                    "Packed with protein and a touch of sweetness, topped with your choice of cheese and classic fixings.",
+                    i % 3 == 0 ? "entrees" : i % 3 == 1 ? "sides" : "drinks", 5.0 + i % 10, "/images/food/item_" + i + ".jpg", true, null, null));
+        }
+        return menuItems;
+    }
+
+    static Order order(long userid) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return new Order(null, userid, now, new Timestamp(now.getTime() + 15 * 60_000), "Theater 1", "Table 16",
+                4.94, 11.99, "5137069438784126", 8, 2027, "new", null);
+    }
+
+    static List<Item> items(Long orderid, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(null, orderid, (long) (i % MENU_ITEMS) + 1, 5.51, "no onions", "Eleanor", null));
+        }
+        return items;
+    }
+
+    /**
+     * Seeds the menu plus {@code orders} orders spread over {@code users} users, each with
+     * {@link #ITEMS_PER_ORDER} items.
+     */
+    static void seed(ConfigurableApplicationContext context, int users, int orders) {
+        context.getBean(MenuItemRepository.class).saveAll(menuItems(MENU_ITEMS));
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        int batchSize = 500;
+        for (int start = 0; start < orders; start += batchSize) {
+            List<Order> batch = new ArrayList<>(batchSize);
+            for (int i = start; i < Math.min(start + batchSize, orders); i++) {
+                batch.add(order(i % users + 1));
+            }
+            List<Item> items = new ArrayList<>(batch.size() * ITEMS_PER_ORDER);
+            for (Order saved : orderRepository.saveAll(batch)) {
+                items.addAll(items(saved.getId(), ITEMS_PER_ORDER));
+            }
+            itemRepository.saveAll(items);
+        }
+    }
+}
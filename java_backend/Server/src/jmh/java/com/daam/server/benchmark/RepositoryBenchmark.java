@@ -0,0 +1,69 @@
+package com.daam.server.benchmark;
+
+import com.daam.server.entity.Item;
+import com.daam.server.entity.Order;
+import com.daam.server.repository.ItemRepository;
+import com.daam.server.repository.OrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The order-history and order-detail lookups against H2 seeded with a season's worth of orders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryBenchmark {
+
+    @Param({"10000"})
+    private int orders;
+
+    @Param({"500"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private ItemRepository itemRepository;
+    private long minOrderId;
+    private long maxOrderId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE);
+        BenchmarkContext.seed(context, users, orders);
+        orderRepository = context.getBean(OrderRepository.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        List<Order> allOrders = orderRepository.findAll();
+        minOrderId = allOrders.stream().mapToLong(Order::getId).min().orElseThrow();
+        maxOrderId = allOrders.stream().mapToLong(Order::getId).max().orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> findItemsByOrderid() {
+        return itemRepository.findByOrderid(ThreadLocalRandom.current().nextLong(minOrderId, maxOrderId + 1));
+    }
+
+    @Benchmark
+    public List<Order> findOrdersByUserid() {
+        return orderRepository.findByUserid(ThreadLocalRandom.current().nextLong(1, users + 1));
+    }
+}
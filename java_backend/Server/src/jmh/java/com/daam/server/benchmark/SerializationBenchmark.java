@@ -0,0 +1,67 @@
+package com.daam.server.benchmark;
+
+import com.daam.server.entity.Film;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.entity.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the payloads returned by the menu, film and order endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"14", "200"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<MenuItem> menuItems;
+    private List<Film> films;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        menuItems = BenchmarkContext.menuItems(size);
+        films = new ArrayList<>(size);
+        String overview = "Illuminating the darkest depths of international intrigue and personal sacrifice. ".repeat(20);
+        for (int i = 0; i < size; i++) {
+            films.add(new Film((long) i, "Film " + i, "http://example.com/" + i, Date.valueOf("2024-08-01"), overview,
+                    "/images/posters/" + i + ".jpg", 120, "Pack in the fun", 7.5, "tt0137523", 7.3, 42, null));
+        }
+        order = BenchmarkContext.order(3L);
+        order.setId(1001L);
+    }
+
+    @Benchmark
+    public byte[] menuItemList() throws Exception {
+        return objectMapper.writeValueAsBytes(menuItems);
+    }
+
+    @Benchmark
+    public byte[] filmList() throws Exception {
+        return objectMapper.writeValueAsBytes(films);
+    }
+
+    @Benchmark
+    public byte[] singleOrder() throws Exception {
+        return objectMapper.writeValueAsBytes(order);
+    }
+}
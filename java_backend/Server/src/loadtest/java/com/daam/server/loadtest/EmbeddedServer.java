@@ -0,0 +1,128 @@
+package com.daam.server.loadtest;
+
+import com.daam.server.ServerApplication;
+import com.daam.server.entity.Film;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.entity.Order;
+import com.daam.server.entity.User;
+import com.daam.server.repository.FilmRepository;
+import com.daam.server.repository.ItemRepository;
+import com.daam.server.repository.MenuItemRepository;
+import com.daam.server.repository.OrderRepository;
+import com.daam.server.repository.UserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the Server on a random port against an in-memory H2 database and seeds it with
+ * users, films, the menu and an order history, so the load runs through the real code paths.
+ */
+final class EmbeddedServer implements AutoCloseable {
+
+    static final int MENU_ITEMS = 40;
+    static final int ITEMS_PER_ORDER = 4;
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedServer(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static EmbeddedServer start(LoadTestConfig config) {
+        // Command-line style arguments take precedence over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ServerApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--spring.flyway.enabled=false",
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+        EmbeddedServer server = new EmbeddedServer(context);
+        server.seed(config);
+        return server;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void seed(LoadTestConfig config) {
+        List<User> users = new ArrayList<>(config.users());
+        for (int i = 1; i <= config.users(); i++) {
+            User user = new User();
+            user.setUsername("guest" + i);
+            user.setPassword("pass");
+            user.setFirst("Guest");
+            user.setLast("Number " + i);
+            user.setEmail("guest" + i + "@example.com");
+            user.setRoles("USER");
+            users.add(user);
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+
+        List<Film> films = new ArrayList<>(config.films());
+        for (int i = 0; i < config.films(); i++) {
+            Film film = new Film();
+            film.setTitle("Feature presentation " + i);
+            film.setReleasedate(Date.valueOf("2019-05-17"));
+            film.setOverview("A retired hitman is pulled back into the underworld when an old debt comes due, "
+                    + "and every favour he ever called in is suddenly called back.");
+            film.setPosterpath("/images/posters/film_" + i + ".jpg");
+            film.setRuntime(90 + i % 60);
+            film.setTagline("Every action has consequences");
+            film.setPopularity(10.0 + i % 90);
+            film.setImdbid(String.format("tt%07d", i));
+            film.setVoteaverage(5.0 + i % 50 / 10.0);
+            film.setVotecount(100 + i * 7 % 5000);
+            films.add(film);
+        }
+        context.getBean(FilmRepository.class).saveAll(films);
+
+        List<MenuItem> menuItems = new ArrayList<>(MENU_ITEMS);
+        for (int i = 0; i < MENU_ITEMS; i++) {
+            menuItems.add(new MenuItem(null, "Menu item " + i,
+                    "Packed with protein and a touch of sweetness, topped with your choice of cheese and classic fixings.",
+                    i % 3 == 0 ? "entrees" : i % 3 == 1 ? "sides" : "drinks", 5.0 + i % 10, "/images/food/item_" + i + ".jpg", true, null, null));
+        }
+        context.getBean(MenuItemRepository.class).saveAll(menuItems);
+
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        for (int start = 0; start < config.orders(); start += BATCH_SIZE) {
+            List<Order> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = start; i < Math.min(start + BATCH_SIZE, config.orders()); i++) {
+                Timestamp ordertime = new Timestamp(System.currentTimeMillis() - i * 60_000L);
+                batch.add(new Order(null, (long) (i % config.users()) + 1, ordertime,
+                        new Timestamp(ordertime.getTime() + 15 * 60_000), "Theater 1", "Table 16",
+                        4.94, 11.99, "5137069438784126", 8, 2027, "complete", null));
+            }
+            List<Item> items = new ArrayList<>(batch.size() * ITEMS_PER_ORDER);
+            for (Order saved : orderRepository.saveAll(batch)) {
+                for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                    items.add(new Item(null, saved.getId(), (long) (i % MENU_ITEMS) + 1, 5.51, "no onions", "Eleanor", null));
+                }
+            }
+            itemRepository.saveAll(items);
+        }
+    }
+}
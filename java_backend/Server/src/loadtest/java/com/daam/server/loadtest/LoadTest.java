@@ -0,0 +1,60 @@
+package com.daam.server.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Replays the dinner-and-a-movie traffic mix (menu browsing, film listing, checkout and
+ * order-history polling) against the Server and reports throughput and latency percentiles
+ * per operation. Without --base-url the Server is booted in-process against a seeded H2 database.
+ *
+ * <p>Run with {@code ./gradlew loadTest -PloadArgs="--duration=120 --rate.checkout=20"};
+ * see {@link LoadTestConfig} for the options.
+ */
+public final class LoadTest {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        EmbeddedServer server = config.baseUrl() == null ? EmbeddedServer.start(config) : null;
+        try {
+            String baseUrl = server != null ? server.baseUrl() : config.baseUrl();
+            System.out.printf("Driving %s for %ds after %ds warm-up%n", baseUrl,
+                    config.duration().toSeconds(), config.warmup().toSeconds());
+            Map<Operation, OperationStats> results = new OpenModelDriver(config, baseUrl).run();
+            report(config, results);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static void report(LoadTestConfig config, Map<Operation, OperationStats> results) {
+        double seconds = config.duration().toMillis() / 1000.0;
+        System.out.printf("%n%-10s %9s %9s %8s %8s %9s %9s %9s %9s %9s%n", "operation", "target/s", "actual/s",
+                "errors", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((operation, stats) -> {
+            double target = config.rates().get(operation);
+            if (target <= 0) {
+                return;
+            }
+            Histogram latency = stats.latency();
+            System.out.printf("%-10s %9.1f %9.1f %8d %8d", operation.key(), target,
+                    latency.getTotalCount() / seconds, stats.errors(), stats.dropped());
+            for (double percentile : PERCENTILES) {
+                System.out.printf(" %9.2f", latency.getValueAtPercentile(percentile) / 1000.0);
+            }
+            System.out.printf(" %9.2f%n", latency.getMaxValue() / 1000.0);
+        });
+        System.out.println();
+        for (Operation operation : Operation.values()) {
+            System.out.printf("%-10s %s%n", operation.key(), operation.description());
+        }
+    }
+}
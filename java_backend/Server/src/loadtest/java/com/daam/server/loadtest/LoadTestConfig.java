@@ -0,0 +1,64 @@
+package com.daam.server.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options in {@code --name=value} form. Every option has a default, so the
+ * harness can be run without arguments.
+ *
+ * <pre>
+ * --base-url=http://host:8080   drive an already running Server instead of booting one on H2
+ * --duration=60                 measured seconds
+ * --warmup=10                   seconds of traffic before recording starts
+ * --rate.menu=40                arrivals per second for each operation (0 disables it)
+ * --rate.films=20
+ * --rate.checkout=5
+ * --rate.history=15
+ * --users=200 --orders=5000 --films=500   seed volumes when booting on H2
+ * --max-in-flight=10000         arrivals beyond this are counted as dropped
+ * </pre>
+ */
+record LoadTestConfig(String baseUrl, Duration duration, Duration warmup, Map<Operation, Double> rates,
+                      int users, int orders, int films, int maxInFlight) {
+
+    static LoadTestConfig parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+
+        Map<Operation, Double> rates = new EnumMap<>(Operation.class);
+        rates.put(Operation.MENU, rate(options, Operation.MENU, 40));
+        rates.put(Operation.FILMS, rate(options, Operation.FILMS, 20));
+        rates.put(Operation.CHECKOUT, rate(options, Operation.CHECKOUT, 5));
+        rates.put(Operation.HISTORY, rate(options, Operation.HISTORY, 15));
+
+        return new LoadTestConfig(
+                options.get("base-url"),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                rates,
+                Integer.parseInt(options.getOrDefault("users", "200")),
+                Integer.parseInt(options.getOrDefault("orders", "5000")),
+                Integer.parseInt(options.getOrDefault("films", "500")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "10000")));
+    }
+
+    private static double rate(Map<String, String> options, Operation operation, double defaultRate) {
+        double rate = Double.parseDouble(options.getOrDefault("rate." + operation.key(), String.valueOf(defaultRate)));
+        if (rate < 0) {
+            throw new IllegalArgumentException("rate." + operation.key() + " must not be negative");
+        }
+        return rate;
+    }
+}
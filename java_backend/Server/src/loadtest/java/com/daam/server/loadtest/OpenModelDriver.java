@@ -0,0 +1,213 @@
+package com.daam.server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: each operation has its own Poisson arrival process, and arrivals are issued
+ * on schedule whether or not earlier requests have completed. A closed loop of N clients would
+ * slow down with the server and hide queueing; this keeps offered load constant instead.
+ */
+final class OpenModelDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Semaphore inFlight;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final String itemsJson;
+
+    private long measureStartNanos;
+
+    OpenModelDriver(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.inFlight = new Semaphore(config.maxInFlight());
+        this.httpClient = HttpClient.newBuilder()
+                .executor(requestExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        this.itemsJson = toJson(checkoutItems());
+    }
+
+    /**
+     * Runs warm-up plus the measured window and returns the per-operation statistics. Only
+     * arrivals scheduled inside the measured window are recorded.
+     */
+    Map<Operation, OperationStats> run() throws InterruptedException {
+        long start = System.nanoTime();
+        measureStartNanos = start + config.warmup().toNanos();
+        long end = measureStartNanos + config.duration().toNanos();
+
+        List<Thread> arrivals = new ArrayList<>();
+        config.rates().forEach((operation, rate) -> {
+            if (rate > 0) {
+                arrivals.add(Thread.ofPlatform().name("arrivals-" + operation.key())
+                        .start(() -> generateArrivals(operation, rate, start, end)));
+            }
+        });
+        for (Thread thread : arrivals) {
+            thread.join();
+        }
+        requestExecutor.shutdown();
+        if (!requestExecutor.awaitTermination(REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS)) {
+            requestExecutor.shutdownNow();
+        }
+        return stats;
+    }
+
+    private void generateArrivals(Operation operation, double ratePerSecond, long start, long end) {
+        OperationStats operationStats = stats.get(operation);
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long intended = start;
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            long scheduled = intended;
+            boolean measured = scheduled >= measureStartNanos;
+            if (inFlight.tryAcquire()) {
+                requestExecutor.execute(() -> {
+                    try {
+                        boolean ok = execute(operation);
+                        if (measured) {
+                            if (ok) {
+                                operationStats.recordSuccess(System.nanoTime() - scheduled);
+                            } else {
+                                operationStats.recordError();
+                            }
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } else if (measured) {
+                operationStats.recordDropped();
+            }
+            // Exponential inter-arrival times give a Poisson arrival process
+            intended += (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos);
+        }
+    }
+
+    private boolean execute(Operation operation) {
+        try {
+            return switch (operation) {
+                case MENU -> get("/api/menuitems");
+                case FILMS -> get("/api/films");
+                case HISTORY -> get("/api/orders/user/" + randomUserId());
+                case CHECKOUT -> checkout();
+            };
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        return isSuccess(httpClient.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    /**
+     * The client's two-step checkout: create the order, then attach its items.
+     */
+    private boolean checkout() throws IOException, InterruptedException {
+        HttpResponse<String> created = httpClient.send(post("/api/orders", toJson(checkoutOrder())),
+                HttpResponse.BodyHandlers.ofString());
+        if (!isSuccess(created)) {
+            return false;
+        }
+        JsonNode id = objectMapper.readTree(created.body()).get("id");
+        if (id == null) {
+            return false;
+        }
+        return isSuccess(httpClient.send(post("/api/items/order/" + id.asLong(), itemsJson),
+                HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private Map<String, Object> checkoutOrder() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("userid", randomUserId());
+        order.put("ordertime", now);
+        order.put("pickuptime", now + 15 * 60_000);
+        order.put("area", "Theater 1");
+        order.put("location", "Table 16");
+        order.put("tax", 4.94);
+        order.put("tip", 11.99);
+        order.put("pan", "5137069438784126");
+        order.put("expiryMonth", 8);
+        order.put("expiryYear", 2027);
+        order.put("status", "new");
+        return order;
+    }
+
+    private static List<Map<String, Object>> checkoutItems() {
+        List<Map<String, Object>> items = new ArrayList<>(EmbeddedServer.ITEMS_PER_ORDER);
+        for (int i = 0; i < EmbeddedServer.ITEMS_PER_ORDER; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("itemid", (long) (i % EmbeddedServer.MENU_ITEMS) + 1);
+            item.put("price", 5.51);
+            item.put("notes", "no onions");
+            item.put("firstname", "Eleanor");
+            items.add(item);
+        }
+        return items;
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, config.users() + 1);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
@@ -0,0 +1,27 @@
+package com.daam.server.loadtest;
+
+/**
+ * The operations of the dinner-and-a-movie traffic mix, each driven at its own arrival rate.
+ */
+enum Operation {
+    MENU("menu", "GET /api/menuitems"),
+    FILMS("films", "GET /api/films"),
+    CHECKOUT("checkout", "POST /api/orders + POST /api/items/order/{id}"),
+    HISTORY("history", "GET /api/orders/user/{id}");
+
+    private final String key;
+    private final String description;
+
+    Operation(String key, String description) {
+        this.key = key;
+        this.description = description;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String description() {
+        return description;
+    }
+}
@@ -0,0 +1,76 @@
+package com.daam.server.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows observed latency (additive increase, multiplicative decrease):
+ * while requests finish within the target latency and the limit is in use it grows by about one
+ * per limit's worth of requests, and a request slower than the target cuts it by a tenth, at most
+ * once per target interval so that one slow batch does not collapse it. It stays within
+ * [minLimit, maxLimit]. Acquiring never waits; a request over the limit is turned away.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Guarded by this; limit is its integer part, read without locking on acquire
+    private double estimate;
+    private long lastDecreaseAt;
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimit(int minLimit, int maxLimit, long targetLatencyNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max, got " + minLimit + " and " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.estimate = maxLimit;
+        this.limit = maxLimit;
+        this.lastDecreaseAt = System.nanoTime() - targetLatencyNanos;
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Gives back a slot taken by tryAcquire, with how long the request held it.
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (latencyNanos > targetLatencyNanos) {
+                if (now - lastDecreaseAt >= targetLatencyNanos) {
+                    estimate = Math.max(minLimit, estimate * BACKOFF);
+                    lastDecreaseAt = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                // Only grow a limit that is being used; an idle server says nothing about capacity
+                estimate = Math.min(maxLimit, estimate + 1 / estimate);
+            }
+            limit = (int) estimate;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,96 @@
+package com.daam.server.admission;
+
+import com.daam.server.auth.SessionAuthInterceptor;
+import com.daam.server.exception.TooManyRequestsException;
+import com.daam.server.service.SessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which writes get in when they arrive faster than the database can take them. Each write
+ * group (orders, items, seats, imports and the remaining writes) has an adaptive concurrency limit
+ * of its own, taken by AdmissionInterceptor, so a burst or a slowdown in one group cannot take
+ * the slots of another, and together they stay below the pool size so reads keep flowing. On top
+ * of that, endpoint groups with a user rate give each logged-in user a token bucket, so one client
+ * retrying in a loop is slowed down before it takes slots from everyone else.
+ */
+public class AdmissionControl {
+
+    private final Map<String, AdaptiveConcurrencyLimit> writeLimits;
+    private final long retryAfterSeconds;
+    private final Map<String, UserRate> userRates;
+    private final ConcurrentMap<String, ConcurrentMap<String, TokenBucket>> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Requests per second a single user may make to an endpoint group, with bursts of up to burst.
+     */
+    public record UserRate(double perSecond, int burst) {
+    }
+
+    public AdmissionControl(Map<String, AdaptiveConcurrencyLimit> writeLimits, long retryAfterSeconds, Map<String, UserRate> userRates) {
+        this.writeLimits = Map.copyOf(writeLimits);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.userRates = Map.copyOf(userRates);
+    }
+
+    /**
+     * Takes one of the caller's tokens for the endpoint group, or throws 429 with the seconds
+     * until the next one. The caller is the user of the request's session; a userid in the body is
+     * never trusted. Requests without a session are not limited here: the UI checks out from its
+     * own server, so every anonymous customer would share one remote address and one bucket.
+     * Groups without a user rate are not limited either.
+     */
+    public void admitUser(String group, HttpServletRequest request) {
+        UserRate rate = userRates.get(group);
+        if (rate == null || !(request.getAttribute(SessionAuthInterceptor.SESSION_ATTRIBUTE) instanceof SessionService.Session session)) {
+            return;
+        }
+        String caller = "user " + session.userid();
+        long now = System.nanoTime();
+        long waitNanos = buckets.computeIfAbsent(group, g -> new ConcurrentHashMap<>())
+                .computeIfAbsent(caller, key -> new TokenBucket(rate.perSecond(), rate.burst(), now))
+                .tryTake(now);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many requests from " + caller + "; retry shortly",
+                    Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1))));
+        }
+    }
+
+    boolean tryAcquireWrite(String group) {
+        return writeLimit(group).tryAcquire();
+    }
+
+    void releaseWrite(String group, long latencyNanos) {
+        writeLimit(group).release(latencyNanos);
+    }
+
+    long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public int getWriteLimit(String group) {
+        return writeLimit(group).getLimit();
+    }
+
+    private AdaptiveConcurrencyLimit writeLimit(String group) {
+        AdaptiveConcurrencyLimit limit = writeLimits.get(group);
+        if (limit == null) {
+            throw new IllegalArgumentException("No write limit for group " + group);
+        }
+        return limit;
+    }
+
+    /**
+     * Drops the buckets of callers who have been quiet long enough to be back at a full burst.
+     */
+    @Scheduled(fixedDelayString = "${daam.admission.bucket-sweep-ms:60000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().forEach(callers -> callers.values().removeIf(bucket -> bucket.isFull(now)));
+    }
+}
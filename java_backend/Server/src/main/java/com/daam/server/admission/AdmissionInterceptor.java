@@ -0,0 +1,60 @@
+package com.daam.server.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Holds every write request (POST, PUT, PATCH, DELETE) of its write group to a slot of that
+ * group's adaptive limit for as long as it runs, and answers 503 with a Retry-After straight away
+ * when none is free, before the request has touched the database. Reads pass through untouched.
+ * AdmissionConfig registers one per group, on paths that do not overlap.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    // Set while the request holds a write slot: when it was taken, in System.nanoTime()
+    private static final String ADMITTED_AT = AdmissionInterceptor.class.getName() + ".admittedAt";
+
+    private final AdmissionControl admissionControl;
+    private final String group;
+
+    public AdmissionInterceptor(AdmissionControl admissionControl, String group) {
+        this.admissionControl = admissionControl;
+        this.group = group;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // Async dispatches of a request that was already admitted come through here again
+        if (!WRITE_METHODS.contains(request.getMethod()) || request.getAttribute(ADMITTED_AT) != null) {
+            return true;
+        }
+        if (!admissionControl.tryAcquireWrite(group)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(admissionControl.getRetryAfterSeconds()));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("The server is busy; retry shortly");
+            return false;
+        }
+        request.setAttribute(ADMITTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object admittedAt = request.getAttribute(ADMITTED_AT);
+        if (admittedAt != null) {
+            request.removeAttribute(ADMITTED_AT);
+            admissionControl.releaseWrite(group, System.nanoTime() - (Long) admittedAt);
+        }
+    }
+}
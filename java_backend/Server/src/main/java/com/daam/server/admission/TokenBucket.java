@@ -0,0 +1,44 @@
+package com.daam.server.admission;
+
+/**
+ * Refills at a steady rate up to a burst capacity; each admitted request takes one token.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double tokensPerSecond, int burst, long now) {
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.capacity = burst;
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes a token if one is left. Returns 0 when it did, otherwise the nanos until the next
+     * token comes in.
+     */
+    synchronized long tryTake(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    // A full bucket behaves exactly like a new one, so it can be dropped
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
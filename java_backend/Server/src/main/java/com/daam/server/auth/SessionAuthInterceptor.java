@@ -0,0 +1,52 @@
+package com.daam.server.auth;
+
+import com.daam.server.service.SessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resolves the session of a request's bearer token and exposes it as the SESSION_ATTRIBUTE
+ * request attribute. When sessions are required, a request without a valid token is answered
+ * 401 before it reaches a controller. CORS preflights always pass.
+ */
+public class SessionAuthInterceptor implements HandlerInterceptor {
+
+    public static final String SESSION_ATTRIBUTE = SessionAuthInterceptor.class.getName() + ".session";
+
+    private final SessionService sessionService;
+    private final boolean required;
+
+    public SessionAuthInterceptor(SessionService sessionService, boolean required) {
+        this.sessionService = sessionService;
+        this.required = required;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if ("OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+        SessionService.Session session = sessionService.authenticate(
+                SessionService.bearerToken(request.getHeader(HttpHeaders.AUTHORIZATION)));
+        if (session != null) {
+            request.setAttribute(SESSION_ATTRIBUTE, session);
+            return true;
+        }
+        if (!required) {
+            return true;
+        }
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Log in at /api/auth/login and send the token as a bearer token");
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package com.daam.server.config;
+
+import com.daam.server.admission.AdaptiveConcurrencyLimit;
+import com.daam.server.admission.AdmissionControl;
+import com.daam.server.admission.AdmissionInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets up admission control for writes from daam.admission.*: per write group, an adaptive
+ * concurrency limit (daam.admission.&lt;group&gt;.min-concurrency and max-concurrency, around
+ * daam.admission.target-latency-ms) and how fast one user may call it
+ * (daam.admission.&lt;group&gt;.user-rate and user-burst; no rate means no per-user limit).
+ * daam.admission.enabled=false turns both off.
+ */
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    static final String PROPERTY_PREFIX = "daam.admission.";
+
+    // Write groups and the paths whose writes they limit. The film import holds its slot for the
+    // whole upload, so it has a group to itself; "writes" takes every other write under /api
+    static final Map<String, String> WRITE_GROUP_PATHS = Map.of(
+            "orders", "/api/orders/**",
+            "items", "/api/items/**",
+            "seats", "/api/showtimes/**",
+            "kitchen", "/api/kitchen/**",
+            "imports", "/api/films/import");
+    static final String OTHER_WRITES = "writes";
+
+    // Seat holds and their release only change the in-memory seat map and never take a connection,
+    // so a premiere rush of holds is not held to a write slot; confirming a hold is
+    static final List<String> UNLIMITED_WRITE_PATHS = List.of("/api/showtimes/*/holds", "/api/showtimes/*/holds/*");
+
+    // Together below the connection pool size (14), so reads always find a connection
+    static final Map<String, Integer> DEFAULT_MAX_CONCURRENCY = Map.of(
+            "orders", 3, "items", 2, "seats", 1, "kitchen", 2, "imports", 1, OTHER_WRITES, 3);
+
+    // Endpoint groups that can be given a per-user rate; the controllers name the group they admit
+    static final List<String> USER_RATE_GROUPS = List.of("orders", "items", "seats");
+
+    private final Environment environment;
+
+    public AdmissionConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    public AdmissionControl admissionControl() {
+        long targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(property("target-latency-ms", Long.class, 250L));
+        Map<String, AdaptiveConcurrencyLimit> writeLimits = new HashMap<>();
+        DEFAULT_MAX_CONCURRENCY.forEach((group, defaultMax) -> writeLimits.put(group, new AdaptiveConcurrencyLimit(
+                property(group + ".min-concurrency", Integer.class, 1),
+                property(group + ".max-concurrency", Integer.class, defaultMax),
+                targetLatencyNanos)));
+        Map<String, AdmissionControl.UserRate> userRates = new HashMap<>();
+        if (isEnabled()) {
+            for (String group : USER_RATE_GROUPS) {
+                Double rate = environment.getProperty(PROPERTY_PREFIX + group + ".user-rate", Double.class);
+                if (rate != null) {
+                    userRates.put(group, new AdmissionControl.UserRate(rate, property(group + ".user-burst", Integer.class, 1)));
+                }
+            }
+        }
+        return new AdmissionControl(writeLimits, property("retry-after-seconds", Long.class, 1L), userRates);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!isEnabled()) {
+            return;
+        }
+        // First in line, so a rejected write does no other work. Logins are bounded by their
+        // own verification pool, and their deliberately slow hashing would read as overload
+        WRITE_GROUP_PATHS.forEach((group, path) -> registry.addInterceptor(new AdmissionInterceptor(admissionControl(), group))
+                .addPathPatterns(path)
+                .excludePathPatterns(UNLIMITED_WRITE_PATHS)
+                .order(Ordered.HIGHEST_PRECEDENCE));
+        registry.addInterceptor(new AdmissionInterceptor(admissionControl(), OTHER_WRITES))
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/auth/**")
+                .excludePathPatterns(List.copyOf(WRITE_GROUP_PATHS.values()))
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    private boolean isEnabled() {
+        return property("enabled", Boolean.class, true);
+    }
+
+    private <T> T property(String name, Class<T> type, T defaultValue) {
+        return environment.getProperty(PROPERTY_PREFIX + name, type, defaultValue);
+    }
+}
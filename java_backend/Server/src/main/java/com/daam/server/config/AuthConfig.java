@@ -0,0 +1,37 @@
+package com.daam.server.config;
+
+import com.daam.server.auth.SessionAuthInterceptor;
+import com.daam.server.service.SessionService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Checks session tokens on /api requests. With daam.auth.required=false (the default) requests
+ * without a token still go through; a valid token is resolved either way. Skipped when there is
+ * no SessionService, e.g. in @WebMvcTest slices of other controllers.
+ */
+@Configuration
+public class AuthConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<SessionService> sessionService;
+
+    @Value("${daam.auth.required:false}")
+    private boolean required;
+
+    public AuthConfig(ObjectProvider<SessionService> sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        SessionService sessionServiceBean = sessionService.getIfAvailable();
+        if (sessionServiceBean != null) {
+            registry.addInterceptor(new SessionAuthInterceptor(sessionServiceBean, required))
+                    .addPathPatterns("/api/**")
+                    .excludePathPatterns("/api/auth/**");
+        }
+    }
+}
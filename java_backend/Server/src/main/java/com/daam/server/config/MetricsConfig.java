@@ -0,0 +1,30 @@
+package com.daam.server.config;
+
+import com.daam.server.metrics.QueryMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the per-request query metrics. Skipped when no MeterRegistry is present,
+ * e.g. in @WebMvcTest slices.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        MeterRegistry registryBean = meterRegistry.getIfAvailable();
+        if (registryBean != null) {
+            registry.addInterceptor(new QueryMetricsInterceptor(registryBean)).addPathPatterns("/api/**");
+        }
+    }
+}
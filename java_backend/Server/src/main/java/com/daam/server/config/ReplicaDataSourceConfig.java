@@ -0,0 +1,105 @@
+package com.daam.server.config;
+
+import com.daam.server.datasource.ReplicaLagMonitor;
+import com.daam.server.datasource.ReplicaReadInterceptor;
+import com.daam.server.datasource.ReplicaReadJpaDialect;
+import com.daam.server.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Adds a read replica next to the primary database when daam.datasource.replica.url is set. The
+ * primary pool is built from spring.datasource.* and the replica pool from
+ * daam.datasource.replica.*; the DataSource everything else uses routes between the two (see
+ * ReplicaRoutingDataSource), so only @ReplicaRead endpoints within their lag tolerance ever
+ * touch the replica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "daam.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig implements WebMvcConfigurer {
+
+    static final String PROPERTY_PREFIX = "daam.datasource.replica.";
+
+    private final Environment environment;
+    // Defined below; looked up when the interceptors are added
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    public ReplicaDataSourceConfig(Environment environment, ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.environment = environment;
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    // spring.datasource.hikari.* (e.g. the pool size the admission limits are sized against) applies as without a replica
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty(PROPERTY_PREFIX + "url"))
+                .username(environment.getProperty(PROPERTY_PREFIX + "username"))
+                .password(environment.getProperty(PROPERTY_PREFIX + "password"))
+                .driverClassName(environment.getProperty(PROPERTY_PREFIX + "driver-class-name"))
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(environment.getProperty(PROPERTY_PREFIX + "maximum-pool-size", Integer.class, 10));
+        // Guards against writes slipping through to the replica
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource));
+    }
+
+    // Read-only transactions of requests on the replica must not fill the second-level and query
+    // caches; set before the factory initializes, which hands the dialect to the transaction manager
+    @Bean
+    public static BeanPostProcessor replicaReadJpaDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReplicaReadJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReplicaReadInterceptor(environment, replicaLagMonitor.getObject())).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,15 @@
+package com.daam.server.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the @Scheduled background tasks (SSE heartbeats, analytics flushes, seat-hold expiry,
+ * session and bucket sweeps, the replica heartbeat); menu stock is written in each order's own
+ * transaction rather than flushed. They share the scheduler pool sized by
+ * spring.task.scheduling.pool.size, so one slow task does not hold up the others.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,41 @@
+package com.daam.server.config;
+
+import com.daam.server.entity.Film;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.entity.User;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+/**
+ * Chooses which read-mostly entities go in Hibernate's second-level cache. An entity is cached
+ * read-write in its own region (sized in application.conf) only when daam.cache.entities.&lt;region&gt;
+ * is true, as application.properties sets it for each. Bulk updates and deletes (the PATCH/DELETE
+ * endpoints) evict the affected region; an order's stock, written in the order's own transaction,
+ * evicts only the menu items it wrote once that commits (MenuItemStockWriterImpl).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final String ENTITY_PROPERTY_PREFIX = "daam.cache.entities.";
+
+    // Entity -> cache region
+    private static final Map<Class<?>, String> REGIONS = Map.of(
+            Film.class, "film",
+            MenuItem.class, "menu-item",
+            User.class, "user");
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(Environment environment) {
+        return properties -> REGIONS.forEach((entity, region) -> {
+            if (environment.getProperty(ENTITY_PROPERTY_PREFIX + region, Boolean.class, false)) {
+                // hibernate.classcache.<entity> = <usage>,<region>
+                properties.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + entity.getName(), "read-write," + region);
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.daam.server.controller;
+
+import com.daam.server.dto.SalesBucket;
+import com.daam.server.exception.BadRequestException;
+import com.daam.server.service.SalesAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Sales dashboards, served from the incrementally maintained aggregates.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    static final int MAX_TOP_ITEMS = 100;
+    private static final int DEFAULT_DAYS = 30;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @GetMapping("/revenue/daily")
+    public List<SalesBucket> getDailyRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        return salesAnalyticsService.getDailyRevenue(start, end);
+    }
+
+    @GetMapping("/revenue/locations")
+    public List<SalesBucket> getRevenueByLocation() {
+        return salesAnalyticsService.getRevenueByLocation();
+    }
+
+    @GetMapping("/revenue/categories")
+    public List<SalesBucket> getRevenueByCategory() {
+        return salesAnalyticsService.getRevenueByCategory();
+    }
+
+    @GetMapping("/items/top")
+    public List<SalesBucket> getTopItems(@RequestParam(defaultValue = "10") int k) {
+        if (k < 1 || k > MAX_TOP_ITEMS) {
+            throw new BadRequestException("k must be between 1 and " + MAX_TOP_ITEMS);
+        }
+        return salesAnalyticsService.getTopItems(k);
+    }
+
+    @GetMapping("/pickup-slots")
+    public List<SalesBucket> getPickupSlots(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return salesAnalyticsService.getPickupSlots(date != null ? date : LocalDate.now());
+    }
+}
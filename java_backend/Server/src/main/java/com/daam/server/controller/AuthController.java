@@ -0,0 +1,47 @@
+package com.daam.server.controller;
+
+import com.daam.server.dto.LoginRequest;
+import com.daam.server.dto.LoginResponse;
+import com.daam.server.exception.UnauthorizedException;
+import com.daam.server.service.SessionService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*")
+public class AuthController {
+
+    @Autowired
+    private SessionService sessionService;
+
+    /**
+     * Returns a session token for {"username": "me", "password": "..."}; send it on later
+     * requests as "Authorization: Bearer &lt;token&gt;". The request thread is released while
+     * the password is checked.
+     */
+    @PostMapping("/login")
+    public CompletableFuture<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+        return sessionService.login(loginRequest.getUsername(), loginRequest.getPassword());
+    }
+
+    @GetMapping("/session")
+    public SessionService.Session getSession(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        SessionService.Session session = sessionService.authenticate(SessionService.bearerToken(authorization));
+        if (session == null) {
+            throw new UnauthorizedException("No valid session token");
+        }
+        return session;
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        sessionService.logout(SessionService.bearerToken(authorization));
+        return ResponseEntity.noContent().build();
+    }
+}
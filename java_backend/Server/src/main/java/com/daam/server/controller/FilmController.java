@@ -1,14 +1,28 @@
 package com.daam.server.controller;
 
+import com.daam.server.datasource.ReplicaRead;
+import com.daam.server.dto.FilmImportReport;
+import com.daam.server.dto.FilmPatch;
+import com.daam.server.dto.FilmSummary;
 import com.daam.server.entity.Film;
+import com.daam.server.exception.BadRequestException;
 import com.daam.server.repository.FilmRepository;
+import com.daam.server.service.FilmCatalogService;
+import com.daam.server.service.FilmImportFormat;
+import com.daam.server.service.FilmImportService;
+import com.daam.server.service.FilmRanking;
+import com.daam.server.service.SearchService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -16,20 +30,51 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class FilmController {
 
+    private static final int MAX_TOP_FILMS = 100;
+
     @Autowired
     private FilmRepository filmRepository;
 
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private FilmCatalogService filmCatalogService;
+
+    @Autowired
+    private FilmImportService filmImportService;
+
     @GetMapping
-    public List<Film> getAllFilms() {
-        return filmRepository.findAll();
+    @ReplicaRead("films")
+    public List<FilmSummary> getAllFilms() {
+        return filmRepository.findSummariesByOrderByIdAsc();
+    }
+
+    @GetMapping("/top")
+    public List<Film> getTopFilms(@RequestParam(defaultValue = "popularity") String by, @RequestParam(defaultValue = "10") int k) {
+        if (k < 1 || k > MAX_TOP_FILMS) {
+            throw new BadRequestException("k must be between 1 and " + MAX_TOP_FILMS);
+        }
+        return filmCatalogService.getTopFilms(FilmRanking.from(by), k);
     }
 
     @PostMapping
     public ResponseEntity<Film> addFilm(@Valid @RequestBody Film film) {
         Film savedFilm = filmRepository.save(film);
+        searchService.indexFilm(savedFilm);
+        filmCatalogService.onFilmSaved(savedFilm);
         return new ResponseEntity<>(savedFilm, HttpStatus.CREATED);
     }
 
+    /**
+     * Bulk upsert by imdbid from a JSON array, NDJSON or CSV body. The body is streamed, not
+     * buffered, e.g. curl --data-binary @films.ndjson -H 'Content-Type: application/x-ndjson'.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, FilmImportFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<FilmImportReport> importFilms(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        return ResponseEntity.ok(filmImportService.importFilms(body, FilmImportFormat.from(contentType)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Film> getFilmById(@PathVariable Long id) {
         Film film = filmRepository.findById(id)
@@ -41,19 +86,36 @@ public class FilmController {
     public ResponseEntity<Film> updateFilm(@PathVariable Long id, @Valid @RequestBody Film filmDetails) {
         Film film = filmRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Film not found with id: " + id));
+        WriteResults.requireVersion(filmDetails.getVersion(), film.getVersion(), "Film", id);
 
         film.setTitle(filmDetails.getTitle());
 
         Film updatedFilm = filmRepository.save(film);
+        searchService.indexFilm(updatedFilm);
+        filmCatalogService.onFilmSaved(updatedFilm);
         return ResponseEntity.ok(updatedFilm);
     }
 
+    /**
+     * Partial update as a single UPDATE; null fields keep their value and a version, when
+     * given, must still be current.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchFilm(@PathVariable Long id, @RequestBody FilmPatch patch) {
+        WriteResults.requireUpdated(filmRepository.patch(id, patch.getVersion(), patch), patch.getVersion(), "Film", id, filmRepository::existsById);
+        filmCatalogService.onFilmPatched(id, patch);
+        // Only the indexed text needs the updated row read back
+        if (patch.getTitle() != null || patch.getTagline() != null || patch.getOverview() != null || patch.getPosterpath() != null) {
+            filmRepository.findById(id).ifPresent(searchService::indexFilm);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteFilm(@PathVariable Long id) {
-        if (!filmRepository.existsById(id)) {
-            throw new EntityNotFoundException("Film not found with id: " + id);
-        }
-        filmRepository.deleteById(id);
+        WriteResults.requireDeleted(filmRepository.removeById(id), "Film", id);
+        searchService.removeFilm(id);
+        filmCatalogService.onFilmDeleted(id);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
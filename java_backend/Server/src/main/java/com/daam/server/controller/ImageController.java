@@ -0,0 +1,130 @@
+package com.daam.server.controller;
+
+import com.daam.server.service.ImageService;
+import com.daam.server.service.ImageVariant;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Serves the images the UI references as /images/... under /api/images/..., e.g.
+ * /api/images/posters/6.jpg?variant=card. Single byte ranges are honoured, and the file is handed
+ * to Tomcat's sendfile when the connector supports it, so the bytes never pass through the JVM.
+ */
+@RestController
+@RequestMapping("/api/images")
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    // Request attributes of Tomcat's sendfile support; the end offset is exclusive
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    static final String CONTENT_HASH = "X-Content-Hash";
+
+    @Autowired
+    private ImageService imageService;
+
+    /**
+     * A request carrying v=&lt;X-Content-Hash of an earlier response&gt; names exactly one version
+     * of the image and may be cached for a year; any other request revalidates with the ETag.
+     */
+    @GetMapping("/{*path}")
+    public void getImage(@PathVariable String path,
+                         @RequestParam(defaultValue = "original") String variant,
+                         @RequestParam(name = "v", required = false) String version,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageVariant imageVariant = ImageVariant.from(variant);
+        ImageService.ImageFile image = imageService.resolve(path, imageVariant);
+
+        String etag = "\"" + image.contentHash() + "-" + imageVariant.name().toLowerCase(Locale.ROOT) + "\"";
+        CacheControl cacheControl = image.contentHash().equals(version)
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(CONTENT_HASH, image.contentHash());
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long length = image.length();
+        long start = 0;
+        long end = length - 1;
+        List<HttpRange> ranges = requestedRanges(request, etag);
+        // A multipart/byteranges body is not worth it for images; several ranges get the whole file
+        if (ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentType(image.mediaType().toString());
+        response.setContentLengthLong(end - start + 1);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, image.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        // Without sendfile (e.g. TLS on the connector) the range is copied through the response stream
+        try (FileChannel file = FileChannel.open(image.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = file.transferTo(position, end - position + 1, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    /**
+     * The ranges to serve, or none for the whole image: absent or malformed Range headers, and
+     * ranges conditional on an If-Range that no longer matches, all mean the full body.
+     */
+    private static List<HttpRange> requestedRanges(HttpServletRequest request, String etag) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null) {
+            return List.of();
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
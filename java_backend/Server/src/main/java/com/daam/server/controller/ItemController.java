@@ -1,18 +1,29 @@
 package com.daam.server.controller;
 
+import com.daam.server.admission.AdmissionControl;
+import com.daam.server.datasource.ReplicaRead;
+import com.daam.server.dto.ItemPatch;
 import com.daam.server.entity.Item;
+import com.daam.server.event.ItemUpdatedEvent;
+import com.daam.server.event.ItemsRemovedEvent;
 import com.daam.server.repository.ItemRepository;
+import com.daam.server.service.OrderService;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Item writes run in a transaction (here or in OrderService) that publishes what changed as an
+ * event from com.daam.server.event, handled once the transaction has committed.
+ */
 @RestController
 @RequestMapping("/api/items")
 @CrossOrigin(origins = "*")
@@ -21,9 +32,20 @@ public class ItemController {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping
-    public List<Item> getAllItems() {
-        return itemRepository.findAll();
+    public ResponseEntity<List<Item>> getAllItems(@RequestParam(defaultValue = "0") Long after, @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = KeysetPage.clampLimit(limit);
+        List<Item> rows = itemRepository.findByIdGreaterThanOrderByIdAsc(after, KeysetPage.fetchLimit(pageSize));
+        return KeysetPage.of(rows, pageSize, Item::getId);
     }
 
     @GetMapping("/{id}")
@@ -34,43 +56,76 @@ public class ItemController {
     }
 
     @GetMapping("/order/{orderid}")
+    @ReplicaRead("order-items")
     public List<Item> getItemsByOrderId(@PathVariable Long orderid) {
         return itemRepository.findByOrderid(orderid);
     }
 
     @PostMapping("/order/{orderid}")
-    public ResponseEntity<List<Item>> addItemsToOrder(@PathVariable Long orderid, @Valid @RequestBody List<Item> items) {
-        // Ensure each item is associated with the correct order ID
-        List<Item> itemsToSave = items.stream().peek(item -> item.setOrderid(orderid)).collect(Collectors.toList());
-        List<Item> savedItems = itemRepository.saveAll(itemsToSave);
-        return new ResponseEntity<>(savedItems, HttpStatus.CREATED);
+    public ResponseEntity<List<Item>> addItemsToOrder(@PathVariable Long orderid, @Valid @RequestBody List<Item> items, HttpServletRequest request) {
+        admissionControl.admitUser("items", request);
+        return new ResponseEntity<>(orderService.addItems(orderid, items), HttpStatus.CREATED);
     }
 
+    @Transactional
     @PutMapping("/{id}")
     public ResponseEntity<Item> updateItem(@PathVariable Long id, @Valid @RequestBody Item itemDetails) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Item not found with id: " + id));
+        WriteResults.requireVersion(itemDetails.getVersion(), item.getVersion(), "Item", id);
+        Double previousPrice = item.getPrice();
 
         item.setPrice(itemDetails.getPrice());
         item.setNotes(itemDetails.getNotes());
         item.setFirstname(itemDetails.getFirstname());
 
         Item updatedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemUpdatedEvent(updatedItem, previousPrice));
         return ResponseEntity.ok(updatedItem);
     }
 
+    /**
+     * Partial update in one conditional UPDATE; null fields keep their value. A price change
+     * also reads the item first, as the sales aggregates need the previous price.
+     */
+    @Transactional
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchItem(@PathVariable Long id, @RequestBody ItemPatch patch) {
+        if (patch.getPrice() == null) {
+            WriteResults.requireUpdated(itemRepository.patch(id, patch.getVersion(), patch), patch.getVersion(), "Item", id, itemRepository::existsById);
+            return ResponseEntity.noContent().build();
+        }
+        Item item = itemRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item not found with id: " + id));
+        WriteResults.requireVersion(patch.getVersion(), item.getVersion(), "Item", id);
+        if (itemRepository.patch(id, item.getVersion(), patch) == 0) {
+            throw WriteResults.conflict("Item", id);
+        }
+        // A copy: the item read is managed by this transaction, so changing it would write it again
+        Item patched = new Item(item.getId(), item.getOrderid(), item.getItemid(), patch.getPrice(),
+                patch.getNotes() != null ? patch.getNotes() : item.getNotes(),
+                patch.getFirstname() != null ? patch.getFirstname() : item.getFirstname(),
+                item.getVersion() != null ? item.getVersion() + 1 : null);
+        eventPublisher.publishEvent(new ItemUpdatedEvent(patched, item.getPrice()));
+        return ResponseEntity.noContent().build();
+    }
+
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
-        if (!itemRepository.existsById(id)) {
-            throw new EntityNotFoundException("Item not found with id: " + id);
-        }
-        itemRepository.deleteById(id);
+        // Read first: the sales aggregates need the item's order, menu item and price
+        Item item = itemRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item not found with id: " + id));
+        WriteResults.requireDeleted(itemRepository.removeById(id), "Item", id);
+        eventPublisher.publishEvent(new ItemsRemovedEvent(item.getOrderid(), List.of(item)));
         return ResponseEntity.noContent().build();
     }
 
     @Transactional
     @DeleteMapping("/order/{orderid}")
     public ResponseEntity<Void> deleteItemsFromOrder(@PathVariable Long orderid) {
+        List<Item> removed = itemRepository.findByOrderid(orderid);
         itemRepository.deleteByOrderid(orderid);
+        eventPublisher.publishEvent(new ItemsRemovedEvent(orderid, removed));
         return ResponseEntity.noContent().build();
     }}
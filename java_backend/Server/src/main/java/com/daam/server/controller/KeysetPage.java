@@ -0,0 +1,49 @@
+package com.daam.server.controller;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for the keyset-paginated list endpoints (?after=&lt;id&gt;&amp;limit=).
+ * Rows are sorted by id; the body stays a plain JSON array and the cursor for the
+ * next page is returned in the X-Next-Cursor and Link headers.
+ */
+final class KeysetPage {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_LIMIT = 500;
+
+    private KeysetPage() {
+    }
+
+    static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * One extra row is fetched so we know whether there is a next page without a count query.
+     */
+    static Limit fetchLimit(int limit) {
+        return Limit.of(limit + 1);
+    }
+
+    static <T> ResponseEntity<List<T>> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return ResponseEntity.ok(rows);
+        }
+        List<T> page = rows.subList(0, limit);
+        String nextCursor = String.valueOf(idOf.apply(page.get(limit - 1)));
+        String nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", nextCursor)
+                .replaceQueryParam("limit", limit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .header("Link", "<" + nextUri + ">; rel=\"next\"")
+                .body(page);
+    }
+}
@@ -0,0 +1,56 @@
+package com.daam.server.controller;
+
+import com.daam.server.auth.SessionAuthInterceptor;
+import com.daam.server.dto.KitchenBatch;
+import com.daam.server.dto.KitchenTicket;
+import com.daam.server.exception.UnauthorizedException;
+import com.daam.server.service.KitchenQueueService;
+import com.daam.server.service.SessionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/kitchen")
+@CrossOrigin(origins = "*")
+public class KitchenController {
+
+    @Autowired
+    private KitchenQueueService kitchenQueueService;
+
+    @GetMapping("/queue")
+    public List<KitchenTicket> getQueue() {
+        return kitchenQueueService.getQueue();
+    }
+
+    @GetMapping("/batches")
+    public List<KitchenBatch> getBatches() {
+        return kitchenQueueService.getBatches();
+    }
+
+    /**
+     * Claims the order for the logged-in staff member; who is claiming comes from the session, never
+     * from the request.
+     */
+    @PostMapping("/orders/{orderId}/claim")
+    public ResponseEntity<KitchenTicket> claimOrder(@PathVariable Long orderId,
+            @RequestAttribute(name = SessionAuthInterceptor.SESSION_ATTRIBUTE, required = false) SessionService.Session session) {
+        return ResponseEntity.ok(kitchenQueueService.claim(orderId, requireSession(session)));
+    }
+
+    @PostMapping("/orders/{orderId}/complete")
+    public ResponseEntity<KitchenTicket> completeOrder(@PathVariable Long orderId,
+            @RequestAttribute(name = SessionAuthInterceptor.SESSION_ATTRIBUTE, required = false) SessionService.Session session) {
+        return ResponseEntity.ok(kitchenQueueService.complete(orderId, requireSession(session)));
+    }
+
+    // Kitchen writes need a session even when daam.auth.required lets other requests through without one
+    private static SessionService.Session requireSession(SessionService.Session session) {
+        if (session == null) {
+            throw new UnauthorizedException("Log in at /api/auth/login and send the token as a bearer token");
+        }
+        return session;
+    }
+}
@@ -1,16 +1,21 @@
 package com.daam.server.controller;
 
+import com.daam.server.dto.MenuItemPatch;
 import com.daam.server.entity.MenuItem;
+import com.daam.server.exception.BadRequestException;
 import com.daam.server.repository.MenuItemRepository;
+import com.daam.server.service.MenuSnapshotService;
+import com.daam.server.service.MenuStockService;
+import com.daam.server.service.SearchService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/menuitems")
 @CrossOrigin(origins = "*")
@@ -19,14 +24,33 @@ public class MenuItemController {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private MenuStockService menuStockService;
+
     @GetMapping
-    public List<MenuItem> getAllMenuItems() {
-        return menuItemRepository.findAll();
+    public ResponseEntity<byte[]> getAllMenuItems() {
+        // Served from the in-memory snapshot; a matching If-None-Match gets a 304
+        MenuSnapshotService.MenuSnapshot snapshot = menuSnapshotService.getSnapshot();
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
     }
 
     @PostMapping
     public ResponseEntity<MenuItem> addMenuItem(@Valid @RequestBody MenuItem menuItem) {
+        requireStock(menuItem.getStock());
         MenuItem savedItem = menuItemRepository.save(menuItem);
+        menuStockService.onMenuItemSaved(savedItem);
+        menuSnapshotService.refresh();
+        searchService.indexMenuItem(savedItem);
         return new ResponseEntity<>(savedItem, HttpStatus.CREATED);
     }
 
@@ -41,6 +65,7 @@ public class MenuItemController {
     public ResponseEntity<MenuItem> updateMenuItem(@PathVariable Long id, @Valid @RequestBody MenuItem menuItemDetails) {
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("MenuItem not found with id: " + id));
+        WriteResults.requireVersion(menuItemDetails.getVersion(), menuItem.getVersion(), "MenuItem", id);
 
         menuItem.setName(menuItemDetails.getName());
         menuItem.setDescription(menuItemDetails.getDescription());
@@ -48,17 +73,59 @@ public class MenuItemController {
         menuItem.setPrice(menuItemDetails.getPrice());
         menuItem.setImageUrl(menuItemDetails.getImageUrl());
         menuItem.setAvailable(menuItemDetails.isAvailable());
+        // Stock is not replaced by a PUT, whose copy may be stale (the column is not updatable);
+        // restock with a PATCH. A sold-out item stays unavailable.
+        Integer stock = menuStockService.getStock(id);
+        if (stock != null) {
+            menuItem.setAvailable(menuItem.isAvailable() && stock > 0);
+        }
 
         MenuItem updatedItem = menuItemRepository.save(menuItem);
+        if (stock != null) {
+            // The cached copy carries the stock as read, which sales since may have moved
+            menuItemRepository.evictCached(id);
+        }
+        menuSnapshotService.refresh();
+        searchService.indexMenuItem(updatedItem);
         return ResponseEntity.ok(updatedItem);
     }
 
+    /**
+     * Partial update as a single UPDATE; null fields keep their value and a version, when
+     * given, must still be current. The row is re-read only if a searchable field or the
+     * stock changed, e.g. {"stock": 40} to restock.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchMenuItem(@PathVariable Long id, @RequestBody MenuItemPatch patch) {
+        requireStock(patch.getStock());
+        WriteResults.requireUpdated(menuItemRepository.patch(id, patch.getVersion(), patch), patch.getVersion(), "MenuItem", id, menuItemRepository::existsById);
+        menuSnapshotService.refresh();
+        boolean searchable = patch.getName() != null || patch.getDescription() != null || patch.getCategory() != null || patch.getImageUrl() != null;
+        if (searchable || patch.getStock() != null) {
+            menuItemRepository.findById(id).ifPresent(menuItem -> {
+                if (searchable) {
+                    searchService.indexMenuItem(menuItem);
+                }
+                if (patch.getStock() != null) {
+                    menuStockService.onMenuItemSaved(menuItem);
+                }
+            });
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMenuItem(@PathVariable Long id) {
-        if (!menuItemRepository.existsById(id)) {
-            throw new EntityNotFoundException("MenuItem not found with id: " + id);
-        }
-        menuItemRepository.deleteById(id);
+        WriteResults.requireDeleted(menuItemRepository.removeById(id), "MenuItem", id);
+        menuStockService.onMenuItemRemoved(id);
+        menuSnapshotService.refresh();
+        searchService.removeMenuItem(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static void requireStock(Integer stock) {
+        if (stock != null && stock < 0) {
+            throw new BadRequestException("stock must not be negative");
+        }
+    }
 }
\ No newline at end of file
@@ -1,16 +1,45 @@
 package com.daam.server.controller;
 
+import com.daam.server.admission.AdmissionControl;
+import com.daam.server.datasource.ReplicaRead;
+import com.daam.server.dto.CheckoutRequest;
+import com.daam.server.dto.CheckoutResponse;
+import com.daam.server.dto.OrderDetail;
+import com.daam.server.dto.OrderPatch;
+import com.daam.server.dto.OrderSummary;
 import com.daam.server.entity.Order;
+import com.daam.server.event.OrderUpdatedEvent;
+import com.daam.server.exception.BadRequestException;
 import com.daam.server.repository.OrderRepository;
+import com.daam.server.service.OrderEventHub;
+import com.daam.server.service.OrderExportFormat;
+import com.daam.server.service.OrderExportService;
+import com.daam.server.service.OrderService;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Order writes run in a transaction (here or in OrderService) that publishes what changed as an
+ * event from com.daam.server.event. The kitchen queue, status events and sales aggregates handle
+ * it once the transaction has committed; a handler that fails is logged and the response is
+ * unaffected.
+ */
 @RestController
 @RequestMapping("/api/orders")
 @CrossOrigin(origins = "*")
@@ -19,17 +48,63 @@ public class OrderController {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventHub orderEventHub;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public ResponseEntity<List<OrderSummary>> getAllOrders(@RequestParam(defaultValue = "0") Long after, @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = KeysetPage.clampLimit(limit);
+        List<OrderSummary> rows = orderRepository.findSummariesByIdGreaterThanOrderByIdAsc(after, KeysetPage.fetchLimit(pageSize));
+        return KeysetPage.of(rows, pageSize, OrderSummary::id);
     }
 
     @PostMapping
-    public ResponseEntity<Order> addOrder(@Valid @RequestBody Order order) {
-        Order savedOrder = orderRepository.save(order);
+    public ResponseEntity<Order> addOrder(@Valid @RequestBody Order order, HttpServletRequest request) {
+        admissionControl.admitUser("orders", request);
+        Order savedOrder = orderService.createOrder(order);
         return new ResponseEntity<>(savedOrder, HttpStatus.CREATED);
     }
 
+    @PostMapping("/checkout")
+    public ResponseEntity<CheckoutResponse> checkout(@Valid @RequestBody CheckoutRequest checkoutRequest, HttpServletRequest request) {
+        admissionControl.admitUser("orders", request);
+        CheckoutResponse checkout = orderService.checkout(checkoutRequest.getOrder(), checkoutRequest.getItems());
+        return new ResponseEntity<>(checkout, HttpStatus.CREATED);
+    }
+
+    /**
+     * Streams every order with ordertime in [from, to) together with its items, as NDJSON
+     * (one order per line) or CSV (one line per item), e.g. ?format=csv&amp;from=2025-01-01T00:00:00.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        OrderExportFormat exportFormat = OrderExportFormat.from(format);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        StreamingResponseBody body = out -> orderExportService.export(from, to, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("orders." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
         Order order = orderRepository.findById(id)
@@ -37,15 +112,34 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
 
+    @GetMapping("/{id}/full")
+    public ResponseEntity<OrderDetail> getOrderDetail(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.getOrderDetail(id));
+    }
+
     @GetMapping("/user/{userid}")
-    public List<Order> getOrdersByUserId(@PathVariable Long userid) {
-        return orderRepository.findByUserid(userid);
+    @ReplicaRead("order-history")
+    public List<OrderSummary> getOrdersByUserId(@PathVariable Long userid) {
+        return orderRepository.findSummariesByUserid(userid);
+    }
+
+    @GetMapping(value = "/user/{userid}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserOrderEvents(@PathVariable Long userid, @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return orderEventHub.subscribeToUser(userid, lastEventId);
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(@PathVariable Long id, @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return orderEventHub.subscribeToOrder(id, lastEventId);
     }
 
+    @Transactional
     @PutMapping("/{id}")
     public ResponseEntity<Order> updateOrder(@PathVariable Long id, @Valid @RequestBody Order orderDetails) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+        WriteResults.requireVersion(orderDetails.getVersion(), order.getVersion(), "Order", id);
+        Order previous = copyOf(order);
 
         order.setPickuptime(orderDetails.getPickuptime());
         order.setArea(orderDetails.getArea());
@@ -53,15 +147,59 @@ public class OrderController {
         order.setStatus(orderDetails.getStatus());
 
         Order updatedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(previous, updatedOrder));
         return ResponseEntity.ok(updatedOrder);
     }
 
+    /**
+     * Partial update: only the fields in the body change, in one conditional UPDATE against the
+     * version that was read. Send the version you last saw to get a 409 rather than overwrite a
+     * concurrent change, e.g. {"status": "readyForGuest", "version": 3}.
+     */
+    @Transactional
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchOrder(@PathVariable Long id, @RequestBody OrderPatch patch) {
+        // The previous state feeds the status events, the kitchen queue and the sales aggregates
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+        WriteResults.requireVersion(patch.getVersion(), order.getVersion(), "Order", id);
+
+        if (orderRepository.patch(id, order.getVersion(), patch) == 0) {
+            throw WriteResults.conflict("Order", id);
+        }
+        // A copy: the order read is managed by this transaction, so changing it would write it again
+        Order patched = copyOf(order);
+        if (patch.getPickuptime() != null) {
+            patched.setPickuptime(patch.getPickuptime());
+        }
+        if (patch.getArea() != null) {
+            patched.setArea(patch.getArea());
+        }
+        if (patch.getLocation() != null) {
+            patched.setLocation(patch.getLocation());
+        }
+        if (patch.getStatus() != null) {
+            patched.setStatus(patch.getStatus());
+        }
+        patched.setVersion(order.getVersion() + 1);
+
+        eventPublisher.publishEvent(new OrderUpdatedEvent(order, patched));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Deletes the order and its items together.
+     */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new EntityNotFoundException("Order not found with id: " + id);
-        }
-        orderRepository.deleteById(id);
+        orderService.deleteOrder(id);
         return ResponseEntity.noContent().build();
     }
+
+    // A detached copy of the order as read
+    private static Order copyOf(Order order) {
+        return new Order(order.getId(), order.getUserid(), order.getOrdertime(), order.getPickuptime(), order.getArea(),
+                order.getLocation(), order.getTax(), order.getTip(), order.getPan(), order.getExpiryMonth(),
+                order.getExpiryYear(), order.getStatus(), order.getVersion());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.daam.server.controller;
+
+import com.daam.server.dto.SearchResult;
+import com.daam.server.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    public List<SearchResult> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return searchService.search(q, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,100 @@
+package com.daam.server.controller;
+
+import com.daam.server.admission.AdmissionControl;
+import com.daam.server.dto.SeatHold;
+import com.daam.server.dto.SeatHoldRequest;
+import com.daam.server.dto.SeatMapView;
+import com.daam.server.entity.SeatBooking;
+import com.daam.server.entity.Showtime;
+import com.daam.server.exception.BadRequestException;
+import com.daam.server.repository.FilmRepository;
+import com.daam.server.repository.ShowtimeRepository;
+import com.daam.server.service.SeatInventoryService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/showtimes")
+@CrossOrigin(origins = "*")
+public class ShowtimeController {
+
+    // Rows are lettered A to Z
+    private static final int MAX_ROWS = 26;
+    private static final int MAX_SEATS_PER_ROW = 99;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @GetMapping
+    public List<Showtime> getUpcomingShowtimes(@RequestParam Long filmid) {
+        return showtimeRepository.findByFilmidAndStarttimeAfterOrderByStarttimeAsc(filmid, new Timestamp(System.currentTimeMillis()));
+    }
+
+    @PostMapping
+    public ResponseEntity<Showtime> addShowtime(@RequestBody Showtime showtime) {
+        if (showtime.getFilmid() == null || !filmRepository.existsById(showtime.getFilmid())) {
+            throw new EntityNotFoundException("Film not found with id: " + showtime.getFilmid());
+        }
+        if (showtime.getStarttime() == null || showtime.getTheater() == null) {
+            throw new BadRequestException("starttime and theater are required");
+        }
+        if (showtime.getSeatrows() == null || showtime.getSeatrows() < 1 || showtime.getSeatrows() > MAX_ROWS
+                || showtime.getSeatsperrow() == null || showtime.getSeatsperrow() < 1 || showtime.getSeatsperrow() > MAX_SEATS_PER_ROW) {
+            throw new BadRequestException("seatrows must be between 1 and " + MAX_ROWS + " and seatsperrow between 1 and " + MAX_SEATS_PER_ROW);
+        }
+        // Always a new showtime; there is no update, so the seat grid never changes under a seat map
+        showtime.setId(null);
+        showtime.setVersion(null);
+        return new ResponseEntity<>(showtimeRepository.save(showtime), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Showtime> getShowtimeById(@PathVariable Long id) {
+        Showtime showtime = showtimeRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Showtime not found with id: " + id));
+        return ResponseEntity.ok(showtime);
+    }
+
+    @GetMapping("/{id}/seats")
+    public SeatMapView getSeatMap(@PathVariable Long id) {
+        return seatInventoryService.getSeatMap(id);
+    }
+
+    /**
+     * Holds seats until they are confirmed or the hold expires (see expiresAt), e.g.
+     * {"userid": 3, "seats": ["E7", "E8"]}. 409 Conflict when any of them is taken.
+     */
+    @PostMapping("/{id}/holds")
+    public ResponseEntity<SeatHold> holdSeats(@PathVariable Long id, @Valid @RequestBody SeatHoldRequest request, HttpServletRequest httpRequest) {
+        admissionControl.admitUser("seats", httpRequest);
+        return new ResponseEntity<>(seatInventoryService.hold(id, request.getUserid(), request.getSeats()), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/holds/{holdId}/confirm")
+    public List<SeatBooking> confirmHold(@PathVariable Long id, @PathVariable String holdId, @RequestParam(required = false) Long orderid) {
+        return seatInventoryService.confirm(id, holdId, orderid);
+    }
+
+    @DeleteMapping("/{id}/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long id, @PathVariable String holdId) {
+        seatInventoryService.release(id, holdId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,15 +1,24 @@
 package com.daam.server.controller;
 
+import com.daam.server.dto.UserPatch;
+import com.daam.server.dto.UserSummary;
 import com.daam.server.entity.User;
+import com.daam.server.metrics.QueryStats;
 import com.daam.server.repository.UserRepository;
+import com.daam.server.service.SessionService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/users")
@@ -19,15 +28,29 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SessionService sessionService;
+
+    // Saves run here rather than on the two password-hashing threads, which logins wait for
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor taskExecutor;
+
     @GetMapping
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public ResponseEntity<List<UserSummary>> getAllUsers(@RequestParam(defaultValue = "0") Long after, @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = KeysetPage.clampLimit(limit);
+        List<UserSummary> rows = userRepository.findSummariesByIdGreaterThanOrderByIdAsc(after, KeysetPage.fetchLimit(pageSize));
+        return KeysetPage.of(rows, pageSize, UserSummary::id);
     }
 
+    // The password is hashed off the request thread; the user is saved once the hash is ready
     @PostMapping
-    public ResponseEntity<User> addUser(@Valid @RequestBody User user) {
-        User savedUser = userRepository.save(user);
-        return new ResponseEntity<>(savedUser, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<User>> addUser(@Valid @RequestBody User user) {
+        return sessionService.encodePassword(user.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            User savedUser = userRepository.save(user);
+            return new ResponseEntity<>(savedUser, HttpStatus.CREATED);
+        }, saver());
     }
 
     @GetMapping("/{id}")
@@ -37,13 +60,28 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Replaces a user. A password left out, or sent back exactly as stored, keeps the current one;
+     * any other is hashed as a new password.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User userDetails) {
+    public CompletableFuture<ResponseEntity<User>> updateUser(@PathVariable Long id, @Valid @RequestBody User userDetails) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+        WriteResults.requireVersion(userDetails.getVersion(), user.getVersion(), "User", id);
+        boolean passwordKept = userDetails.getPassword() == null || userDetails.getPassword().equals(user.getPassword());
+        CompletableFuture<String> password = passwordKept
+                ? CompletableFuture.completedFuture(user.getPassword())
+                : sessionService.encodePassword(userDetails.getPassword());
+        return password.thenApplyAsync(hash -> replace(user, userDetails, hash, !passwordKept), saver());
+    }
+
+    private ResponseEntity<User> replace(User user, User userDetails, String password, boolean passwordChanged) {
+        boolean credentialsChanged = passwordChanged || !Objects.equals(user.getUsername(), userDetails.getUsername())
+                || !Objects.equals(user.getRoles(), userDetails.getRoles());
 
         user.setUsername(userDetails.getUsername());
-        user.setPassword(userDetails.getPassword());
+        user.setPassword(password);
         user.setFirst(userDetails.getFirst());
         user.setLast(userDetails.getLast());
         user.setPhone(userDetails.getPhone());
@@ -55,15 +93,37 @@ public class UserController {
         user.setRoles(userDetails.getRoles());
 
         User updatedUser = userRepository.save(user);
+        if (credentialsChanged) {
+            sessionService.evictUser(user.getId());
+        }
         return ResponseEntity.ok(updatedUser);
     }
 
+    /**
+     * Changes only the fields sent; nothing else is read or written. Include the version to
+     * get a 409 instead of overwriting a concurrent update.
+     */
+    @PatchMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Void>> patchUser(@PathVariable Long id, @RequestBody UserPatch patch) {
+        return sessionService.encodePassword(patch.getPassword()).thenApplyAsync(hash -> {
+            patch.setPassword(hash);
+            WriteResults.requireUpdated(userRepository.patch(id, patch.getVersion(), patch), patch.getVersion(), "User", id, userRepository::existsById);
+            if (patch.getUsername() != null || patch.getPassword() != null || patch.getRoles() != null) {
+                sessionService.evictUser(id);
+            }
+            return ResponseEntity.<Void>noContent().build();
+        }, saver());
+    }
+
+    // The task executor, with the statements it runs counted for the calling request
+    private Executor saver() {
+        return QueryStats.forCurrentRequest(taskExecutor);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        WriteResults.requireDeleted(userRepository.removeById(id), "User", id);
+        sessionService.evictUser(id);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
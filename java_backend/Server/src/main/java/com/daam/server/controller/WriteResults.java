@@ -0,0 +1,52 @@
+package com.daam.server.controller;
+
+import com.daam.server.exception.ConflictException;
+import jakarta.persistence.EntityNotFoundException;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Helpers for the single-statement writes (PATCH and DELETE): the affected-row count of the
+ * targeted UPDATE or DELETE decides between success, 404 Not Found and 409 Conflict, so the
+ * happy path needs no existence check.
+ */
+final class WriteResults {
+
+    private WriteResults() {
+    }
+
+    static void requireDeleted(int deleted, String entity, Long id) {
+        if (deleted == 0) {
+            throw new EntityNotFoundException(entity + " not found with id: " + id);
+        }
+    }
+
+    /**
+     * A versioned update that matched no row hit either a missing row or a stale version; only
+     * then is the existence check paid to tell the two apart.
+     */
+    static void requireUpdated(int updated, Long version, String entity, Long id, Predicate<Long> exists) {
+        if (updated > 0) {
+            return;
+        }
+        if (version != null && exists.test(id)) {
+            throw conflict(entity, id);
+        }
+        throw new EntityNotFoundException(entity + " not found with id: " + id);
+    }
+
+    /**
+     * For writes based on a copy that was read first: rejects a client version that no longer
+     * matches the row. A null client version means "whatever is current".
+     */
+    static void requireVersion(Long expected, Long current, String entity, Long id) {
+        if (expected != null && !Objects.equals(expected, current)) {
+            throw conflict(entity, id);
+        }
+    }
+
+    static ConflictException conflict(String entity, Long id) {
+        return new ConflictException(entity + " " + id + " was updated by another request; reload it and retry");
+    }
+}
@@ -0,0 +1,53 @@
+package com.daam.server.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Measures how far the replica is behind: the primary's replica_heartbeat row is stamped with
+ * the current time on every beat, and the lag is how old the replica's copy of the stamp is.
+ * Until the first successful beat, or while the replica cannot be read, the lag counts as
+ * unbounded so that every read goes to the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+
+    private volatile long lagMillis = Long.MAX_VALUE;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+    }
+
+    @Scheduled(fixedDelayString = "${daam.datasource.replica.heartbeat-ms:1000}")
+    public void heartbeat() {
+        try {
+            primary.update("update replica_heartbeat set beat_at = ? where id = 1", System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            // The lag still grows from the replica's last stamp, so reads move to the primary in time
+            log.warn("Could not stamp the replica heartbeat on the primary", e);
+        }
+        try {
+            Long beatAt = replica.queryForObject("select beat_at from replica_heartbeat where id = 1", Long.class);
+            lagMillis = beatAt != null ? Math.max(0, System.currentTimeMillis() - beatAt) : Long.MAX_VALUE;
+        } catch (DataAccessException e) {
+            if (lagMillis != Long.MAX_VALUE) {
+                log.warn("Could not read the replica heartbeat; reading from the primary until it recovers", e);
+            }
+            lagMillis = Long.MAX_VALUE;
+        }
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
@@ -0,0 +1,27 @@
+package com.daam.server.datasource;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method whose reads may be served by the replica, as long as it lags the
+ * primary by no more than daam.datasource.replica.max-lag-ms.&lt;value&gt;. The method runs in a
+ * read-only transaction. Without a tolerance for the key, or without a replica, it reads from
+ * the primary like every other request.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReplicaRead {
+
+    /**
+     * The endpoint's key in daam.datasource.replica.max-lag-ms.*, e.g. "films".
+     */
+    String value();
+}
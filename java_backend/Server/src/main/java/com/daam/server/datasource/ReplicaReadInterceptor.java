@@ -0,0 +1,55 @@
+package com.daam.server.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Opens a ReplicaReadScope around @ReplicaRead controller methods whose lag tolerance the replica
+ * is within when the request starts.
+ */
+public class ReplicaReadInterceptor implements AsyncHandlerInterceptor {
+
+    static final String MAX_LAG_PROPERTY_PREFIX = "daam.datasource.replica.max-lag-ms.";
+
+    private final Environment environment;
+    private final ReplicaLagMonitor lagMonitor;
+    // Endpoint key -> tolerance, looked up once
+    private final ConcurrentMap<String, Optional<Long>> maxLagMillis = new ConcurrentHashMap<>();
+
+    public ReplicaReadInterceptor(Environment environment, ReplicaLagMonitor lagMonitor) {
+        this.environment = environment;
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            ReplicaRead replicaRead = handlerMethod.getMethodAnnotation(ReplicaRead.class);
+            if (replicaRead != null) {
+                maxLagMillis.computeIfAbsent(replicaRead.value(),
+                                key -> Optional.ofNullable(environment.getProperty(MAX_LAG_PROPERTY_PREFIX + key, Long.class)))
+                        .filter(tolerance -> lagMonitor.getLagMillis() <= tolerance)
+                        .ifPresent(tolerance -> ReplicaReadScope.start());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The rest of an async request runs on other threads, which read from the primary
+        ReplicaReadScope.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaReadScope.clear();
+    }
+}
@@ -0,0 +1,27 @@
+package com.daam.server.datasource;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps what a lagging replica returns out of the second-level and query caches. Hibernate stamps
+ * a cached query result with the time it was stored, so a replica read that runs just after a
+ * write would outlive that write's invalidation and be served until the next one. Read-only
+ * transactions of requests on the replica therefore read the caches but never put into them.
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition) throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (definition.isReadOnly() && ReplicaReadScope.isOnReplica()) {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+        return transactionData;
+    }
+}
@@ -0,0 +1,27 @@
+package com.daam.server.datasource;
+
+/**
+ * Whether the request running on the current thread reads from the replica: set for @ReplicaRead
+ * endpoints that found the replica within their lag tolerance when they started, so the
+ * connection and the caching of one request never disagree about where its reads came from.
+ */
+public final class ReplicaReadScope {
+
+    private static final ThreadLocal<Boolean> ON_REPLICA = new ThreadLocal<>();
+
+    private ReplicaReadScope() {
+    }
+
+    static void start() {
+        ON_REPLICA.set(Boolean.TRUE);
+    }
+
+    // False outside a @ReplicaRead request, or when the replica lagged too far behind for it
+    static boolean isOnReplica() {
+        return ON_REPLICA.get() != null;
+    }
+
+    static void clear() {
+        ON_REPLICA.remove();
+    }
+}
@@ -0,0 +1,24 @@
+package com.daam.server.dto;
+
+import com.daam.server.entity.Item;
+import com.daam.server.entity.Order;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequest {
+    @Valid
+    @NotNull
+    private Order order;
+    @Valid
+    @NotEmpty
+    private List<Item> items;
+}
@@ -0,0 +1,17 @@
+package com.daam.server.dto;
+
+import com.daam.server.entity.Item;
+import com.daam.server.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutResponse {
+    private Order order;
+    private List<Item> items;
+}
@@ -0,0 +1,15 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmImportFailure {
+    // 1-based positions of the first and last record of the batch that was rolled back
+    private long firstRecord;
+    private long lastRecord;
+    private String reason;
+}
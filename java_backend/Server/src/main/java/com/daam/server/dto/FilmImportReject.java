@@ -0,0 +1,15 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmImportReject {
+    // 1-based position of the record in the uploaded file (excluding the CSV header)
+    private long record;
+    private String imdbid;
+    private String reason;
+}
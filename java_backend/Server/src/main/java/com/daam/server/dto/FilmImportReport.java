@@ -0,0 +1,24 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmImportReport {
+    private long received;
+    private long inserted;
+    private long updated;
+    private long rejected;
+    // Valid records that were not saved because the write of their batch failed
+    private long failed;
+    // Only the first rejects are listed; `rejected` has the full count
+    private List<FilmImportReject> rejects = new ArrayList<>();
+    // Only the first failed batches are listed; `failed` has the full record count
+    private List<FilmImportFailure> failures = new ArrayList<>();
+}
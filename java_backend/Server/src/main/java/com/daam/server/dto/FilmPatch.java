@@ -0,0 +1,28 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Date;
+
+/**
+ * Body of PATCH /api/films/{id}; null fields keep their current value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmPatch {
+    private String title;
+    private String homepage;
+    private Date releasedate;
+    private String overview;
+    private String posterpath;
+    private Integer runtime;
+    private String tagline;
+    private Double popularity;
+    private String imdbid;
+    private Double voteaverage;
+    private Integer votecount;
+    private Long version;
+}
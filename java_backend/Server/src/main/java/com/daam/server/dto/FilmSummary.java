@@ -0,0 +1,11 @@
+package com.daam.server.dto;
+
+import java.sql.Date;
+
+/**
+ * List view of a film. Spring Data selects only these columns, so the long overview and
+ * homepage are not read for list pages; GET /api/films/{id} returns the full film.
+ */
+public record FilmSummary(Long id, String title, Date releasedate, String posterpath, Integer runtime,
+                          String tagline, Double popularity, String imdbid, Double voteaverage, Integer votecount) {
+}
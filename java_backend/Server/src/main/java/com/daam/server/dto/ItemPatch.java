@@ -0,0 +1,18 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of PATCH /api/items/{id}; null fields keep their current value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemPatch {
+    private Double price;
+    private String notes;
+    private String firstname;
+    private Long version;
+}
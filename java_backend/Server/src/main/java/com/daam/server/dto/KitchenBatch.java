@@ -0,0 +1,16 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenBatch {
+    private Long itemid;
+    private Integer quantity;
+    private List<Long> orderIds;
+}
@@ -0,0 +1,24 @@
+package com.daam.server.dto;
+
+import com.daam.server.entity.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenTicket {
+    private Long orderId;
+    private Long userid;
+    private Timestamp pickuptime;
+    private String area;
+    private String location;
+    private String status;
+    // Staff user id that claimed the order, null while it is waiting
+    private Long claimedBy;
+    private List<Item> items;
+}
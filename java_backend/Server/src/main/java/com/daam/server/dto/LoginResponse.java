@@ -0,0 +1,20 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginResponse {
+    // Sent back as "Authorization: Bearer <token>"
+    private String token;
+    private Long userid;
+    private String username;
+    private String roles;
+    // The token stops working after this; log in again
+    private Timestamp expiresAt;
+}
@@ -0,0 +1,25 @@
+package com.daam.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of PATCH /api/menuitems/{id}; null fields keep their current value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemPatch {
+    private String name;
+    private String description;
+    private String category;
+    private Double price;
+    @JsonProperty("imageurl")
+    private String imageUrl;
+    private Boolean available;
+    // Restocks a tracked item, or starts tracking one
+    private Integer stock;
+    private Long version;
+}
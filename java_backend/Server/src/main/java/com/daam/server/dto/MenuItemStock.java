@@ -0,0 +1,7 @@
+package com.daam.server.dto;
+
+/**
+ * Stock level of a tracked menu item, as selected to seed MenuStockService's counters.
+ */
+public record MenuItemStock(Long id, String name, Integer stock) {
+}
@@ -0,0 +1,18 @@
+package com.daam.server.dto;
+
+import com.daam.server.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDetail {
+    private Order order;
+    private List<OrderDetailItem> items;
+    private Double subtotal;
+    private Double total;
+}
@@ -0,0 +1,20 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDetailItem {
+    private Long id;
+    private Long orderid;
+    private Long itemid;
+    private Double price;
+    private String notes;
+    private String firstname;
+    private String menuItemName;
+    private String menuItemImageurl;
+    private String menuItemCategory;
+}
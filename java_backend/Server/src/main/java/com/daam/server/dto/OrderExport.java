@@ -0,0 +1,17 @@
+package com.daam.server.dto;
+
+import com.daam.server.entity.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One NDJSON line of the order export
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderExport {
+    private OrderSummary order;
+    private List<Item> items;
+}
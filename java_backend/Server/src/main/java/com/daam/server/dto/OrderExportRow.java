@@ -0,0 +1,12 @@
+package com.daam.server.dto;
+
+import java.sql.Timestamp;
+
+/**
+ * One row of the order export: an order left-joined with one of its items. The item
+ * columns are null for an order without items. Card details are not exported.
+ */
+public record OrderExportRow(Long orderId, Long userid, Timestamp ordertime, Timestamp pickuptime, String area,
+                             String location, Double tax, Double tip, String status,
+                             Long itemId, Long itemid, Double price, String notes, String firstname) {
+}
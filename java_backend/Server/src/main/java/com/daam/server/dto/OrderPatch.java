@@ -0,0 +1,22 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Body of PATCH /api/orders/{id}: fields left out (null) keep their current value. With a
+ * version the update only applies if the order has not changed since it was read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPatch {
+    private Timestamp pickuptime;
+    private String area;
+    private String location;
+    private String status;
+    private Long version;
+}
@@ -0,0 +1,20 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusEvent {
+    // Monotonic id, sent as the SSE event id so clients can resume with Last-Event-ID
+    private Long eventId;
+    private Long orderId;
+    private Long userid;
+    private String previousStatus;
+    private String status;
+    private Timestamp changedAt;
+}
@@ -0,0 +1,10 @@
+package com.daam.server.dto;
+
+import java.sql.Timestamp;
+
+/**
+ * List view of an order without the card number and expiry, which are never selected.
+ */
+public record OrderSummary(Long id, Long userid, Timestamp ordertime, Timestamp pickuptime, String area,
+                           String location, Double tax, Double tip, String status) {
+}
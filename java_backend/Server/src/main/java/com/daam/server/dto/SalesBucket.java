@@ -0,0 +1,19 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesBucket {
+    // The day, location, category, item id or pickup slot the totals belong to
+    private String bucket;
+    private long orders;
+    // Items sold (category and item buckets)
+    private long quantity;
+    private BigDecimal revenue;
+}
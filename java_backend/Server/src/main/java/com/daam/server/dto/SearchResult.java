@@ -0,0 +1,18 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResult {
+    // "film" or "menuitem"
+    private String type;
+    private Long id;
+    private String title;
+    private String subtitle;
+    private String imageurl;
+    private Double score;
+}
@@ -0,0 +1,21 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHold {
+    // Random, so only the client that placed the hold can confirm or release it
+    private String holdId;
+    private Long showtimeId;
+    private Long userid;
+    private List<String> seats;
+    // The seats are released if the hold is not confirmed by then
+    private Timestamp expiresAt;
+}
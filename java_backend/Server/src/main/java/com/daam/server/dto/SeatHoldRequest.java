@@ -0,0 +1,20 @@
+package com.daam.server.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldRequest {
+    @NotNull
+    private Long userid;
+    // Seat labels, e.g. ["E7", "E8"]
+    @NotEmpty
+    private List<String> seats;
+}
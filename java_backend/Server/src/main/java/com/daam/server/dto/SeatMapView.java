@@ -0,0 +1,19 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapView {
+    private Long showtimeId;
+    private Integer seatrows;
+    private Integer seatsperrow;
+    private Integer available;
+    // One string per row from A, one character per seat: '.' free, 'H' held, 'B' booked
+    private List<String> rows;
+}
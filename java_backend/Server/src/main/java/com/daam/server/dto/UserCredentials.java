@@ -0,0 +1,7 @@
+package com.daam.server.dto;
+
+/**
+ * What a login needs of a user: the BCrypt password hash and roles, without the profile or card details.
+ */
+public record UserCredentials(Long id, String username, String password, String roles) {
+}
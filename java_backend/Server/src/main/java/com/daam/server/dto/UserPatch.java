@@ -0,0 +1,26 @@
+package com.daam.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of PATCH /api/users/{id}; null fields keep their current value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPatch {
+    private String username;
+    private String password;
+    private String first;
+    private String last;
+    private String phone;
+    private String email;
+    private String imageUrl;
+    private String pan;
+    private Integer expiryMonth;
+    private Integer expiryYear;
+    private String roles;
+    private Long version;
+}
@@ -0,0 +1,8 @@
+package com.daam.server.dto;
+
+/**
+ * List view of a user without the password or card details, which are never selected.
+ */
+public record UserSummary(Long id, String username, String first, String last, String phone, String email,
+                          String imageUrl, String roles) {
+}
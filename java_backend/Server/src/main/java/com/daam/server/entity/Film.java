@@ -7,13 +7,16 @@ import lombok.AllArgsConstructor;
 import java.sql.Date;
 
 @Entity
-@Table(name = "film")
+@Table(name = "film", indexes = @Index(name = "idx_film_imdbid", columnList = "imdbid"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Film {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids let Hibernate batch the inserts of a film import; one block covers a whole
+    // import batch (daam.films.import.batch-size). V12 creates the sequence past the existing ids
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "film_seq")
+    @SequenceGenerator(name = "film_seq", sequenceName = "film_seq", allocationSize = 500)
     private Long id;
     @Column(nullable = false)
     private String title;
@@ -28,4 +31,6 @@ public class Film {
     private String imdbid;
     private Double voteaverage;
     private Integer votecount;
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -7,13 +7,17 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 @Entity
-@Table(name = "item")
+@Table(name = "item", indexes = @Index(name = "idx_item_orderid", columnList = "orderid"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids (pooled by allocationSize) let Hibernate batch the inserts; the
+    // initial value starts above the ids seeded by V2__seed_data.sql, and V11 moves the
+    // sequence past the ids of databases created before the migrations
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", initialValue = 1000, allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,4 +32,7 @@ public class Item {
 
     private String notes;
     private String firstname;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -28,4 +28,11 @@ public class MenuItem {
     private String imageUrl;
     @Column(nullable = false)
     private boolean available;
+    // Portions left, or null when the item is not stock-tracked. Subtracted at checkout by
+    // MenuStockService with a conditional UPDATE; available turns false when it reaches 0. Not
+    // updatable: saving an edited item never writes back the level it read. Set it with a PATCH.
+    @Column(updatable = false)
+    private Integer stock;
+    @Version
+    private Long version;
 }
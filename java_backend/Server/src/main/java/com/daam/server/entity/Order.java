@@ -7,13 +7,21 @@ import lombok.AllArgsConstructor;
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_userid", columnList = "userid"),
+        @Index(name = "idx_orders_status_ordertime", columnList = "status, ordertime"),
+        @Index(name = "idx_orders_ordertime", columnList = "ordertime")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids (pooled by allocationSize) let Hibernate batch the inserts; the
+    // initial value starts above the ids seeded by V2__seed_data.sql, and V11 moves the
+    // sequence past the ids of databases created before the migrations
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", initialValue = 2000, allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private Long userid;
@@ -33,4 +41,8 @@ public class Order {
     @Column(nullable = false)
     private Integer expiryYear;
     private String status;
+    // Optimistic locking: bumped by every update, so a write based on a stale copy gets a 409
+    // instead of silently overwriting e.g. a concurrent status change
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.daam.server.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.io.Serializable;
+
+/**
+ * Persisted running totals of the sales analytics, one row per (dimension, bucket), e.g.
+ * ("day", "2025-03-01") or ("slot", "2025-03-01T18:15"). Maintained by SalesAnalyticsService.
+ */
+@Entity
+@Table(name = "sales_aggregate")
+@IdClass(SalesAggregate.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesAggregate {
+    @Id
+    @Column(length = 32)
+    private String dimension;
+    @Id
+    @Column(length = 512)
+    private String bucket;
+    @Column(name = "order_count", nullable = false)
+    private Long orders;
+    @Column(nullable = false)
+    private Long quantity;
+    @Column(name = "revenue_cents", nullable = false)
+    private Long revenueCents;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String dimension;
+        private String bucket;
+    }
+}
@@ -0,0 +1,31 @@
+package com.daam.server.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.sql.Timestamp;
+
+/**
+ * A confirmed seat. Holds live only in memory (SeatInventoryService); a row is written when a
+ * hold is confirmed, and the unique key keeps a seat from being sold twice.
+ */
+@Entity
+@Table(name = "seat_booking", uniqueConstraints = @UniqueConstraint(name = "uk_seat_booking_seat", columnNames = {"showtimeid", "seat"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatBooking {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private Long showtimeid;
+    @Column(nullable = false, length = 8)
+    private String seat;
+    @Column(nullable = false)
+    private Long userid;
+    private Long orderid;
+    @Column(nullable = false)
+    private Timestamp bookedat;
+}
@@ -0,0 +1,34 @@
+package com.daam.server.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.sql.Timestamp;
+
+/**
+ * A screening of a film. The auditorium is a grid of seatrows rows (A, B, ...) of seatsperrow
+ * seats each; seats are labelled row letter + number, e.g. "E7".
+ */
+@Entity
+@Table(name = "showtime", indexes = @Index(name = "idx_showtime_filmid_starttime", columnList = "filmid, starttime"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Showtime {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private Long filmid;
+    @Column(nullable = false)
+    private Timestamp starttime;
+    @Column(nullable = false)
+    private String theater;
+    @Column(nullable = false)
+    private Integer seatrows;
+    @Column(nullable = false)
+    private Integer seatsperrow;
+    @Version
+    private Long version;
+}
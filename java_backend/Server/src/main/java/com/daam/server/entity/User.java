@@ -30,4 +30,6 @@ public class User {
     private Integer expiryYear;
     @Column(nullable = false)
     private String roles;
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.daam.server.event;
+
+import com.daam.server.entity.Item;
+
+/**
+ * An item as written, with the price it had before the write.
+ */
+public record ItemUpdatedEvent(Item item, Double previousPrice) {
+}
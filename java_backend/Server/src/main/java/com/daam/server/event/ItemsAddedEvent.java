@@ -0,0 +1,11 @@
+package com.daam.server.event;
+
+import com.daam.server.entity.Item;
+
+import java.util.List;
+
+/**
+ * Items added to an existing order.
+ */
+public record ItemsAddedEvent(Long orderid, List<Item> items) {
+}
@@ -0,0 +1,11 @@
+package com.daam.server.event;
+
+import com.daam.server.entity.Item;
+
+import java.util.List;
+
+/**
+ * Items deleted from an order that itself remains.
+ */
+public record ItemsRemovedEvent(Long orderid, List<Item> items) {
+}
@@ -0,0 +1,12 @@
+package com.daam.server.event;
+
+import com.daam.server.entity.Item;
+import com.daam.server.entity.Order;
+
+import java.util.List;
+
+/**
+ * A new order, with the items saved alongside it (none for an order created on its own).
+ */
+public record OrderCreatedEvent(Order order, List<Item> items) {
+}
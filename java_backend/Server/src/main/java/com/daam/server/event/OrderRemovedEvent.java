@@ -0,0 +1,12 @@
+package com.daam.server.event;
+
+import com.daam.server.entity.Item;
+import com.daam.server.entity.Order;
+
+import java.util.List;
+
+/**
+ * A deleted order and the items deleted with it.
+ */
+public record OrderRemovedEvent(Order order, List<Item> items) {
+}
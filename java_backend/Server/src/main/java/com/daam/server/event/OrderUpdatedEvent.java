@@ -0,0 +1,15 @@
+package com.daam.server.event;
+
+import com.daam.server.entity.Order;
+
+import java.util.Objects;
+
+/**
+ * An order as it was read before the write, and as written.
+ */
+public record OrderUpdatedEvent(Order previous, Order order) {
+
+    public boolean statusChanged() {
+        return !Objects.equals(previous.getStatus(), order.getStatus());
+    }
+}
@@ -0,0 +1,15 @@
+package com.daam.server.exception;
+
+/**
+ * Thrown when a request's parameters or body are invalid; mapped to 400 Bad Request with the
+ * message as the body, so the message must be meant for the client.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.daam.server.exception;
+
+/**
+ * Thrown when the caller is not allowed to perform an operation; mapped to 403 Forbidden.
+ */
+public class ForbiddenException extends RuntimeException {
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
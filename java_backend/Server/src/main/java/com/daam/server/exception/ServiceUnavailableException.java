@@ -0,0 +1,19 @@
+package com.daam.server.exception;
+
+/**
+ * Thrown when the server is too busy to take on the request right now; mapped to 503 Service
+ * Unavailable with a Retry-After of retryAfterSeconds.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.daam.server.exception;
+
+/**
+ * Thrown when a caller sends requests faster than it is allowed to; mapped to 429 Too Many
+ * Requests with a Retry-After of retryAfterSeconds.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,10 @@
+package com.daam.server.exception;
+
+/**
+ * Thrown when a request carries no valid credentials or session token; mapped to 401 Unauthorized.
+ */
+public class UnauthorizedException extends RuntimeException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.daam.server.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many JDBC statements each request ran and how long they took, tagged like
+ * http.server.requests so the two can be lined up per endpoint.
+ */
+public class QueryMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String QUERIES_METRIC = "daam.http.queries";
+    static final String QUERY_TIME_METRIC = "daam.http.query.time";
+    // The stats of an async request between leaving its thread and its async dispatch
+    private static final String STATS_ATTRIBUTE = QueryMetricsInterceptor.class.getName() + ".stats";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(STATS_ATTRIBUTE) instanceof QueryStats stats) {
+            request.removeAttribute(STATS_ATTRIBUTE);
+            QueryStats.resume(stats);
+        } else {
+            QueryStats.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async requests (e.g. SSE streams) leave the request thread here; don't leak the stats, but
+        // carry them over to the async dispatch that completes the request
+        QueryStats stats = QueryStats.current();
+        QueryStats.clear();
+        if (stats != null) {
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryStats stats = QueryStats.current();
+        QueryStats.clear();
+        if (stats == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(QUERIES_METRIC)
+                .description("JDBC statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder(QUERY_TIME_METRIC)
+                .description("Time spent in JDBC statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,75 @@
+package com.daam.server.metrics;
+
+import java.util.concurrent.Executor;
+
+/**
+ * JDBC statement count and time for the request running on the current thread.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+    private long startedAt;
+
+    static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // Makes stats taken from an async request current again on the thread of its async dispatch
+    static void resume(QueryStats stats) {
+        CURRENT.set(stats);
+    }
+
+    /**
+     * Runs the tasks of executor with the stats of the request calling this, so the statements a
+     * request hands off to another thread before its async dispatch are still counted for it.
+     */
+    public static Executor forCurrentRequest(Executor executor) {
+        QueryStats stats = CURRENT.get();
+        return task -> executor.execute(() -> {
+            QueryStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        });
+    }
+
+    void statementStarted() {
+        startedAt = System.nanoTime();
+    }
+
+    void statementEnded() {
+        statements++;
+        if (startedAt != 0) {
+            nanos += System.nanoTime() - startedAt;
+            startedAt = 0;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,36 @@
+package com.daam.server.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate creates one of these per session (hibernate.session.events.auto) and reports
+ * every JDBC statement and batch to the current request's {@link QueryStats}.
+ */
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statementStarted();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statementEnded();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
@@ -1,9 +1,40 @@
 package com.daam.server.repository;
 
+import com.daam.server.dto.FilmPatch;
+import com.daam.server.dto.FilmSummary;
 import com.daam.server.entity.Film;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface FilmRepository extends JpaRepository<Film, Long> {
+    // Record projection: the SELECT fetches only the summary columns
+    List<FilmSummary> findSummariesByOrderByIdAsc();
+
+    // Bulk import upserts by imdbid, one lookup per batch
+    List<Film> findByImdbidIn(Collection<String> imdbids);
+
+    // PATCH as a single UPDATE (null = unchanged); 0 rows when the film is missing or its version moved on
+    @Transactional
+    @Modifying
+    @Query("update Film f set f.title = coalesce(:#{#patch.title}, f.title), f.homepage = coalesce(:#{#patch.homepage}, f.homepage), "
+            + "f.releasedate = coalesce(:#{#patch.releasedate}, f.releasedate), f.overview = coalesce(:#{#patch.overview}, f.overview), "
+            + "f.posterpath = coalesce(:#{#patch.posterpath}, f.posterpath), f.runtime = coalesce(:#{#patch.runtime}, f.runtime), "
+            + "f.tagline = coalesce(:#{#patch.tagline}, f.tagline), f.popularity = coalesce(:#{#patch.popularity}, f.popularity), "
+            + "f.imdbid = coalesce(:#{#patch.imdbid}, f.imdbid), f.voteaverage = coalesce(:#{#patch.voteaverage}, f.voteaverage), "
+            + "f.votecount = coalesce(:#{#patch.votecount}, f.votecount), f.version = f.version + 1 "
+            + "where f.id = :id and (:version is null or f.version = :version)")
+    int patch(@Param("id") Long id, @Param("version") Long version, @Param("patch") FilmPatch patch);
+
+    // Single DELETE; the affected-row count tells whether the film existed
+    @Transactional
+    @Modifying
+    @Query("delete from Film f where f.id = :id")
+    int removeById(@Param("id") Long id);
 }
\ No newline at end of file
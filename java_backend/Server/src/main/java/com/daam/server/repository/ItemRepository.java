@@ -1,16 +1,44 @@
 package com.daam.server.repository;
 
+import com.daam.server.dto.ItemPatch;
 import com.daam.server.entity.Item;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOrderid(Long orderid);
 
-    // The @Transactional annotation is needed for delete operations
+    List<Item> findByOrderidIn(Collection<Long> orderids);
+
+    // Keyset pagination: the next page starts after the last id of the previous one
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    // One bulk DELETE instead of loading and removing the items one by one. The
+    // @Transactional annotation is needed for delete operations
+    @Transactional
+    @Modifying
+    @Query("delete from Item i where i.orderid = :orderid")
+    int deleteByOrderid(@Param("orderid") Long orderid);
+
+    // Returns the number of rows deleted, so a missing item needs no separate existence check
+    @Transactional
+    @Modifying
+    @Query("delete from Item i where i.id = :id")
+    int removeById(@Param("id") Long id);
+
+    // PATCH: one UPDATE of the non-null fields, guarded by the version when one is given
     @Transactional
-    void deleteByOrderid(Long orderid);
+    @Modifying
+    @Query("update Item i set i.price = coalesce(:#{#patch.price}, i.price), i.notes = coalesce(:#{#patch.notes}, i.notes), "
+            + "i.firstname = coalesce(:#{#patch.firstname}, i.firstname), i.version = i.version + 1 "
+            + "where i.id = :id and (:version is null or i.version = :version)")
+    int patch(@Param("id") Long id, @Param("version") Long version, @Param("patch") ItemPatch patch);
 }
\ No newline at end of file
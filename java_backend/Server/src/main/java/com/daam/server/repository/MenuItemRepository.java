@@ -1,9 +1,46 @@
 package com.daam.server.repository;
 
+import com.daam.server.dto.MenuItemPatch;
+import com.daam.server.dto.MenuItemStock;
 import com.daam.server.entity.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+public interface MenuItemRepository extends JpaRepository<MenuItem, Long>, MenuItemStockWriter {
+    // Null fields are left as they are; 0 if the menu item is missing or no longer at the given version.
+    // Restocking a sold-out item makes it available again unless the patch says otherwise
+    @Transactional
+    @Modifying
+    @Query("update MenuItem m set m.name = coalesce(:#{#patch.name}, m.name), "
+            + "m.description = coalesce(:#{#patch.description}, m.description), m.category = coalesce(:#{#patch.category}, m.category), "
+            + "m.price = coalesce(:#{#patch.price}, m.price), m.imageUrl = coalesce(:#{#patch.imageUrl}, m.imageUrl), "
+            + "m.available = coalesce(:#{#patch.available}, case when m.stock = 0 and :#{#patch.stock} > 0 then true else m.available end), "
+            + "m.stock = coalesce(:#{#patch.stock}, m.stock), "
+            + "m.version = m.version + 1 "
+            + "where m.id = :id and (:version is null or m.version = :version)")
+    int patch(@Param("id") Long id, @Param("version") Long version, @Param("patch") MenuItemPatch patch);
+
+    // Single DELETE; 0 means there was no such menu item
+    @Transactional
+    @Modifying
+    @Query("delete from MenuItem m where m.id = :id")
+    int removeById(@Param("id") Long id);
+
+    // Only the tracked items (stock not null) get a counter
+    List<MenuItemStock> findByStockIsNotNull();
+
+    // Null when the menu item is missing or not tracked
+    @Query("select m.stock from MenuItem m where m.id = :id")
+    Integer findStockById(@Param("id") Long id);
+
+    // The levels of a few menu items in one query; missing ones are left out
+    List<MenuItemStock> findByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
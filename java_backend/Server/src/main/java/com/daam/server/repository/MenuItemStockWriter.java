@@ -0,0 +1,26 @@
+package com.daam.server.repository;
+
+import java.util.Map;
+
+/**
+ * Stock writes for MenuStockService, mixed into MenuItemRepository.
+ */
+public interface MenuItemStockWriter {
+
+    /**
+     * Adds each delta (negative to sell) to its tracked menu item's stock, all in one conditional
+     * UPDATE, so concurrent sales and restocks never overwrite each other and an order costs one
+     * statement however many menu items it has. Available turns off when the stock reaches 0 and on
+     * again when it comes back from 0. The version is left alone, so portions being sold never turn
+     * an edit of the item into a 409. Returns the number of menu items written; fewer than there
+     * are deltas when one is missing, not tracked or would go below 0, in which case the others
+     * were still written and the caller must roll back.
+     */
+    int adjustStock(Map<Long, Integer> deltas);
+
+    /**
+     * Drops the menu item from the second-level cache once the current transaction commits (at
+     * once outside one), for writes whose cached copy may carry a stale stock.
+     */
+    void evictCached(Long id);
+}
@@ -0,0 +1,77 @@
+package com.daam.server.repository;
+
+import com.daam.server.entity.MenuItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * A JPQL bulk UPDATE of MenuItem would evict the whole menu-item region of the second-level
+ * cache on every sale. This runs a native UPDATE in a query space of its own, which invalidates
+ * no entity region, and evicts just the written menu items once the write commits.
+ */
+class MenuItemStockWriterImpl implements MenuItemStockWriter {
+
+    // Matches no entity table, so no entity region or cached query result is invalidated
+    static final String STOCK_QUERY_SPACE = "menu_item_stock";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // available is assigned first: MariaDB evaluates the assignments left to right
+    @Override
+    @Transactional
+    public int adjustStock(Map<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        StringBuilder delta = new StringBuilder("(case id");
+        for (int i = 0; i < deltas.size(); i++) {
+            delta.append(" when :id").append(i).append(" then :delta").append(i);
+        }
+        delta.append(" else 0 end)");
+        Query update = entityManager.createNativeQuery(
+                "update menu_item set "
+                        + "available = case when stock + " + delta + " <= 0 then false when stock <= 0 then true else available end, "
+                        + "stock = stock + " + delta + " "
+                        + "where id in (:ids) and stock + " + delta + " >= 0");
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+            update.setParameter("id" + i, entry.getKey());
+            update.setParameter("delta" + i, entry.getValue());
+            i++;
+        }
+        int updated = update.setParameter("ids", deltas.keySet())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(STOCK_QUERY_SPACE)
+                .executeUpdate();
+        if (updated > 0) {
+            deltas.keySet().forEach(this::evictCached);
+        }
+        return updated;
+    }
+
+    @Override
+    public void evictCached(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id);
+            }
+        });
+    }
+
+    private void evict(Long id) {
+        entityManager.getEntityManagerFactory().getCache().evict(MenuItem.class, id);
+    }
+}
@@ -1,10 +1,79 @@
 package com.daam.server.repository;
+import com.daam.server.dto.OrderExportRow;
+import com.daam.server.dto.OrderPatch;
+import com.daam.server.dto.OrderSummary;
 import com.daam.server.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    // Order history is polled far more often than a user's orders change: the results are kept in
+    // the query cache (region orders-by-user) and discarded whenever the orders table is written
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "orders-by-user")})
     List<Order> findByUserid(Long userid);
+
+    // Record projections: the SELECT fetches only the summary columns, never the card details
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "orders-by-user")})
+    List<OrderSummary> findSummariesByUserid(Long userid);
+
+    // Keyset pagination: the next page starts after the last id of the previous one
+    List<OrderSummary> findSummariesByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Order> findByStatusIn(Collection<String> statuses);
+
+    // Single UPDATE without loading the entity first
+    @Transactional
+    @Modifying
+    @Query("update Order o set o.status = :status, o.version = o.version + 1 where o.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status);
+
+    // Partial update in one statement: null fields keep their value. Given a version, only a row still
+    // at that version is updated, so 0 means the order is missing or was changed by someone else
+    @Transactional
+    @Modifying
+    @Query("update Order o set o.pickuptime = coalesce(:#{#patch.pickuptime}, o.pickuptime), "
+            + "o.area = coalesce(:#{#patch.area}, o.area), o.location = coalesce(:#{#patch.location}, o.location), "
+            + "o.status = coalesce(:#{#patch.status}, o.status), o.version = o.version + 1 "
+            + "where o.id = :id and (:version is null or o.version = :version)")
+    int patch(@Param("id") Long id, @Param("version") Long version, @Param("patch") OrderPatch patch);
+
+    // Single DELETE; the affected-row count tells whether the order existed
+    @Transactional
+    @Modifying
+    @Query("delete from Order o where o.id = :id")
+    int removeById(@Param("id") Long id);
+
+    // The order with its items in one SELECT (the pre-image a delete hands to the sales aggregates);
+    // empty when the order does not exist
+    @Query("select new com.daam.server.dto.OrderExportRow(o.id, o.userid, o.ordertime, o.pickuptime, o.area, o.location, o.tax, o.tip, o.status, "
+            + "i.id, i.itemid, i.price, i.notes, i.firstname) "
+            + "from Order o left join Item i on i.orderid = o.id "
+            + "where o.id = :id "
+            + "order by i.id")
+    List<OrderExportRow> findExportRowsById(@Param("id") Long id);
+
+    // Export: orders in [from, to) left-joined with their items, grouped by order. The fetch size
+    // makes the driver stream the result set instead of buffering it; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.daam.server.dto.OrderExportRow(o.id, o.userid, o.ordertime, o.pickuptime, o.area, o.location, o.tax, o.tip, o.status, "
+            + "i.id, i.itemid, i.price, i.notes, i.firstname) "
+            + "from Order o left join Item i on i.orderid = o.id "
+            + "where o.ordertime >= :from and o.ordertime < :to "
+            + "order by o.ordertime, o.id, i.id")
+    Stream<OrderExportRow> streamExportRows(@Param("from") Timestamp from, @Param("to") Timestamp to);
 }
\ No newline at end of file
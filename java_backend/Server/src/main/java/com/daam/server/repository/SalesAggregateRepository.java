@@ -0,0 +1,18 @@
+package com.daam.server.repository;
+
+import com.daam.server.entity.SalesAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SalesAggregateRepository extends JpaRepository<SalesAggregate, SalesAggregate.Key> {
+    // Adds a delta in place, so concurrent flushes never overwrite each other's totals; 0 means the row is missing
+    @Modifying
+    @Query("update SalesAggregate a set a.orders = a.orders + :orders, a.quantity = a.quantity + :quantity, "
+            + "a.revenueCents = a.revenueCents + :revenueCents where a.dimension = :dimension and a.bucket = :bucket")
+    int increment(@Param("dimension") String dimension, @Param("bucket") String bucket, @Param("orders") long orders,
+                  @Param("quantity") long quantity, @Param("revenueCents") long revenueCents);
+}
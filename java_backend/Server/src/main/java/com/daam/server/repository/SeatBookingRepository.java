@@ -0,0 +1,16 @@
+package com.daam.server.repository;
+
+import com.daam.server.entity.SeatBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SeatBookingRepository extends JpaRepository<SeatBooking, Long> {
+    // Seeds a showtime's seat map; only the labels are needed
+    @Query("select b.seat from SeatBooking b where b.showtimeid = :showtimeid")
+    List<String> findSeatsByShowtimeid(@Param("showtimeid") Long showtimeid);
+}
@@ -0,0 +1,14 @@
+package com.daam.server.repository;
+
+import com.daam.server.entity.Showtime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
+    // Upcoming screenings of a film, served by idx_showtime_filmid_starttime
+    List<Showtime> findByFilmidAndStarttimeAfterOrderByStarttimeAsc(Long filmid, Timestamp after);
+}
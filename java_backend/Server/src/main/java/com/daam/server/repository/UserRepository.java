@@ -1,7 +1,43 @@
 package com.daam.server.repository;
+import com.daam.server.dto.UserCredentials;
+import com.daam.server.dto.UserPatch;
+import com.daam.server.dto.UserSummary;
 import com.daam.server.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {}
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, Long> {
+    // Keyset pagination: the next page starts after the last id of the previous one. Record
+    // projection, so the password and card details are never selected
+    List<UserSummary> findSummariesByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    // Login lookup through the unique index on username; selects only the hash and roles
+    Optional<UserCredentials> findCredentialsByUsername(String username);
+
+    // Null fields are left unchanged; 0 rows if the user is missing or was updated since the given version
+    @Transactional
+    @Modifying
+    @Query("update User u set u.username = coalesce(:#{#patch.username}, u.username), "
+            + "u.password = coalesce(:#{#patch.password}, u.password), u.first = coalesce(:#{#patch.first}, u.first), "
+            + "u.last = coalesce(:#{#patch.last}, u.last), u.phone = coalesce(:#{#patch.phone}, u.phone), "
+            + "u.email = coalesce(:#{#patch.email}, u.email), u.imageUrl = coalesce(:#{#patch.imageUrl}, u.imageUrl), "
+            + "u.pan = coalesce(:#{#patch.pan}, u.pan), u.expiryMonth = coalesce(:#{#patch.expiryMonth}, u.expiryMonth), "
+            + "u.expiryYear = coalesce(:#{#patch.expiryYear}, u.expiryYear), u.roles = coalesce(:#{#patch.roles}, u.roles), "
+            + "u.version = u.version + 1 "
+            + "where u.id = :id and (:version is null or u.version = :version)")
+    int patch(@Param("id") Long id, @Param("version") Long version, @Param("patch") UserPatch patch);
+
+    // 0 deleted rows means there was no such user
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int removeById(@Param("id") Long id);
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.FilmPatch;
+import com.daam.server.entity.Film;
+import com.daam.server.repository.FilmRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * In-memory film catalog for the ranking endpoints. The films are loaded from the database once;
+ * after that each film write is applied to the catalog in place, so no write reloads the table.
+ * Each (ranking, k) result is computed once with a bounded heap over the in-memory films and
+ * cached until the next write changes the catalog.
+ */
+@Service
+public class FilmCatalogService {
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    // The "m" in the weighted rating: how many votes a film needs before its own average dominates
+    @Value("${daam.films.top.min-votes:50}")
+    private int minVotes;
+
+    // Serializes the initial load and the writes; readers never take it
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Id -> film, filled by the first load; guarded by writeLock for writes
+    private final ConcurrentMap<Long, Film> films = new ConcurrentHashMap<>();
+    // Running sum and count of the vote averages, for the catalog-wide mean in the weighted rating
+    private double voteSum;
+    private long voteCount;
+
+    private volatile Catalog catalog;
+
+    public List<Film> getTopFilms(FilmRanking ranking, int k) {
+        Catalog current = catalog;
+        if (current == null) {
+            current = load();
+        }
+        Catalog snapshot = current;
+        return snapshot.rankings().computeIfAbsent(new RankingKey(ranking, k), key -> selectTop(snapshot, ranking, k));
+    }
+
+    /**
+     * Applies a created or replaced film (as saved) to the catalog.
+     */
+    public void onFilmSaved(Film film) {
+        onFilmsSaved(List.of(film));
+    }
+
+    /**
+     * Applies a batch of created or replaced films (as saved, e.g. by an import) to the catalog.
+     */
+    public void onFilmsSaved(Collection<Film> saved) {
+        writeLock.lock();
+        try {
+            if (catalog == null) {
+                // Not loaded yet; the first load reads the committed rows
+                return;
+            }
+            for (Film film : saved) {
+                put(copy(film));
+            }
+            publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a committed partial update: the non-null fields of the patch replace the film's.
+     */
+    public void onFilmPatched(Long id, FilmPatch patch) {
+        writeLock.lock();
+        try {
+            Film current = films.get(id);
+            if (catalog == null || current == null) {
+                return;
+            }
+            Film patched = copy(current);
+            if (patch.getTitle() != null) {
+                patched.setTitle(patch.getTitle());
+            }
+            if (patch.getHomepage() != null) {
+                patched.setHomepage(patch.getHomepage());
+            }
+            if (patch.getReleasedate() != null) {
+                patched.setReleasedate(patch.getReleasedate());
+            }
+            if (patch.getOverview() != null) {
+                patched.setOverview(patch.getOverview());
+            }
+            if (patch.getPosterpath() != null) {
+                patched.setPosterpath(patch.getPosterpath());
+            }
+            if (patch.getRuntime() != null) {
+                patched.setRuntime(patch.getRuntime());
+            }
+            if (patch.getTagline() != null) {
+                patched.setTagline(patch.getTagline());
+            }
+            if (patch.getPopularity() != null) {
+                patched.setPopularity(patch.getPopularity());
+            }
+            if (patch.getImdbid() != null) {
+                patched.setImdbid(patch.getImdbid());
+            }
+            if (patch.getVoteaverage() != null) {
+                patched.setVoteaverage(patch.getVoteaverage());
+            }
+            if (patch.getVotecount() != null) {
+                patched.setVotecount(patch.getVotecount());
+            }
+            if (patched.getVersion() != null) {
+                patched.setVersion(patched.getVersion() + 1);
+            }
+            put(patched);
+            publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void onFilmDeleted(Long id) {
+        writeLock.lock();
+        try {
+            if (catalog == null) {
+                return;
+            }
+            Film removed = films.remove(id);
+            if (removed != null) {
+                countVote(removed, -1);
+                publish();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Catalog load() {
+        writeLock.lock();
+        try {
+            if (catalog != null) {
+                return catalog;
+            }
+            for (Film film : filmRepository.findAll()) {
+                put(copy(film));
+            }
+            return publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Callers hold writeLock
+    private void put(Film film) {
+        Film previous = films.put(film.getId(), film);
+        if (previous != null) {
+            countVote(previous, -1);
+        }
+        countVote(film, 1);
+    }
+
+    private void countVote(Film film, int sign) {
+        if (film.getVoteaverage() != null) {
+            voteSum += sign * film.getVoteaverage();
+            voteCount += sign;
+        }
+    }
+
+    // Callers hold writeLock. A new catalog drops the rankings computed before the write
+    private Catalog publish() {
+        Catalog published = new Catalog(voteCount > 0 ? voteSum / voteCount : 0, new ConcurrentHashMap<>());
+        catalog = published;
+        return published;
+    }
+
+    private List<Film> selectTop(Catalog catalog, FilmRanking ranking, int k) {
+        ToDoubleFunction<Film> score = ranking == FilmRanking.RATING
+                ? film -> weightedRating(film, catalog.meanVote())
+                : film -> film.getPopularity() != null ? film.getPopularity() : 0;
+        Comparator<Film> byScore = Comparator.comparingDouble(score);
+
+        // Min-heap of the best k seen so far: O(n log k) instead of sorting the catalog
+        PriorityQueue<Film> top = new PriorityQueue<>(k + 1, byScore);
+        for (Film film : films.values()) {
+            top.offer(film);
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+        List<Film> result = new ArrayList<>(top);
+        result.sort(byScore.reversed());
+        return List.copyOf(result);
+    }
+
+    /**
+     * WR = (v / (v + m)) * R + (m / (v + m)) * C, where R is the film's average, v its vote count,
+     * m the minimum votes and C the mean vote across the catalog.
+     */
+    double weightedRating(Film film, double meanVote) {
+        double votes = film.getVotecount() != null ? film.getVotecount() : 0;
+        double average = film.getVoteaverage() != null ? film.getVoteaverage() : 0;
+        if (votes + minVotes == 0) {
+            return meanVote;
+        }
+        return (votes / (votes + minVotes)) * average + (minVotes / (votes + minVotes)) * meanVote;
+    }
+
+    // The catalog keeps its own copies: films handed in stay the caller's to change
+    private static Film copy(Film film) {
+        return new Film(film.getId(), film.getTitle(), film.getHomepage(), film.getReleasedate(), film.getOverview(),
+                film.getPosterpath(), film.getRuntime(), film.getTagline(), film.getPopularity(), film.getImdbid(),
+                film.getVoteaverage(), film.getVotecount(), film.getVersion());
+    }
+
+    private record RankingKey(FilmRanking ranking, int k) {
+    }
+
+    private record Catalog(double meanVote, ConcurrentMap<RankingKey, List<Film>> rankings) {
+    }
+}
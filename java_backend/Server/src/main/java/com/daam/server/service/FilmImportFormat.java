@@ -0,0 +1,25 @@
+package com.daam.server.service;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Input formats accepted by the bulk film import. A JSON array and newline-delimited JSON
+ * are read by the same streaming parser.
+ */
+public enum FilmImportFormat {
+    JSON,
+    CSV;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static FilmImportFormat from(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON) || mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            return JSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
@@ -0,0 +1,331 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.FilmImportFailure;
+import com.daam.server.dto.FilmImportReject;
+import com.daam.server.dto.FilmImportReport;
+import com.daam.server.entity.Film;
+import com.daam.server.exception.BadRequestException;
+import com.daam.server.repository.FilmRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a TMDB-style film dump (JSON array, NDJSON or CSV with a header row) and upserts
+ * the films by imdbid. Records are parsed one at a time and written in batches, each in its
+ * own transaction, so memory stays flat regardless of file size. A batch whose write fails is
+ * rolled back and reported, and the import carries on with the next one; the counts only
+ * include committed batches. Both our field names (voteaverage) and the TMDB dump names
+ * (vote_average) are accepted.
+ */
+@Service
+public class FilmImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(FilmImportService.class);
+
+    static final int MAX_LISTED_REJECTS = 100;
+    private static final int MAX_OVERVIEW_LENGTH = 2048;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private FilmCatalogService filmCatalogService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${daam.films.import.batch-size:500}")
+    private int batchSize;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    public FilmImportReport importFilms(InputStream input, FilmImportFormat format) throws IOException {
+        FilmImportReport report = new FilmImportReport();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+
+        try (MappingIterator<? extends Map<String, ?>> records = open(input, format)) {
+            Map<String, ?> fields;
+            while ((fields = nextRecord(records, report)) != null) {
+                long recordNumber = report.getReceived() + 1;
+                report.setReceived(recordNumber);
+                String imdbid = text(fields, MAX_TEXT_LENGTH, "imdbid", "imdb_id");
+                Film parsed;
+                try {
+                    parsed = parse(fields, imdbid);
+                } catch (BadRequestException e) {
+                    reject(report, recordNumber, imdbid, e.getMessage());
+                    continue;
+                }
+                batch.add(new ImportRow(recordNumber, imdbid, parsed, fields));
+                if (batch.size() >= batchSize) {
+                    writeBatch(transaction, batch, report);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(transaction, batch, report);
+        }
+
+        log.info("Film import finished: {} received, {} inserted, {} updated, {} rejected, {} failed",
+                report.getReceived(), report.getInserted(), report.getUpdated(), report.getRejected(), report.getFailed());
+        return report;
+    }
+
+    private MappingIterator<? extends Map<String, ?>> open(InputStream input, FilmImportFormat format) throws IOException {
+        if (format == FilmImportFormat.CSV) {
+            return csvMapper.readerForMapOf(String.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+        }
+        // Reads a top-level JSON array element by element, or a sequence of root-level objects (NDJSON)
+        return objectMapper.readerForMapOf(Object.class).readValues(input);
+    }
+
+    private static Map<String, ?> nextRecord(MappingIterator<? extends Map<String, ?>> records, FilmImportReport report) throws IOException {
+        try {
+            return records.hasNextValue() ? records.nextValue() : null;
+        } catch (JsonProcessingException e) {
+            // The stream cannot be resynchronised after a syntax error; earlier batches stay committed
+            throw new BadRequestException("Malformed input after record " + report.getReceived()
+                    + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void writeBatch(TransactionTemplate transaction, List<ImportRow> batch, FilmImportReport report) {
+        BatchResult result;
+        try {
+            result = transaction.execute(status -> {
+                // Film ids come from a sequence, so the inserts go out as JDBC batches of this size
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                Map<String, Film> existing = filmRepository.findByImdbidIn(
+                                batch.stream().map(ImportRow::imdbid).collect(Collectors.toSet())).stream()
+                        .collect(Collectors.toMap(Film::getImdbid, Function.identity(), (first, duplicate) -> first));
+
+                Map<String, Film> upserts = new LinkedHashMap<>();
+                long inserted = 0;
+                long updated = 0;
+                for (ImportRow row : batch) {
+                    Film film = upserts.get(row.imdbid());
+                    if (film == null) {
+                        film = existing.get(row.imdbid());
+                    }
+                    boolean isNew = film == null;
+                    if (isNew) {
+                        film = new Film();
+                        inserted++;
+                    } else {
+                        updated++;
+                    }
+                    merge(film, row);
+                    upserts.put(row.imdbid(), film);
+                }
+                List<Film> films = filmRepository.saveAll(upserts.values());
+                // Keep the persistence context from growing across batches
+                entityManager.flush();
+                entityManager.clear();
+                return new BatchResult(films, inserted, updated);
+            });
+        } catch (DataAccessException | TransactionException | PersistenceException e) {
+            fail(report, batch, e);
+            return;
+        }
+        // Counted only once the batch has committed
+        report.setInserted(report.getInserted() + result.inserted());
+        report.setUpdated(report.getUpdated() + result.updated());
+        result.films().forEach(searchService::indexFilm);
+        filmCatalogService.onFilmsSaved(result.films());
+        log.info("Film import progress: {} received, {} inserted, {} updated, {} rejected, {} failed",
+                report.getReceived(), report.getInserted(), report.getUpdated(), report.getRejected(), report.getFailed());
+    }
+
+    private static void fail(FilmImportReport report, List<ImportRow> batch, Exception e) {
+        long firstRecord = batch.get(0).recordNumber();
+        long lastRecord = batch.get(batch.size() - 1).recordNumber();
+        String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        log.warn("Film import batch of records {}-{} failed and was rolled back: {}", firstRecord, lastRecord, reason, e);
+        report.setFailed(report.getFailed() + batch.size());
+        if (report.getFailures().size() < MAX_LISTED_REJECTS) {
+            report.getFailures().add(new FilmImportFailure(firstRecord, lastRecord, reason));
+        }
+    }
+
+    /**
+     * Parses and validates every field up front, so a bad value rejects the record before
+     * any managed entity is touched.
+     */
+    private static Film parse(Map<String, ?> fields, String imdbid) {
+        if (imdbid == null) {
+            throw new BadRequestException("imdbid is required");
+        }
+        String title = text(fields, Integer.MAX_VALUE, "title");
+        if (title == null) {
+            throw new BadRequestException("title is required");
+        }
+        if (title.length() > MAX_TEXT_LENGTH) {
+            throw new BadRequestException("title is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+
+        Film film = new Film();
+        film.setImdbid(imdbid);
+        film.setTitle(title);
+        film.setHomepage(text(fields, MAX_TEXT_LENGTH, "homepage"));
+        film.setReleasedate(date(fields, "releasedate", "release_date"));
+        film.setOverview(text(fields, MAX_OVERVIEW_LENGTH, "overview"));
+        film.setPosterpath(text(fields, MAX_TEXT_LENGTH, "posterpath", "poster_path"));
+        Double runtime = number(fields, "runtime");
+        film.setRuntime(runtime == null ? null : runtime.intValue());
+        film.setTagline(text(fields, MAX_TEXT_LENGTH, "tagline"));
+        film.setPopularity(number(fields, "popularity"));
+        film.setVoteaverage(number(fields, "voteaverage", "vote_average"));
+        Double votecount = number(fields, "votecount", "vote_count");
+        film.setVotecount(votecount == null ? null : votecount.intValue());
+        return film;
+    }
+
+    /**
+     * Copies the parsed fields onto the target film; columns missing from the file leave the
+     * existing values alone.
+     */
+    private static void merge(Film film, ImportRow row) {
+        Film parsed = row.parsed();
+        Map<String, ?> fields = row.fields();
+        film.setImdbid(parsed.getImdbid());
+        film.setTitle(parsed.getTitle());
+        if (has(fields, "homepage")) {
+            film.setHomepage(parsed.getHomepage());
+        }
+        if (has(fields, "releasedate", "release_date")) {
+            film.setReleasedate(parsed.getReleasedate());
+        }
+        if (has(fields, "overview")) {
+            film.setOverview(parsed.getOverview());
+        }
+        if (has(fields, "posterpath", "poster_path")) {
+            film.setPosterpath(parsed.getPosterpath());
+        }
+        if (has(fields, "runtime")) {
+            film.setRuntime(parsed.getRuntime());
+        }
+        if (has(fields, "tagline")) {
+            film.setTagline(parsed.getTagline());
+        }
+        if (has(fields, "popularity")) {
+            film.setPopularity(parsed.getPopularity());
+        }
+        if (has(fields, "voteaverage", "vote_average")) {
+            film.setVoteaverage(parsed.getVoteaverage());
+        }
+        if (has(fields, "votecount", "vote_count")) {
+            film.setVotecount(parsed.getVotecount());
+        }
+    }
+
+    private static void reject(FilmImportReport report, long recordNumber, String imdbid, String reason) {
+        report.setRejected(report.getRejected() + 1);
+        if (report.getRejects().size() < MAX_LISTED_REJECTS) {
+            report.getRejects().add(new FilmImportReject(recordNumber, imdbid, reason));
+        }
+    }
+
+    private static boolean has(Map<String, ?> fields, String... names) {
+        for (String name : names) {
+            if (fields.containsKey(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object value(Map<String, ?> fields, String... names) {
+        for (String name : names) {
+            Object value = fields.get(name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    // Blank values are treated as missing; over-long optional text is truncated to the column length
+    private static String text(Map<String, ?> fields, int maxLength, String... names) {
+        Object value = value(fields, names);
+        if (value == null || value.toString().isBlank()) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+
+    private static Date date(Map<String, ?> fields, String... names) {
+        String text = text(fields, MAX_TEXT_LENGTH, names);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Date.valueOf(text);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(names[0] + " is not a yyyy-mm-dd date: " + text);
+        }
+    }
+
+    private static Double number(Map<String, ?> fields, String... names) {
+        Object value = value(fields, names);
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        String text = text(fields, MAX_TEXT_LENGTH, names);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(text);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(names[0] + " is not a number: " + text);
+        }
+    }
+
+    private record ImportRow(long recordNumber, String imdbid, Film parsed, Map<String, ?> fields) {
+    }
+
+    private record BatchResult(List<Film> films, long inserted, long updated) {
+    }
+}
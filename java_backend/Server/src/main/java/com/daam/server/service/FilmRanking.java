@@ -0,0 +1,19 @@
+package com.daam.server.service;
+
+import com.daam.server.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum FilmRanking {
+    POPULARITY,
+    // IMDb-style weighted rating, so films with only a few votes don't dominate
+    RATING;
+
+    public static FilmRanking from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown film ranking: " + value + " (expected popularity or rating)");
+        }
+    }
+}
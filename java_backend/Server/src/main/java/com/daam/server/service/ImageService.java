@@ -0,0 +1,309 @@
+package com.daam.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the menu and poster images (the /images/... paths in MenuItem.imageurl and
+ * Film.posterpath) under daam.images.root and produces their resized variants. Variants are
+ * JPEG re-encodes generated on first request and kept in an on-disk cache bounded by
+ * daam.images.cache-max-bytes, evicting the least recently used file. Everything is keyed by
+ * the SHA-256 of the source file, so replacing an image yields new variants and a new ETag.
+ */
+@Service
+public class ImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageService.class);
+
+    private static final Set<String> EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif");
+    private static final float JPEG_QUALITY = 0.82f;
+
+    @Value("${daam.images.root:../../ui-client/public/images}")
+    private String root;
+
+    @Value("${daam.images.cache-dir:${java.io.tmpdir}/daam-images}")
+    private String cacheDir;
+
+    @Value("${daam.images.cache-max-bytes:268435456}")
+    private long cacheMaxBytes;
+
+    private Path imagesRoot;
+    private Path cacheRoot;
+
+    // Source file -> content hash, recomputed only when the size or modification time changes
+    private final ConcurrentMap<Path, SourceHash> hashes = new ConcurrentHashMap<>();
+    // One generation per variant at a time; concurrent requests for it wait and reuse the file
+    private final ConcurrentMap<String, ReentrantLock> generating = new ConcurrentHashMap<>();
+
+    // Cached variant file name -> size, least recently used first
+    private final LinkedHashMap<String, Long> cacheIndex = new LinkedHashMap<>(64, 0.75f, true);
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private long cacheBytes;
+
+    @PostConstruct
+    void init() throws IOException {
+        imagesRoot = Path.of(root).toAbsolutePath().normalize();
+        cacheRoot = Path.of(cacheDir).toAbsolutePath().normalize();
+        Files.createDirectories(cacheRoot);
+        // Variants left by a previous run count against the bound, oldest first
+        try (Stream<Path> files = Files.list(cacheRoot)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".jpg"))
+                    .sorted(Comparator.comparing(ImageService::lastModified))
+                    .forEach(file -> addToCache(file.getFileName().toString(), size(file)));
+        }
+        log.info("Serving images from {}, variants cached in {} ({} bytes in use)", imagesRoot, cacheRoot, cacheBytes);
+    }
+
+    /**
+     * Returns the file to send for an image path relative to the images root (e.g.
+     * posters/6.jpg), generating the variant if it is not cached yet.
+     */
+    public ImageFile resolve(String path, ImageVariant variant) throws IOException {
+        Path source = source(path);
+        String hash = contentHash(source);
+        if (variant == ImageVariant.ORIGINAL) {
+            MediaType mediaType = MediaTypeFactory.getMediaType(source.getFileName().toString())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM);
+            return new ImageFile(source, mediaType, hash, Files.size(source));
+        }
+
+        String name = hash + "-" + variant.name().toLowerCase(Locale.ROOT) + ".jpg";
+        Path cached = cacheRoot.resolve(name);
+        // The length is taken under the locks: once they are released another request may evict the file
+        Long length = touch(name, cached);
+        if (length == null) {
+            ReentrantLock lock = generating.computeIfAbsent(name, key -> new ReentrantLock());
+            lock.lock();
+            try {
+                length = touch(name, cached);
+                if (length == null) {
+                    generate(source, variant, cached);
+                    length = Files.size(cached);
+                    addToCache(name, length);
+                    evict();
+                }
+            } finally {
+                lock.unlock();
+                generating.remove(name, lock);
+            }
+        }
+        return new ImageFile(cached, MediaType.IMAGE_JPEG, hash, length);
+    }
+
+    private Path source(String path) {
+        String relative = path.startsWith("/") ? path.substring(1) : path;
+        Path source = imagesRoot.resolve(relative).normalize();
+        String fileName = source.getFileName() != null ? source.getFileName().toString() : "";
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        // Rejects ../ escapes from the images root as well as anything that is not an image
+        if (!source.startsWith(imagesRoot) || !EXTENSIONS.contains(extension) || !Files.isRegularFile(source)) {
+            throw new EntityNotFoundException("Image not found: " + path);
+        }
+        return source;
+    }
+
+    private String contentHash(Path source) throws IOException {
+        long size = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        SourceHash known = hashes.get(source);
+        if (known != null && known.size() == size && known.modified() == modified) {
+            return known.hash();
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(source)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        hashes.put(source, new SourceHash(size, modified, hash));
+        return hash;
+    }
+
+    private void generate(Path source, ImageVariant variant, Path target) throws IOException {
+        BufferedImage image = ImageIO.read(source.toFile());
+        if (image == null) {
+            throw new IllegalArgumentException("Not a readable image: " + imagesRoot.relativize(source));
+        }
+        BufferedImage resized = resize(image, variant.getMaxDimension());
+
+        // Written beside the target and moved into place, so a reader never sees a partial file
+        Path temp = Files.createTempFile(cacheRoot, "variant-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(resized, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.debug("Generated {} variant of {} ({}x{})", variant, source, resized.getWidth(), resized.getHeight());
+    }
+
+    /**
+     * Scales so the longest side is at most maxDimension, halving repeatedly first: a single
+     * bilinear step from a multi-megapixel poster would alias badly.
+     */
+    static BufferedImage resize(BufferedImage image, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(image.getWidth(), image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            // Opaque RGB for JPEG; transparent areas come out white
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // -- Variant cache --
+
+    /**
+     * Marks a cached variant as just used and returns its size; null when it is not cached (or
+     * its file was removed behind our back, in which case the entry is dropped).
+     */
+    private Long touch(String name, Path cached) {
+        cacheLock.lock();
+        try {
+            Long size = cacheIndex.get(name);
+            if (size == null || Files.exists(cached)) {
+                return size;
+            }
+            cacheBytes -= cacheIndex.remove(name);
+            return null;
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void addToCache(String name, long size) {
+        cacheLock.lock();
+        try {
+            Long previous = cacheIndex.put(name, size);
+            cacheBytes += size - (previous != null ? previous : 0);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void evict() {
+        cacheLock.lock();
+        try {
+            Iterator<Map.Entry<String, Long>> eldest = cacheIndex.entrySet().iterator();
+            // Never evicts the most recent entry, the variant that is about to be sent
+            while (cacheBytes > cacheMaxBytes && cacheIndex.size() > 1 && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                try {
+                    Files.deleteIfExists(cacheRoot.resolve(entry.getKey()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                cacheBytes -= entry.getValue();
+                eldest.remove();
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    long getCacheBytes() {
+        cacheLock.lock();
+        try {
+            return cacheBytes;
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The file to send: the original image or a cached variant. contentHash identifies the
+     * source image, whichever variant this is.
+     */
+    public record ImageFile(Path file, MediaType mediaType, String contentHash, long length) {
+    }
+
+    private record SourceHash(long size, long modified, String hash) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.daam.server.service;
+
+import com.daam.server.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum ImageVariant {
+    // The source file as stored, byte for byte
+    ORIGINAL(0),
+    // Order summary and search results
+    THUMBNAIL(160),
+    // Menu and film cards
+    CARD(480),
+    // Detail views; caps oversized posters
+    FULL(1600);
+
+    // Longest side in pixels; images already smaller are re-encoded but never upscaled
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public static ImageVariant from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown image variant: " + value + " (expected original, thumbnail, card or full)");
+        }
+    }
+}
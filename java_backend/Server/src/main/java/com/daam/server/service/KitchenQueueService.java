@@ -0,0 +1,341 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.KitchenBatch;
+import com.daam.server.dto.KitchenTicket;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.Order;
+import com.daam.server.event.ItemsAddedEvent;
+import com.daam.server.event.OrderCreatedEvent;
+import com.daam.server.event.OrderRemovedEvent;
+import com.daam.server.event.OrderUpdatedEvent;
+import com.daam.server.exception.ConflictException;
+import com.daam.server.exception.ForbiddenException;
+import com.daam.server.repository.ItemRepository;
+import com.daam.server.repository.OrderRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory kitchen work queue of open orders, ordered by pickup time. Reads and claim
+ * arbitration never touch the database: claims, completions and order updates of one ticket
+ * are serialized on that ticket's lock, so two tablets claiming the same order cannot both win.
+ * Only the resulting status change is written, as a single UPDATE, and the ticket changes only
+ * after that UPDATE has committed.
+ */
+@Service
+public class KitchenQueueService {
+
+    public static final String STATUS_PREPARING = "preparing";
+    public static final String STATUS_READY = "readyForGuest";
+
+    // Statuses of orders that still need the kitchen
+    static final Set<String> OPEN_STATUSES = Set.of("new", "pending", STATUS_PREPARING);
+
+    private static final Set<String> STAFF_ROLES = Set.of("ROLE_SERVER", "ROLE_ADMIN");
+
+    private static final Comparator<Ticket> BY_PICKUP = Comparator
+            .comparing((Ticket ticket) -> ticket.dueAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ticket -> ticket.orderId);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderEventHub orderEventHub;
+
+    private final ConcurrentMap<Long, Ticket> tickets = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Ticket> queue = new ConcurrentSkipListSet<>(BY_PICKUP);
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile boolean loaded;
+
+    public List<KitchenTicket> getQueue() {
+        ensureLoaded();
+        return queue.stream().map(Ticket::toView).collect(Collectors.toList());
+    }
+
+    /**
+     * Identical menu items across all open orders, so cooks can prepare them together.
+     */
+    public List<KitchenBatch> getBatches() {
+        ensureLoaded();
+        Map<Long, KitchenBatch> batches = new TreeMap<>();
+        for (Ticket ticket : queue) {
+            for (Item item : ticket.items) {
+                KitchenBatch batch = batches.computeIfAbsent(item.getItemid(), itemid -> new KitchenBatch(itemid, 0, new ArrayList<>()));
+                batch.setQuantity(batch.getQuantity() + 1);
+                if (!batch.getOrderIds().contains(ticket.orderId)) {
+                    batch.getOrderIds().add(ticket.orderId);
+                }
+            }
+        }
+        return new ArrayList<>(batches.values());
+    }
+
+    public KitchenTicket claim(Long orderId, SessionService.Session staff) {
+        requireStaff(staff);
+        Long staffUserId = staff.userid();
+        while (true) {
+            Ticket ticket = getTicket(orderId);
+            String previousStatus;
+            // Per-ticket lock: one claim wins, and a repeated tap by the claiming user writes the status only once
+            ticket.lock.lock();
+            try {
+                if (!isCurrent(ticket)) {
+                    continue; // replaced or completed while we waited; look it up again
+                }
+                long claimer = ticket.claimedBy;
+                if (claimer != 0 && claimer != staffUserId) {
+                    throw new ConflictException("Order " + orderId + " is already claimed by user " + claimer);
+                }
+                previousStatus = ticket.status;
+                if (claimer == staffUserId && STATUS_PREPARING.equals(previousStatus)) {
+                    return ticket.toView();
+                }
+                // The ticket changes only once the UPDATE has committed
+                orderRepository.updateStatus(orderId, STATUS_PREPARING);
+                ticket.claimedBy = staffUserId;
+                ticket.status = STATUS_PREPARING;
+            } finally {
+                ticket.lock.unlock();
+            }
+            orderEventHub.publish(orderId, ticket.userid, previousStatus, STATUS_PREPARING);
+            return ticket.toView();
+        }
+    }
+
+    public KitchenTicket complete(Long orderId, SessionService.Session staff) {
+        requireStaff(staff);
+        Long staffUserId = staff.userid();
+        while (true) {
+            Ticket ticket = getTicket(orderId);
+            String previousStatus;
+            ticket.lock.lock();
+            try {
+                if (!isCurrent(ticket)) {
+                    continue;
+                }
+                if (ticket.claimedBy != staffUserId) {
+                    throw new ConflictException("Order " + orderId + " must be claimed by user " + staffUserId + " before it is completed");
+                }
+                previousStatus = ticket.status;
+                orderRepository.updateStatus(orderId, STATUS_READY);
+                ticket.status = STATUS_READY;
+                remove(ticket);
+            } finally {
+                ticket.lock.unlock();
+            }
+            orderEventHub.publish(orderId, ticket.userid, previousStatus, STATUS_READY);
+            return ticket.toView();
+        }
+    }
+
+    // -- Order writes, applied once they have committed --
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        onOrderSaved(event.order(), event.items());
+    }
+
+    @TransactionalEventListener
+    public void onOrderUpdated(OrderUpdatedEvent event) {
+        onOrderSaved(event.order(), null);
+    }
+
+    @TransactionalEventListener
+    public void onItemsAdded(ItemsAddedEvent event) {
+        onItemsAdded(event.orderid(), event.items());
+    }
+
+    @TransactionalEventListener
+    public void onOrderRemoved(OrderRemovedEvent event) {
+        onOrderRemoved(event.order().getId());
+    }
+
+    /**
+     * Adds or refreshes a ticket after an order is created or updated and committed; orders that
+     * are no longer open leave the queue. An existing ticket is updated in place under its lock, so
+     * a claim made meanwhile is kept.
+     */
+    public void onOrderSaved(Order order, List<Item> items) {
+        if (!loaded) {
+            return; // picked up by the initial load
+        }
+        if (order.getStatus() == null || !OPEN_STATUSES.contains(order.getStatus())) {
+            onOrderRemoved(order.getId());
+            return;
+        }
+        while (true) {
+            Ticket created = new Ticket(order, items != null ? items : List.of());
+            created.lock.lock();
+            try {
+                if (tickets.putIfAbsent(order.getId(), created) == null) {
+                    queue.add(created);
+                    return;
+                }
+            } finally {
+                created.lock.unlock();
+            }
+            Ticket existing = tickets.get(order.getId());
+            if (existing == null) {
+                continue;
+            }
+            existing.lock.lock();
+            try {
+                if (!isCurrent(existing)) {
+                    continue;
+                }
+                // The queue is sorted by pickup time, so the ticket leaves it while that changes
+                queue.remove(existing);
+                existing.apply(order, items);
+                queue.add(existing);
+                return;
+            } finally {
+                existing.lock.unlock();
+            }
+        }
+    }
+
+    public void onItemsAdded(Long orderId, List<Item> items) {
+        if (!loaded) {
+            return;
+        }
+        Ticket ticket = tickets.get(orderId);
+        if (ticket == null) {
+            return;
+        }
+        ticket.lock.lock();
+        try {
+            List<Item> merged = new ArrayList<>(ticket.items);
+            merged.addAll(items);
+            ticket.items = List.copyOf(merged);
+        } finally {
+            ticket.lock.unlock();
+        }
+    }
+
+    public void onOrderRemoved(Long orderId) {
+        Ticket ticket = tickets.get(orderId);
+        if (ticket == null) {
+            return;
+        }
+        ticket.lock.lock();
+        try {
+            remove(ticket);
+        } finally {
+            ticket.lock.unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<Order> openOrders = orderRepository.findByStatusIn(OPEN_STATUSES);
+            Map<Long, List<Item>> itemsByOrder = openOrders.isEmpty()
+                    ? Map.of()
+                    : itemRepository.findByOrderidIn(openOrders.stream().map(Order::getId).collect(Collectors.toList()))
+                            .stream().collect(Collectors.groupingBy(Item::getOrderid));
+            for (Order order : openOrders) {
+                Ticket ticket = new Ticket(order, itemsByOrder.getOrDefault(order.getId(), List.of()));
+                tickets.put(order.getId(), ticket);
+                queue.add(ticket);
+            }
+            loaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Ticket getTicket(Long orderId) {
+        ensureLoaded();
+        Ticket ticket = tickets.get(orderId);
+        if (ticket == null) {
+            throw new EntityNotFoundException("Order not in the kitchen queue: " + orderId);
+        }
+        return ticket;
+    }
+
+    // Callers hold the ticket's lock. False once the ticket has been replaced or removed
+    private boolean isCurrent(Ticket ticket) {
+        return tickets.get(ticket.orderId) == ticket;
+    }
+
+    // Callers hold the ticket's lock
+    private void remove(Ticket ticket) {
+        if (tickets.remove(ticket.orderId, ticket)) {
+            queue.remove(ticket);
+        }
+    }
+
+    private void requireStaff(SessionService.Session staff) {
+        // Roles come from the session; changing a user's roles ends their sessions
+        String roles = staff.roles();
+        if (roles == null || STAFF_ROLES.stream().noneMatch(roles::contains)) {
+            throw new ForbiddenException("User " + staff.userid() + " is not kitchen staff");
+        }
+    }
+
+    private static final class Ticket {
+        final Long orderId;
+        final Long userid;
+        // Written under lock; read by the queue views without it
+        volatile Timestamp pickuptime;
+        volatile Timestamp dueAt;
+        volatile String area;
+        volatile String location;
+        volatile String status;
+        volatile List<Item> items;
+        volatile long claimedBy;
+        final ReentrantLock lock = new ReentrantLock();
+
+        Ticket(Order order, List<Item> items) {
+            this.orderId = order.getId();
+            this.userid = order.getUserid();
+            apply(order, items);
+        }
+
+        // Takes the order's fields; null items keeps the current ones. The claim is left alone
+        void apply(Order order, List<Item> items) {
+            this.pickuptime = order.getPickuptime();
+            // Orders without a pickup time are due from when they were placed
+            this.dueAt = order.getPickuptime() != null ? order.getPickuptime() : order.getOrdertime();
+            this.area = order.getArea();
+            this.location = order.getLocation();
+            this.status = order.getStatus();
+            if (items != null) {
+                this.items = List.copyOf(items);
+            }
+        }
+
+        KitchenTicket toView() {
+            long claimer = claimedBy;
+            return new KitchenTicket(orderId, userid, pickuptime, area, location, status,
+                    claimer == 0 ? null : claimer, items);
+        }
+    }
+}
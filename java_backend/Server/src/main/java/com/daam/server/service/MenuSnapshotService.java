@@ -0,0 +1,84 @@
+package com.daam.server.service;
+
+import com.daam.server.entity.MenuItem;
+import com.daam.server.repository.MenuItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the full menu as pre-serialized JSON so GET /api/menuitems never has to
+ * query the database or run Jackson. The snapshot is rebuilt after every menu write.
+ */
+@Service
+public class MenuSnapshotService {
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile MenuSnapshot snapshot;
+
+    private long version;
+
+    public MenuSnapshot getSnapshot() {
+        MenuSnapshot current = snapshot;
+        if (current == null) {
+            // First read after startup builds the snapshot
+            current = rebuild();
+        }
+        return current;
+    }
+
+    /**
+     * Rebuilds the snapshot once the current transaction commits, or right away
+     * when no transaction is active (the repository call has already committed).
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    // Rebuilds are serialized so the last one to finish always reflects the latest commit.
+    // A ReentrantLock rather than synchronized, so a virtual thread waiting on the query isn't pinned.
+    MenuSnapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            List<MenuItem> menuItems = menuItemRepository.findAll();
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(menuItems);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unable to serialize menu snapshot", e);
+            }
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            MenuSnapshot rebuilt = new MenuSnapshot(++version, json, etag);
+            snapshot = rebuilt;
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public record MenuSnapshot(long version, byte[] json, String etag) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.MenuItemStock;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.exception.ConflictException;
+import com.daam.server.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Portions left of the stock-tracked menu items (MenuItem.stock not null). The database is the
+ * authority: each reservation subtracts the portions of all its menu items in one conditional
+ * UPDATE (stock = stock - n where stock >= n), in the caller's transaction, so a sale is durable
+ * once the order commits, never overwrites a restock, and turns available off the moment the item
+ * sells out. In-memory counters mirror the levels so that short orders are turned away without
+ * a query; when the database has fewer portions than a counter (a restock raced a sale) the
+ * counters of that order are read again from it.
+ */
+@Service
+public class MenuStockService {
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMap<Long, Stock> stock = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile boolean loaded;
+
+    /**
+     * Portions left, or null when the menu item is not tracked.
+     */
+    public Integer getStock(Long menuItemId) {
+        ensureLoaded();
+        Stock counter = stock.get(menuItemId);
+        return counter != null ? current(menuItemId, counter).remaining.get() : null;
+    }
+
+    /**
+     * Takes one portion per item of the tracked menu items, all or nothing: 409 Conflict naming
+     * the first menu item that is short. Within a transaction the stock is written in it and the
+     * counters are given back if it rolls back; outside one the stock is written at once and the
+     * caller must release the items when its own write fails.
+     */
+    public void reserve(List<Item> items) {
+        ensureLoaded();
+        Map<Long, Integer> taken = new TreeMap<>();
+        Map<Long, Stock> counters = new TreeMap<>();
+        boolean soldOut = false;
+        for (Map.Entry<Long, Integer> quantity : quantities(items).entrySet()) {
+            Stock counter = stock.get(quantity.getKey());
+            if (counter == null) {
+                continue;
+            }
+            int left = current(quantity.getKey(), counter).tryTake(quantity.getValue());
+            if (left < 0) {
+                give(taken);
+                throw shortOf(counter);
+            }
+            taken.put(quantity.getKey(), quantity.getValue());
+            counters.put(quantity.getKey(), counter);
+            soldOut |= left == 0;
+        }
+        if (taken.isEmpty()) {
+            return;
+        }
+
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        ConflictException shortInDatabase;
+        try {
+            shortInDatabase = inTransaction ? take(taken, counters) : new TransactionTemplate(transactionManager).execute(status -> {
+                ConflictException shortInTransaction = take(taken, counters);
+                if (shortInTransaction != null) {
+                    status.setRollbackOnly();
+                }
+                return shortInTransaction;
+            });
+        } catch (RuntimeException e) {
+            give(taken);
+            throw e;
+        }
+        if (shortInDatabase != null) {
+            // Rolled back (or about to be, with the caller's transaction) so none of it was sold
+            give(taken);
+            throw shortInDatabase;
+        }
+
+        boolean refresh = soldOut;
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        give(taken);
+                    } else if (refresh) {
+                        menuSnapshotService.refresh();
+                    }
+                }
+            });
+        } else if (refresh) {
+            menuSnapshotService.refresh();
+        }
+    }
+
+    /**
+     * Gives back the portions of items that were reserved outside a transaction but not saved.
+     */
+    public void release(List<Item> items) {
+        Map<Long, Integer> quantities = quantities(items);
+        if (quantities.isEmpty()) {
+            return;
+        }
+        menuItemRepository.adjustStock(quantities);
+        if (give(quantities)) {
+            menuSnapshotService.refresh();
+        }
+    }
+
+    /**
+     * Called after a menu item was created or its stock set (POST, or PATCH with a stock), with
+     * the row as read back after the write; the new level replaces whatever was left.
+     */
+    public void onMenuItemSaved(MenuItem menuItem) {
+        ensureLoaded();
+        if (menuItem.getStock() == null) {
+            return;
+        }
+        Stock counter = stock.computeIfAbsent(menuItem.getId(), id -> new Stock(menuItem.getName(), menuItem.getStock()));
+        counter.remaining.set(menuItem.getStock());
+    }
+
+    public void onMenuItemRemoved(Long menuItemId) {
+        stock.remove(menuItemId);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            for (MenuItemStock level : menuItemRepository.findByStockIsNotNull()) {
+                stock.put(level.id(), new Stock(level.name(), level.stock()));
+            }
+            loaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Subtracts the portions in the database, or names a menu item it had too few of. The UPDATE
+    // has then written the others until the transaction rolls back, so the levels read here are
+    // only good for the message; the counters are read again when next used
+    private ConflictException take(Map<Long, Integer> quantities, Map<Long, Stock> counters) {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        quantities.forEach((id, quantity) -> deltas.put(id, -quantity));
+        if (menuItemRepository.adjustStock(deltas) == deltas.size()) {
+            return null;
+        }
+        counters.values().forEach(counter -> counter.stale = true);
+        Map<Long, Integer> levels = new TreeMap<>();
+        for (MenuItemStock level : menuItemRepository.findByIdIn(quantities.keySet())) {
+            levels.put(level.id(), level.stock());
+        }
+        for (Map.Entry<Long, Integer> quantity : quantities.entrySet()) {
+            Integer level = levels.get(quantity.getKey());
+            int left = level != null ? level : 0;
+            if (left < quantity.getValue()) {
+                return shortOf(counters.get(quantity.getKey()).name, left);
+            }
+        }
+        return new ConflictException("Not enough stock left for this order");
+    }
+
+    // The counter, first read again from the database if a reservation found it higher than the stock
+    private Stock current(Long menuItemId, Stock counter) {
+        if (counter.stale) {
+            counter.stale = false;
+            Integer level = menuItemRepository.findStockById(menuItemId);
+            counter.remaining.set(level != null ? level : 0);
+        }
+        return counter;
+    }
+
+    // True when a menu item came back from sold out
+    private boolean give(Map<Long, Integer> quantities) {
+        boolean restored = false;
+        for (Map.Entry<Long, Integer> quantity : quantities.entrySet()) {
+            Stock counter = stock.get(quantity.getKey());
+            if (counter != null) {
+                restored |= counter.remaining.getAndAdd(quantity.getValue()) == 0;
+            }
+        }
+        return restored;
+    }
+
+    private static ConflictException shortOf(Stock counter) {
+        return shortOf(counter.name, counter.remaining.get());
+    }
+
+    private static ConflictException shortOf(String name, int left) {
+        return new ConflictException(left == 0 ? name + " is sold out" : "Only " + left + " of " + name + " left");
+    }
+
+    // Portions per tracked menu item, in id order; untracked items are left out
+    private Map<Long, Integer> quantities(List<Item> items) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (Item item : items) {
+            if (item.getItemid() != null && stock.containsKey(item.getItemid())) {
+                quantities.merge(item.getItemid(), 1, Integer::sum);
+            }
+        }
+        return quantities;
+    }
+
+    private static final class Stock {
+        final String name;
+        final AtomicInteger remaining;
+        // Set when the database had fewer portions than this counter
+        volatile boolean stale;
+
+        Stock(String name, int remaining) {
+            this.name = name;
+            this.remaining = new AtomicInteger(remaining);
+        }
+
+        // Portions left after taking, or -1 (and nothing taken) when there are too few
+        int tryTake(int quantity) {
+            int current;
+            do {
+                current = remaining.get();
+                if (current < quantity) {
+                    return -1;
+                }
+            } while (!remaining.compareAndSet(current, current - quantity));
+            return current - quantity;
+        }
+    }
+}
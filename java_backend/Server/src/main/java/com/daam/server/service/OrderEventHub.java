@@ -0,0 +1,300 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.OrderStatusEvent;
+import com.daam.server.entity.Order;
+import com.daam.server.event.OrderUpdatedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans order status changes out to server-sent event subscribers, per user and per order.
+ * Emitters are async, so an idle subscriber holds only its connection and one set entry,
+ * never a request thread. Recent events are kept in a bounded buffer so a reconnecting
+ * client can resume from its Last-Event-ID.
+ * <p>
+ * Publishing and heartbeats only queue events: each subscriber has a small outbox that a
+ * dedicated pool of send-threads drains, so a slow client never holds up the thread that
+ * changed the order or the scheduler. A subscriber whose outbox fills up is completed; it
+ * reconnects and catches up from the replay buffer.
+ */
+@Service
+public class OrderEventHub {
+
+    static final String EVENT_NAME = "status";
+    static final int REPLAY_BUFFER_SIZE = 1024;
+
+    @Value("${daam.orders.events.timeout-ms:1800000}")
+    private long emitterTimeout;
+
+    @Value("${daam.orders.events.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${daam.orders.events.send-queue:4096}")
+    private int sendQueue;
+
+    // Events a subscriber may have waiting before it counts as unable to keep up
+    @Value("${daam.orders.events.subscriber-buffer:32}")
+    private int subscriberBuffer;
+
+    private final ConcurrentMap<Long, Set<Subscriber>> userSubscribers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Subscriber>> orderSubscribers = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor sender;
+
+    // Guarded by itself; also orders event ids with respect to subscription
+    private final Deque<OrderStatusEvent> recentEvents = new ArrayDeque<>();
+    private long lastEventId;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueue), task -> {
+                    Thread thread = new Thread(task, "order-events-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribeToUser(Long userid, Long lastSeenEventId) {
+        return subscribe(userSubscribers, userid, lastSeenEventId, true);
+    }
+
+    public SseEmitter subscribeToOrder(Long orderId, Long lastSeenEventId) {
+        return subscribe(orderSubscribers, orderId, lastSeenEventId, false);
+    }
+
+    /**
+     * Sends an order's status change once the write that made it has committed.
+     */
+    @TransactionalEventListener
+    public void onOrderUpdated(OrderUpdatedEvent event) {
+        if (event.statusChanged()) {
+            publish(event.order(), event.previous().getStatus());
+        }
+    }
+
+    public void publish(Order order, String previousStatus) {
+        publish(order.getId(), order.getUserid(), previousStatus, order.getStatus());
+    }
+
+    public void publish(Long orderId, Long userid, String previousStatus, String status) {
+        OrderStatusEvent event;
+        synchronized (recentEvents) {
+            event = new OrderStatusEvent(++lastEventId, orderId, userid, previousStatus,
+                    status, new Timestamp(System.currentTimeMillis()));
+            recentEvents.addLast(event);
+            if (recentEvents.size() > REPLAY_BUFFER_SIZE) {
+                recentEvents.removeFirst();
+            }
+        }
+        sendToAll(userSubscribers.get(userid), event);
+        sendToAll(orderSubscribers.get(orderId), event);
+    }
+
+    @Scheduled(fixedRateString = "${daam.orders.events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        // Event builders are single-use, so each subscriber gets its own
+        userSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.enqueue(heartbeat())));
+        orderSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.enqueue(heartbeat())));
+    }
+
+    int subscriberCount() {
+        return userSubscribers.values().stream().mapToInt(Set::size).sum()
+                + orderSubscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Events queued for subscribers and not yet written
+    int pendingEvents() {
+        return userSubscribers.values().stream().flatMap(Set::stream).mapToInt(Subscriber::pending).sum()
+                + orderSubscribers.values().stream().flatMap(Set::stream).mapToInt(Subscriber::pending).sum();
+    }
+
+    /**
+     * Buffered events newer than the given id, for either a user or an order.
+     */
+    List<OrderStatusEvent> eventsAfter(Long key, Long lastSeenEventId, boolean byUser) {
+        List<OrderStatusEvent> events = new ArrayList<>();
+        if (lastSeenEventId == null) {
+            return events;
+        }
+        synchronized (recentEvents) {
+            for (OrderStatusEvent event : recentEvents) {
+                Long eventKey = byUser ? event.getUserid() : event.getOrderId();
+                if (event.getEventId() > lastSeenEventId && key.equals(eventKey)) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    private SseEmitter subscribe(ConcurrentMap<Long, Set<Subscriber>> subscribers, Long key, Long lastSeenEventId, boolean byUser) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Subscriber subscriber = new Subscriber(emitter, subscribers, key);
+        emitter.onCompletion(subscriber::unsubscribe);
+        emitter.onTimeout(subscriber::unsubscribe);
+        emitter.onError(e -> subscriber.unsubscribe());
+
+        List<OrderStatusEvent> missed;
+        synchronized (recentEvents) {
+            // Added inside compute so it can't race with remove() dropping an emptied set
+            subscribers.compute(key, (k, keySubscribers) -> {
+                Set<Subscriber> updated = keySubscribers != null ? keySubscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscriber);
+                return updated;
+            });
+            missed = eventsAfter(key, lastSeenEventId, byUser);
+        }
+        // A replayed event may also arrive live if it was published mid-subscribe; clients dedupe by id.
+        // The replay is not held to the outbox bound, or a client far behind could never catch up
+        missed.forEach(event -> subscriber.replay(toSse(event)));
+        return emitter;
+    }
+
+    private void sendToAll(Set<Subscriber> subscribers, OrderStatusEvent event) {
+        if (subscribers == null) {
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.enqueue(toSse(event)));
+    }
+
+    private static SseEmitter.SseEventBuilder heartbeat() {
+        return SseEmitter.event().comment("heartbeat");
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(OrderStatusEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getEventId()))
+                .name(EVENT_NAME)
+                .data(event);
+    }
+
+    /**
+     * One SSE connection and its outbox. Only a send-thread touches the emitter (send and
+     * complete), and one at a time, so a client that stops reading ties up that one thread
+     * until the write times out, never the publisher or the scheduler.
+     */
+    final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ConcurrentMap<Long, Set<Subscriber>> subscribers;
+        private final Long key;
+        private final Queue<SseEmitter.SseEventBuilder> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        // Set while a drain task is queued or running, so there is at most one per subscriber
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closing;
+        private volatile boolean completed;
+
+        Subscriber(SseEmitter emitter, ConcurrentMap<Long, Set<Subscriber>> subscribers, Long key) {
+            this.emitter = emitter;
+            this.subscribers = subscribers;
+            this.key = key;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closing) {
+                return;
+            }
+            if (pending.incrementAndGet() > subscriberBuffer) {
+                // Can't keep up: end the stream; the client reconnects with its Last-Event-ID
+                pending.decrementAndGet();
+                close();
+                return;
+            }
+            outbox.add(event);
+            scheduleDrain();
+        }
+
+        void replay(SseEmitter.SseEventBuilder event) {
+            pending.incrementAndGet();
+            outbox.add(event);
+            scheduleDrain();
+        }
+
+        void close() {
+            closing = true;
+            scheduleDrain();
+        }
+
+        void unsubscribe() {
+            subscribers.computeIfPresent(key, (k, keySubscribers) -> {
+                keySubscribers.remove(this);
+                return keySubscribers.isEmpty() ? null : keySubscribers;
+            });
+        }
+
+        int pending() {
+            return pending.get();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // The send-threads are backed up: drop this subscriber rather than wait; its
+                    // connection is released when the emitter times out
+                    draining.set(false);
+                    unsubscribe();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closing && (event = outbox.poll()) != null) {
+                    pending.decrementAndGet();
+                    emitter.send(event);
+                }
+                if (closing && !completed) {
+                    completed = true;
+                    outbox.clear();
+                    pending.set(0);
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; completing triggers the unsubscribe callback
+                closing = true;
+                completed = true;
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll, while draining was still set, still goes out
+            if (!completed && (closing || !outbox.isEmpty())) {
+                scheduleDrain();
+            }
+        }
+    }
+}
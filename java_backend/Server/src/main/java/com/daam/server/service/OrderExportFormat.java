@@ -0,0 +1,38 @@
+package com.daam.server.service;
+
+import com.daam.server.exception.BadRequestException;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum OrderExportFormat {
+    // One order per line with its items nested
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    // One line per item with the order columns repeated
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    OrderExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static OrderExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown export format: " + value + " (expected ndjson or csv)");
+        }
+    }
+}
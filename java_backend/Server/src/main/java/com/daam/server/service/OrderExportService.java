@@ -0,0 +1,125 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.OrderExport;
+import com.daam.server.dto.OrderExportRow;
+import com.daam.server.dto.OrderSummary;
+import com.daam.server.entity.Item;
+import com.daam.server.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes orders joined with their items straight from a streamed result set to the response.
+ * Rows arrive ordered by order, so only the current order's items are ever held in memory;
+ * heap use is the same for a day or a year of orders.
+ */
+@Service
+public class OrderExportService {
+
+    static final String CSV_HEADER = "order_id,userid,ordertime,pickuptime,area,location,tax,tip,status,item_id,itemid,price,notes,firstname";
+
+    private static final Timestamp EARLIEST = new Timestamp(0);
+    private static final Timestamp LATEST = Timestamp.valueOf("9999-12-31 00:00:00");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Exports orders with from &lt;= ordertime &lt; to; either bound may be null.
+     */
+    @Transactional(readOnly = true)
+    public void export(LocalDateTime from, LocalDateTime to, OrderExportFormat format, OutputStream out) throws IOException {
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(
+                from != null ? Timestamp.valueOf(from) : EARLIEST,
+                to != null ? Timestamp.valueOf(to) : LATEST)) {
+            if (format == OrderExportFormat.CSV) {
+                writeCsv(rows.iterator(), out);
+            } else {
+                writeNdjson(rows.iterator(), out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<OrderExportRow> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Each line ends with its own newline instead of the default space between root values
+        generator.setRootValueSeparator(null);
+
+        OrderExport current = null;
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            if (current == null || !current.getOrder().id().equals(row.orderId())) {
+                if (current != null) {
+                    writeLine(generator, current);
+                }
+                current = new OrderExport(new OrderSummary(row.orderId(), row.userid(), row.ordertime(), row.pickuptime(),
+                        row.area(), row.location(), row.tax(), row.tip(), row.status()), new ArrayList<>());
+            }
+            if (row.itemId() != null) {
+                current.getItems().add(new Item(row.itemId(), row.orderId(), row.itemid(), row.price(), row.notes(), row.firstname(), null));
+            }
+        }
+        if (current != null) {
+            writeLine(generator, current);
+        }
+        generator.flush();
+    }
+
+    private void writeLine(JsonGenerator generator, OrderExport export) throws IOException {
+        objectMapper.writeValue(generator, export);
+        generator.writeRaw('\n');
+    }
+
+    private static void writeCsv(Iterator<OrderExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            Object[] columns = {row.orderId(), row.userid(), timestamp(row.ordertime()), timestamp(row.pickuptime()),
+                    row.area(), row.location(), row.tax(), row.tip(), row.status(),
+                    row.itemId(), row.itemid(), row.price(), row.notes(), row.firstname()};
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (columns[i] != null) {
+                    writer.write(csvField(columns[i].toString()));
+                }
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String timestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant().toString() : null;
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break, doubling embedded quotes
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
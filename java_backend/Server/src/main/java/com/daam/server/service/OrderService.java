@@ -0,0 +1,163 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.CheckoutResponse;
+import com.daam.server.dto.OrderDetail;
+import com.daam.server.dto.OrderDetailItem;
+import com.daam.server.dto.OrderExportRow;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.entity.Order;
+import com.daam.server.event.ItemsAddedEvent;
+import com.daam.server.event.OrderCreatedEvent;
+import com.daam.server.event.OrderRemovedEvent;
+import com.daam.server.repository.ItemRepository;
+import com.daam.server.repository.MenuItemRepository;
+import com.daam.server.repository.OrderRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class OrderService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private MenuStockService menuStockService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Saves an order on its own; its items are added later. The order is announced to the
+     * in-memory views once the transaction commits.
+     */
+    @Transactional
+    public Order createOrder(Order order) {
+        Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder, List.of()));
+        return savedOrder;
+    }
+
+    /**
+     * Persists an order and all of its items in one transaction. The item inserts
+     * are sent as a single JDBC batch. Stock-tracked menu items are reserved first
+     * (409 when one is short) and given back if the transaction rolls back.
+     * Order and item writes publish an event from com.daam.server.event in their transaction;
+     * the in-memory views handle it once the transaction has committed.
+     */
+    @Transactional
+    public CheckoutResponse checkout(Order order, List<Item> items) {
+        menuStockService.reserve(items);
+
+        // Checkout always creates new rows, never merges into existing ones
+        order.setId(null);
+        order.setVersion(null);
+        Order savedOrder = orderRepository.save(order);
+
+        items.forEach(item -> {
+            item.setId(null);
+            item.setVersion(null);
+            item.setOrderid(savedOrder.getId());
+        });
+        List<Item> savedItems = itemRepository.saveAll(items);
+        eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder, savedItems));
+        return new CheckoutResponse(savedOrder, savedItems);
+    }
+
+    /**
+     * Adds items to an existing order in one transaction, reserving stock as checkout does;
+     * the portions are given back if the items fail to save.
+     */
+    @Transactional
+    public List<Item> addItems(Long orderid, List<Item> items) {
+        items.forEach(item -> item.setOrderid(orderid));
+        menuStockService.reserve(items);
+        List<Item> savedItems = itemRepository.saveAll(items);
+        eventPublisher.publishEvent(new ItemsAddedEvent(orderid, savedItems));
+        return savedItems;
+    }
+
+    /**
+     * Deletes an order together with its items in one transaction, in three statements: one
+     * SELECT of the order joined with its items, then a bulk DELETE of the items and one of the
+     * order. The rows read are returned for the in-memory views; the order carries no card details.
+     */
+    @Transactional
+    public RemovedOrder deleteOrder(Long id) {
+        List<OrderExportRow> rows = orderRepository.findExportRowsById(id);
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("Order not found with id: " + id);
+        }
+        OrderExportRow first = rows.get(0);
+        Order order = new Order(first.orderId(), first.userid(), first.ordertime(), first.pickuptime(), first.area(),
+                first.location(), first.tax(), first.tip(), null, null, null, first.status(), null);
+        List<Item> items = rows.stream()
+                .filter(row -> row.itemId() != null)
+                .map(row -> new Item(row.itemId(), row.orderId(), row.itemid(), row.price(), row.notes(), row.firstname(), null))
+                .collect(Collectors.toList());
+        itemRepository.deleteByOrderid(id);
+        if (orderRepository.removeById(id) == 0) {
+            // Deleted concurrently since the read above; rolls back the item delete
+            throw new EntityNotFoundException("Order not found with id: " + id);
+        }
+        eventPublisher.publishEvent(new OrderRemovedEvent(order, items));
+        return new RemovedOrder(order, items);
+    }
+
+    /**
+     * Builds the order-detail view from exactly three queries: the order by id, its
+     * items by order id, and the referenced menu items by id IN (...).
+     */
+    @Transactional(readOnly = true)
+    public OrderDetail getOrderDetail(Long id) {
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+        List<Item> items = itemRepository.findByOrderid(id);
+
+        Set<Long> menuItemIds = items.stream().map(Item::getItemid).collect(Collectors.toSet());
+        Map<Long, MenuItem> menuItems = menuItemIds.isEmpty()
+                ? Map.of()
+                : menuItemRepository.findAllById(menuItemIds).stream()
+                        .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+
+        List<OrderDetailItem> detailItems = items.stream().map(item -> {
+            MenuItem menuItem = menuItems.get(item.getItemid());
+            return new OrderDetailItem(item.getId(), item.getOrderid(), item.getItemid(), item.getPrice(),
+                    item.getNotes(), item.getFirstname(),
+                    menuItem != null ? menuItem.getName() : null,
+                    menuItem != null ? menuItem.getImageUrl() : null,
+                    menuItem != null ? menuItem.getCategory() : null);
+        }).collect(Collectors.toList());
+
+        // Sum in BigDecimal so the totals come out in whole cents
+        BigDecimal subtotal = items.stream()
+                .map(item -> BigDecimal.valueOf(item.getPrice()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal total = subtotal.add(BigDecimal.valueOf(order.getTax())).add(BigDecimal.valueOf(order.getTip()));
+
+        return new OrderDetail(order, detailItems,
+                subtotal.setScale(2, RoundingMode.HALF_UP).doubleValue(),
+                total.setScale(2, RoundingMode.HALF_UP).doubleValue());
+    }
+
+    public record RemovedOrder(Order order, List<Item> items) {
+    }
+}
@@ -0,0 +1,592 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.OrderExportRow;
+import com.daam.server.dto.SalesBucket;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.entity.Order;
+import com.daam.server.entity.SalesAggregate;
+import com.daam.server.event.ItemUpdatedEvent;
+import com.daam.server.event.ItemsAddedEvent;
+import com.daam.server.event.ItemsRemovedEvent;
+import com.daam.server.event.OrderCreatedEvent;
+import com.daam.server.event.OrderRemovedEvent;
+import com.daam.server.event.OrderUpdatedEvent;
+import com.daam.server.exception.BadRequestException;
+import com.daam.server.repository.ItemRepository;
+import com.daam.server.repository.MenuItemRepository;
+import com.daam.server.repository.OrderRepository;
+import com.daam.server.repository.SalesAggregateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Sales aggregates kept current by the order and item writes: revenue per day, per
+ * area/location and per menu category, item popularity and orders per 15-minute pickup slot.
+ * Each committed write arrives as an event carrying what changed and only bumps LongAdder
+ * counters, on a thread of its own; a scheduled flush adds the accumulated deltas to the
+ * sales_aggregate table. Dashboard reads are map lookups and never scan orders or items.
+ * On first use the totals are loaded from sales_aggregate, or backfilled from the orders and
+ * items when that table is still empty. Cancelled orders are not counted: cancelling an order
+ * takes it back out of every aggregate.
+ */
+@Service
+public class SalesAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesAnalyticsService.class);
+
+    static final int SLOT_MINUTES = 15;
+    static final int MAX_DAYS = 366;
+    static final String STATUS_CANCELLED = "cancelled";
+    private static final String UNKNOWN = "unknown";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private SalesAggregateRepository salesAggregateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Dimension, ConcurrentMap<String, Counter>> counters = new EnumMap<>(Dimension.class);
+    // Menu item id -> category, so item writes don't need a menu lookup
+    private final ConcurrentMap<Long, String> categories = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Held shared by a write from just before its commit until it completes, and exclusively by
+    // the backfill while it starts its read, so each write commits either before that read or after
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+
+    // Writes waiting for the analytics thread; when full, the committing thread applies its own
+    @Value("${daam.analytics.apply-queue:10000}")
+    private int applyQueue;
+
+    private ThreadPoolExecutor applier;
+
+    private volatile boolean loaded;
+    // System.nanoTime() just before the backfill read the orders, null when the totals came from
+    // sales_aggregate. A write stamped before then had committed, so the backfill counted it
+    private volatile Long backfillStartedAt;
+
+    public SalesAnalyticsService() {
+        for (Dimension dimension : Dimension.values()) {
+            counters.put(dimension, new ConcurrentHashMap<>());
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        // One thread, so the writes are applied in the order they committed
+        applier = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(applyQueue), task -> {
+            Thread thread = new Thread(task, "sales-analytics");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // -- Dashboard reads --
+
+    public List<SalesBucket> getDailyRevenue(LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_DAYS) {
+            throw new BadRequestException("The date range must cover 1 to " + MAX_DAYS + " days");
+        }
+        ensureLoaded();
+        List<SalesBucket> buckets = new ArrayList<>((int) days);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            buckets.add(bucket(Dimension.DAY, day.toString()));
+        }
+        return buckets;
+    }
+
+    public List<SalesBucket> getRevenueByLocation() {
+        return byRevenue(Dimension.LOCATION);
+    }
+
+    public List<SalesBucket> getRevenueByCategory() {
+        return byRevenue(Dimension.CATEGORY);
+    }
+
+    public List<SalesBucket> getTopItems(int k) {
+        ensureLoaded();
+        Comparator<SalesBucket> byQuantity = Comparator.comparingLong(SalesBucket::getQuantity);
+        // Bounded min-heap keeps only the best k items
+        PriorityQueue<SalesBucket> top = new PriorityQueue<>(k + 1, byQuantity);
+        counters.get(Dimension.ITEM).forEach((bucket, counter) -> {
+            top.offer(counter.toBucket(bucket));
+            if (top.size() > k) {
+                top.poll();
+            }
+        });
+        List<SalesBucket> result = new ArrayList<>(top);
+        result.sort(byQuantity.reversed());
+        return result;
+    }
+
+    public List<SalesBucket> getPickupSlots(LocalDate date) {
+        ensureLoaded();
+        int slots = 24 * 60 / SLOT_MINUTES;
+        List<SalesBucket> buckets = new ArrayList<>(slots);
+        for (LocalDateTime slot = date.atStartOfDay(); buckets.size() < slots; slot = slot.plusMinutes(SLOT_MINUTES)) {
+            buckets.add(bucket(Dimension.SLOT, slot.toString()));
+        }
+        return buckets;
+    }
+
+    // -- Order and item writes, applied once they have committed --
+
+    @EventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        afterCommit(() -> {
+            OrderSnapshot snapshot = snapshot(event.order());
+            applyOrder(snapshot, 1, 0);
+            applyItems(snapshot, event.items(), 1);
+        });
+    }
+
+    /**
+     * Moves the order's revenue between day, location and slot buckets when any of them changed,
+     * and takes the whole order out of (or back into) the aggregates when it is cancelled (or
+     * reinstated). Only then are its items read.
+     */
+    @EventListener
+    public void onOrderUpdated(OrderUpdatedEvent event) {
+        afterCommit(() -> {
+            OrderSnapshot before = snapshot(event.previous());
+            OrderSnapshot current = snapshot(event.order());
+            if (current.equals(before) || !before.counted() && !current.counted()) {
+                return;
+            }
+            List<Item> items = itemRepository.findByOrderid(event.order().getId());
+            if (before.counted() != current.counted()) {
+                OrderSnapshot counted = before.counted() ? before : current;
+                int sign = before.counted() ? -1 : 1;
+                applyOrder(counted, sign, 0);
+                applyItems(counted, items, sign);
+                return;
+            }
+            long itemCents = cents(items);
+            applyOrder(before, -1, itemCents);
+            applyOrder(current, 1, itemCents);
+        });
+    }
+
+    @EventListener
+    public void onOrderRemoved(OrderRemovedEvent event) {
+        afterCommit(() -> {
+            OrderSnapshot snapshot = snapshot(event.order());
+            applyOrder(snapshot, -1, 0);
+            applyItems(snapshot, event.items(), -1);
+        });
+    }
+
+    @EventListener
+    public void onItemsAdded(ItemsAddedEvent event) {
+        afterCommit(() -> orderRepository.findById(event.orderid())
+                .ifPresent(order -> applyItems(snapshot(order), event.items(), 1)));
+    }
+
+    @EventListener
+    public void onItemUpdated(ItemUpdatedEvent event) {
+        Item item = event.item();
+        long delta = cents(item.getPrice()) - cents(event.previousPrice());
+        if (delta == 0) {
+            return;
+        }
+        afterCommit(() -> orderRepository.findById(item.getOrderid()).ifPresent(order -> {
+            OrderSnapshot snapshot = snapshot(order);
+            if (!snapshot.counted()) {
+                return;
+            }
+            add(Dimension.DAY, snapshot.day(), 0, 0, delta);
+            add(Dimension.LOCATION, snapshot.location(), 0, 0, delta);
+            add(Dimension.CATEGORY, category(item.getItemid()), 0, 0, delta);
+            add(Dimension.ITEM, String.valueOf(item.getItemid()), 0, 0, delta);
+        }));
+    }
+
+    @EventListener
+    public void onItemsRemoved(ItemsRemovedEvent event) {
+        afterCommit(() -> orderRepository.findById(event.orderid())
+                .ifPresent(order -> applyItems(snapshot(order), event.items(), -1)));
+    }
+
+    // The order fields the aggregates depend on
+    private OrderSnapshot snapshot(Order order) {
+        return new OrderSnapshot(
+                order.getOrdertime() != null ? order.getOrdertime().toLocalDateTime().toLocalDate().toString() : UNKNOWN,
+                Objects.requireNonNullElse(order.getArea(), UNKNOWN) + " / " + Objects.requireNonNullElse(order.getLocation(), UNKNOWN),
+                slot(order.getPickuptime()),
+                cents(order.getTax()) + cents(order.getTip()),
+                !STATUS_CANCELLED.equals(order.getStatus()));
+    }
+
+    // -- Persistence --
+
+    /**
+     * Adds the deltas accumulated since the last flush to sales_aggregate. Deltas that fail
+     * to write are put back and retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${daam.analytics.flush-ms:10000}")
+    public void flush() {
+        if (!loaded) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<SalesAggregate> deltas = new ArrayList<>();
+            counters.forEach((dimension, buckets) -> buckets.forEach((bucket, counter) -> {
+                SalesAggregate delta = counter.drain(dimension.key, bucket);
+                if (delta != null) {
+                    deltas.add(delta);
+                }
+            }));
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    for (SalesAggregate delta : deltas) {
+                        int updated = salesAggregateRepository.increment(delta.getDimension(), delta.getBucket(),
+                                delta.getOrders(), delta.getQuantity(), delta.getRevenueCents());
+                        if (updated == 0) {
+                            salesAggregateRepository.save(delta);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Sales aggregate flush failed, retrying {} deltas on the next flush", deltas.size(), e);
+                for (SalesAggregate delta : deltas) {
+                    counter(Dimension.of(delta.getDimension()), delta.getBucket())
+                            .pending(delta.getOrders(), delta.getQuantity(), delta.getRevenueCents());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Applies the writes already queued before the last flush
+    @PreDestroy
+    void flushOnShutdown() {
+        applier.shutdown();
+        try {
+            applier.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // Returns once every write queued so far has been applied
+    void awaitApplied() throws Exception {
+        applier.submit(() -> { }).get();
+    }
+
+    /**
+     * Queues a change for the analytics thread once the write's transaction commits, so the
+     * lookups some changes need stay off the request. The write is stamped just before its commit
+     * while it holds the commit gate, which the backfill takes exclusively to start its read: a
+     * write stamped before backfillStartedAt had committed before the read, which counted it.
+     */
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Published outside a transaction: the write has already committed
+            long committedAt = System.nanoTime();
+            applier.execute(() -> apply(committedAt, change));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean gated;
+            private long committedAt;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Once loaded there is no backfill left to order the commit against
+                gated = !loaded;
+                if (gated) {
+                    commitGate.readLock().lock();
+                }
+                committedAt = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (gated) {
+                    commitGate.readLock().unlock();
+                }
+                if (status == STATUS_COMMITTED) {
+                    applier.execute(() -> apply(committedAt, change));
+                }
+            }
+        });
+    }
+
+    // Loads the totals if needed, then applies the change unless the backfill already counted it
+    private void apply(long committedAt, Runnable change) {
+        try {
+            ensureLoaded();
+            Long startedAt = backfillStartedAt;
+            if (startedAt == null || committedAt - startedAt >= 0) {
+                change.run();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Sales aggregates could not apply a committed write", e);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<SalesAggregate> rows = salesAggregateRepository.findAll();
+            if (rows.isEmpty()) {
+                backfill();
+            } else {
+                for (SalesAggregate row : rows) {
+                    counter(Dimension.of(row.getDimension()), row.getBucket())
+                            .total(row.getOrders(), row.getQuantity(), row.getRevenueCents());
+                }
+            }
+            loaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * One pass over the streamed orders and items; the result is left as pending deltas so
+     * the next flush writes it to sales_aggregate. The read starts under the commit gate, so no
+     * write commits while it takes its snapshot: writes stamped before the start time are in it,
+     * writes stamped after are not.
+     */
+    private void backfill() {
+        menuItemRepository.findAll().forEach(menuItem -> categories.put(menuItem.getId(), menuItem.getCategory()));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        long orders = transaction.execute(status -> {
+            long count = 0;
+            Stream<OrderExportRow> stream;
+            commitGate.writeLock().lock();
+            try {
+                backfillStartedAt = System.nanoTime();
+                // Runs the query, which fixes the snapshot the rows are read from
+                stream = orderRepository.streamExportRows(new Timestamp(0), Timestamp.valueOf("9999-12-31 00:00:00"));
+            } finally {
+                commitGate.writeLock().unlock();
+            }
+            try (Stream<OrderExportRow> rows = stream) {
+                Long currentOrder = null;
+                OrderSnapshot snapshot = null;
+                for (OrderExportRow row : (Iterable<OrderExportRow>) rows::iterator) {
+                    if (!row.orderId().equals(currentOrder)) {
+                        currentOrder = row.orderId();
+                        snapshot = snapshot(new Order(row.orderId(), row.userid(), row.ordertime(), row.pickuptime(),
+                                row.area(), row.location(), row.tax(), row.tip(), null, null, null, row.status(), null));
+                        if (snapshot.counted()) {
+                            applyOrder(snapshot, 1, 0);
+                            count++;
+                        }
+                    }
+                    if (row.itemId() != null) {
+                        applyItem(snapshot, row.itemid(), row.price(), 1);
+                    }
+                }
+            }
+            return count;
+        });
+        log.info("Backfilled sales aggregates from {} orders", orders);
+    }
+
+    // -- Counters --
+
+    // Cancelled orders are skipped by every apply
+    private void applyOrder(OrderSnapshot order, int sign, long itemCents) {
+        if (!order.counted()) {
+            return;
+        }
+        long revenue = sign * (order.extrasCents() + itemCents);
+        add(Dimension.DAY, order.day(), sign, 0, revenue);
+        add(Dimension.LOCATION, order.location(), sign, 0, revenue);
+        if (order.slot() != null) {
+            add(Dimension.SLOT, order.slot(), sign, 0, 0);
+        }
+    }
+
+    private void applyItems(OrderSnapshot order, List<Item> items, int sign) {
+        for (Item item : items) {
+            applyItem(order, item.getItemid(), item.getPrice(), sign);
+        }
+    }
+
+    private void applyItem(OrderSnapshot order, Long itemid, Double price, int sign) {
+        if (!order.counted()) {
+            return;
+        }
+        long revenue = sign * cents(price);
+        add(Dimension.DAY, order.day(), 0, 0, revenue);
+        add(Dimension.LOCATION, order.location(), 0, 0, revenue);
+        add(Dimension.CATEGORY, category(itemid), 0, sign, revenue);
+        add(Dimension.ITEM, String.valueOf(itemid), 0, sign, revenue);
+    }
+
+    private void add(Dimension dimension, String bucket, long orders, long quantity, long revenueCents) {
+        counter(dimension, bucket).add(orders, quantity, revenueCents);
+    }
+
+    private Counter counter(Dimension dimension, String bucket) {
+        return counters.get(dimension).computeIfAbsent(bucket, key -> new Counter());
+    }
+
+    private SalesBucket bucket(Dimension dimension, String bucket) {
+        Counter counter = counters.get(dimension).get(bucket);
+        return counter != null ? counter.toBucket(bucket) : new SalesBucket(bucket, 0, 0, BigDecimal.ZERO.setScale(2));
+    }
+
+    private List<SalesBucket> byRevenue(Dimension dimension) {
+        ensureLoaded();
+        List<SalesBucket> buckets = new ArrayList<>();
+        counters.get(dimension).forEach((bucket, counter) -> buckets.add(counter.toBucket(bucket)));
+        buckets.sort(Comparator.comparing(SalesBucket::getRevenue).reversed());
+        return buckets;
+    }
+
+    private String category(Long itemid) {
+        if (itemid == null) {
+            return UNKNOWN;
+        }
+        return categories.computeIfAbsent(itemid, id -> menuItemRepository.findById(id).map(MenuItem::getCategory).orElse(UNKNOWN));
+    }
+
+    private static String slot(Timestamp pickuptime) {
+        if (pickuptime == null) {
+            return null;
+        }
+        LocalDateTime time = pickuptime.toLocalDateTime().truncatedTo(ChronoUnit.MINUTES);
+        return time.withMinute(time.getMinute() / SLOT_MINUTES * SLOT_MINUTES).toString();
+    }
+
+    private static long cents(List<Item> items) {
+        return items.stream().mapToLong(item -> cents(item.getPrice())).sum();
+    }
+
+    private static long cents(Double amount) {
+        return amount != null ? Math.round(amount * 100) : 0;
+    }
+
+    // counted is false for cancelled orders, which are left out of the aggregates
+    private record OrderSnapshot(String day, String location, String slot, long extrasCents, boolean counted) {
+    }
+
+    private enum Dimension {
+        DAY("day"),
+        LOCATION("location"),
+        CATEGORY("category"),
+        ITEM("item"),
+        SLOT("slot");
+
+        private final String key;
+
+        Dimension(String key) {
+            this.key = key;
+        }
+
+        static Dimension of(String key) {
+            for (Dimension dimension : values()) {
+                if (dimension.key.equals(key)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalStateException("Unknown sales aggregate dimension: " + key);
+        }
+    }
+
+    /**
+     * Running totals plus the deltas not yet flushed. LongAdder keeps concurrent checkouts
+     * hitting the same bucket (today, a popular item) from contending on one counter.
+     */
+    private static final class Counter {
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder quantity = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+        private final LongAdder pendingOrders = new LongAdder();
+        private final LongAdder pendingQuantity = new LongAdder();
+        private final LongAdder pendingRevenueCents = new LongAdder();
+
+        void add(long orders, long quantity, long revenueCents) {
+            total(orders, quantity, revenueCents);
+            pending(orders, quantity, revenueCents);
+        }
+
+        void total(long orders, long quantity, long revenueCents) {
+            this.orders.add(orders);
+            this.quantity.add(quantity);
+            this.revenueCents.add(revenueCents);
+        }
+
+        void pending(long orders, long quantity, long revenueCents) {
+            pendingOrders.add(orders);
+            pendingQuantity.add(quantity);
+            pendingRevenueCents.add(revenueCents);
+        }
+
+        SalesAggregate drain(String dimension, String bucket) {
+            long orders = pendingOrders.sumThenReset();
+            long quantity = pendingQuantity.sumThenReset();
+            long revenueCents = pendingRevenueCents.sumThenReset();
+            if (orders == 0 && quantity == 0 && revenueCents == 0) {
+                return null;
+            }
+            return new SalesAggregate(dimension, bucket, orders, quantity, revenueCents);
+        }
+
+        SalesBucket toBucket(String bucket) {
+            return new SalesBucket(bucket, orders.sum(), quantity.sum(), BigDecimal.valueOf(revenueCents.sum(), 2));
+        }
+    }
+}
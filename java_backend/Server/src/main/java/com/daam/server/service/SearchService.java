@@ -0,0 +1,241 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.SearchResult;
+import com.daam.server.entity.Film;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.repository.FilmRepository;
+import com.daam.server.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over films (title, tagline, overview) and menu items
+ * (name, description, category), ranked with BM25. Title/name matches are weighted
+ * above tagline/category, which are weighted above the long-form text.
+ * The index is loaded on the first search and kept current by the controllers' writes.
+ */
+@Service
+public class SearchService {
+
+    public static final String TYPE_FILM = "film";
+    public static final String TYPE_MENU_ITEM = "menuitem";
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUBTITLE_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "with", "your");
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (document -> weighted term frequency)
+    private final Map<String, Map<DocKey, Integer>> postings = new HashMap<>();
+    private final Map<DocKey, IndexedDoc> documents = new HashMap<>();
+    private long totalLength;
+
+    private volatile boolean loaded;
+
+    public List<SearchResult> search(String query, int limit) {
+        ensureLoaded();
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            Map<DocKey, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<DocKey, Integer> postingList = postings.get(term);
+                if (postingList == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - postingList.size() + 0.5) / (postingList.size() + 0.5));
+                postingList.forEach((key, tf) -> {
+                    double norm = K1 * (1 - B + B * documents.get(key).length() / averageLength);
+                    scores.merge(key, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                });
+            }
+
+            // Bounded min-heap keeps only the best `limit` hits
+            PriorityQueue<Map.Entry<DocKey, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<DocKey, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<SearchResult> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<DocKey, Double> entry = top.poll();
+                IndexedDoc doc = documents.get(entry.getKey());
+                results.add(new SearchResult(entry.getKey().type(), entry.getKey().id(), doc.title(),
+                        doc.subtitle(), doc.imageUrl(), entry.getValue()));
+            }
+            results.sort(Comparator.comparing(SearchResult::getScore).reversed());
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexFilm(Film film) {
+        if (!loaded) {
+            return; // picked up by the initial load
+        }
+        lock.writeLock().lock();
+        try {
+            putFilm(film);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexMenuItem(MenuItem menuItem) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            putMenuItem(menuItem);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeFilm(Long id) {
+        remove(new DocKey(TYPE_FILM, id));
+    }
+
+    public void removeMenuItem(Long id) {
+        remove(new DocKey(TYPE_MENU_ITEM, id));
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                filmRepository.findAll().forEach(this::putFilm);
+                menuItemRepository.findAll().forEach(this::putMenuItem);
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(DocKey key) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putFilm(Film film) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addField(frequencies, film.getTitle(), TITLE_WEIGHT);
+        addField(frequencies, film.getTagline(), SUBTITLE_WEIGHT);
+        addField(frequencies, film.getOverview(), BODY_WEIGHT);
+        putDocument(new DocKey(TYPE_FILM, film.getId()),
+                new IndexedDoc(film.getTitle(), film.getTagline(), film.getPosterpath(), frequencies));
+    }
+
+    private void putMenuItem(MenuItem menuItem) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addField(frequencies, menuItem.getName(), TITLE_WEIGHT);
+        addField(frequencies, menuItem.getCategory(), SUBTITLE_WEIGHT);
+        addField(frequencies, menuItem.getDescription(), BODY_WEIGHT);
+        putDocument(new DocKey(TYPE_MENU_ITEM, menuItem.getId()),
+                new IndexedDoc(menuItem.getName(), menuItem.getCategory(), menuItem.getImageUrl(), frequencies));
+    }
+
+    private void putDocument(DocKey key, IndexedDoc doc) {
+        removeDocument(key);
+        documents.put(key, doc);
+        totalLength += doc.length();
+        doc.frequencies().forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, tf));
+    }
+
+    private void removeDocument(DocKey key) {
+        IndexedDoc previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length();
+        for (String term : previous.frequencies().keySet()) {
+            Map<DocKey, Integer> postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(key);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Integer> frequencies, String text, int weight) {
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private record DocKey(String type, Long id) {
+    }
+
+    private record IndexedDoc(String title, String subtitle, String imageUrl, Map<String, Integer> frequencies, int length) {
+        IndexedDoc(String title, String subtitle, String imageUrl, Map<String, Integer> frequencies) {
+            this(title, subtitle, imageUrl, frequencies, frequencies.values().stream().mapToInt(Integer::intValue).sum());
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.SeatHold;
+import com.daam.server.dto.SeatMapView;
+import com.daam.server.entity.SeatBooking;
+import com.daam.server.entity.Showtime;
+import com.daam.server.exception.BadRequestException;
+import com.daam.server.exception.ConflictException;
+import com.daam.server.repository.SeatBookingRepository;
+import com.daam.server.repository.ShowtimeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Seat inventory of the showtimes. Each showtime's seats are a bitmap in memory, and holding
+ * seats is a compare-and-set on the words that contain them: concurrent bookings for a busy
+ * premiere contend per 64 seats, never on a database row lock, and a seat can only be held by
+ * one request. Holds are memory-only and expire after daam.seats.hold-ttl-seconds; confirming
+ * one is the only write, inserting a seat_booking row per seat. The seat_booking unique key is
+ * the backstop should another instance have sold the seat.
+ */
+@Service
+public class SeatInventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatInventoryService.class);
+
+    static final int MAX_SEATS_PER_HOLD = 10;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SeatBookingRepository seatBookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${daam.seats.hold-ttl-seconds:300}")
+    private long holdTtlSeconds;
+
+    private final ConcurrentMap<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Hold> holds = new ConcurrentHashMap<>();
+    // Holds by expiry time; confirmed and released holds are left in and skipped when they come due
+    private final DelayQueue<Hold> expiring = new DelayQueue<>();
+
+    public SeatMapView getSeatMap(Long showtimeId) {
+        SeatMap seatMap = seatMap(showtimeId);
+        List<String> rows = new ArrayList<>(seatMap.rows);
+        for (int row = 0; row < seatMap.rows; row++) {
+            StringBuilder seats = new StringBuilder(seatMap.perRow);
+            for (int number = 0; number < seatMap.perRow; number++) {
+                seats.append(seatMap.state(row * seatMap.perRow + number));
+            }
+            rows.add(seats.toString());
+        }
+        return new SeatMapView(showtimeId, seatMap.rows, seatMap.perRow, seatMap.available(), rows);
+    }
+
+    /**
+     * Holds all of the seats or none of them; 409 Conflict when any is already held or sold.
+     */
+    public SeatHold hold(Long showtimeId, Long userid, List<String> seatLabels) {
+        SeatMap seatMap = seatMap(showtimeId);
+        if (!seatMap.starttime.after(new Timestamp(System.currentTimeMillis()))) {
+            throw new BadRequestException("Showtime " + showtimeId + " has already started");
+        }
+        int[] seats = seatMap.parse(seatLabels);
+        if (!seatMap.tryTake(seats)) {
+            throw new ConflictException("Some of the seats " + seatMap.labels(seats) + " are no longer available");
+        }
+        Hold hold = new Hold(UUID.randomUUID().toString(), showtimeId, userid, seats, TimeUnit.SECONDS.toNanos(holdTtlSeconds));
+        holds.put(hold.id, hold);
+        expiring.add(hold);
+        return new SeatHold(hold.id, showtimeId, userid, seatMap.labels(seats), hold.expiresAt);
+    }
+
+    /**
+     * Turns a live hold into bookings. A hold that expired, was released or was already
+     * confirmed is not found.
+     */
+    public List<SeatBooking> confirm(Long showtimeId, String holdId, Long orderid) {
+        Hold hold = claim(showtimeId, holdId);
+        SeatMap seatMap = seatMaps.get(showtimeId);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<SeatBooking> bookings = new ArrayList<>(hold.seats.length);
+        for (String seat : seatMap.labels(hold.seats)) {
+            bookings.add(new SeatBooking(null, showtimeId, seat, hold.userid, orderid, now));
+        }
+        // The seats stay taken while they are written, so nobody else can hold them meanwhile
+        List<SeatBooking> saved;
+        try {
+            saved = new TransactionTemplate(transactionManager).execute(status -> seatBookingRepository.saveAll(bookings));
+        } catch (DataIntegrityViolationException e) {
+            List<String> bookedElsewhere = settleBookedElsewhere(seatMap, showtimeId, hold.seats);
+            log.warn("Seats {} of showtime {} were already booked in the database", bookedElsewhere, showtimeId);
+            throw new ConflictException(bookedElsewhere.isEmpty()
+                    ? "Some of the seats " + seatMap.labels(hold.seats) + " were booked elsewhere; hold them again"
+                    : "Seats " + bookedElsewhere + " were booked elsewhere; hold the others again");
+        } catch (RuntimeException e) {
+            seatMap.release(hold.seats);
+            throw e;
+        }
+        seatMap.markBooked(hold.seats);
+        return saved;
+    }
+
+    public void release(Long showtimeId, String holdId) {
+        Hold hold = claim(showtimeId, holdId);
+        seatMaps.get(showtimeId).release(hold.seats);
+    }
+
+    /**
+     * Returns the seats of the holds that came due. Only the expired holds are visited, so the
+     * sweep costs nothing while holds are being confirmed in time.
+     */
+    @Scheduled(fixedDelayString = "${daam.seats.expiry-sweep-ms:1000}")
+    public void expireHolds() {
+        int expired = 0;
+        for (Hold hold = expiring.poll(); hold != null; hold = expiring.poll()) {
+            if (holds.remove(hold.id, hold)) {
+                seatMaps.get(hold.showtimeId).release(hold.seats);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.debug("Released {} expired seat holds", expired);
+        }
+    }
+
+    /**
+     * Removes the hold so that exactly one of confirm, release and expiry acts on it.
+     */
+    private Hold claim(Long showtimeId, String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || !hold.showtimeId.equals(showtimeId) || !holds.remove(holdId, hold)) {
+            throw new EntityNotFoundException("Seat hold not found (it may have expired): " + holdId);
+        }
+        if (hold.getDelay(TimeUnit.NANOSECONDS) <= 0) {
+            // Due but not swept yet
+            seatMaps.get(showtimeId).release(hold.seats);
+            throw new EntityNotFoundException("Seat hold not found (it may have expired): " + holdId);
+        }
+        return hold;
+    }
+
+    /**
+     * Reads the showtime's bookings again after a confirm lost to another instance: the seats of
+     * the hold found booked are marked booked, so they are not offered again, and the rest are
+     * released. Returns the labels of the seats booked elsewhere.
+     */
+    private List<String> settleBookedElsewhere(SeatMap seatMap, Long showtimeId, int[] seats) {
+        Set<String> booked;
+        try {
+            booked = new HashSet<>(seatBookingRepository.findSeatsByShowtimeid(showtimeId));
+        } catch (RuntimeException e) {
+            seatMap.release(seats);
+            throw e;
+        }
+        List<String> bookedElsewhere = new ArrayList<>();
+        for (int seat : seats) {
+            int[] single = {seat};
+            String label = seatMap.labels(single).get(0);
+            if (booked.contains(label)) {
+                seatMap.markBooked(single);
+                bookedElsewhere.add(label);
+            } else {
+                seatMap.release(single);
+            }
+        }
+        return bookedElsewhere;
+    }
+
+    private SeatMap seatMap(Long showtimeId) {
+        SeatMap seatMap = seatMaps.get(showtimeId);
+        if (seatMap != null) {
+            return seatMap;
+        }
+        // Loaded outside the map so a slow query does not block other showtimes; a concurrent
+        // duplicate load is discarded before anyone holds seats on it
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new EntityNotFoundException("Showtime not found with id: " + showtimeId));
+        SeatMap loaded = new SeatMap(showtime);
+        for (String seat : seatBookingRepository.findSeatsByShowtimeid(showtimeId)) {
+            int[] seats = loaded.parse(List.of(seat));
+            loaded.tryTake(seats);
+            loaded.markBooked(seats);
+        }
+        seatMap = seatMaps.putIfAbsent(showtimeId, loaded);
+        return seatMap != null ? seatMap : loaded;
+    }
+
+    static final class SeatMap {
+        final int rows;
+        final int perRow;
+        final Timestamp starttime;
+        // Bit per seat: held or booked
+        private final AtomicLongArray taken;
+        // Bit per seat: booked; always a subset of taken
+        private final AtomicLongArray booked;
+
+        SeatMap(Showtime showtime) {
+            this.rows = showtime.getSeatrows();
+            this.perRow = showtime.getSeatsperrow();
+            this.starttime = showtime.getStarttime();
+            int words = (rows * perRow + 63) / 64;
+            this.taken = new AtomicLongArray(words);
+            this.booked = new AtomicLongArray(words);
+        }
+
+        /**
+         * Sets the bits of all seats (sorted) word by word, or none: when a word has a seat
+         * taken, the words already set are rolled back. Nothing blocks, so concurrent holds on
+         * overlapping seats cannot deadlock; one of them simply loses.
+         */
+        boolean tryTake(int[] seats) {
+            int start = 0;
+            while (start < seats.length) {
+                int word = seats[start] >>> 6;
+                int end = start;
+                long mask = 0;
+                while (end < seats.length && seats[end] >>> 6 == word) {
+                    mask |= 1L << (seats[end] & 63);
+                    end++;
+                }
+                long current;
+                do {
+                    current = taken.get(word);
+                    if ((current & mask) != 0) {
+                        release(Arrays.copyOf(seats, start));
+                        return false;
+                    }
+                } while (!taken.compareAndSet(word, current, current | mask));
+                start = end;
+            }
+            return true;
+        }
+
+        void release(int[] seats) {
+            update(taken, seats, false);
+        }
+
+        void markBooked(int[] seats) {
+            update(booked, seats, true);
+        }
+
+        private static void update(AtomicLongArray bits, int[] seats, boolean set) {
+            for (int seat : seats) {
+                long bit = 1L << (seat & 63);
+                bits.getAndUpdate(seat >>> 6, word -> set ? word | bit : word & ~bit);
+            }
+        }
+
+        int available() {
+            int taken = 0;
+            for (int word = 0; word < this.taken.length(); word++) {
+                taken += Long.bitCount(this.taken.get(word));
+            }
+            return rows * perRow - taken;
+        }
+
+        char state(int seat) {
+            long bit = 1L << (seat & 63);
+            if ((booked.get(seat >>> 6) & bit) != 0) {
+                return 'B';
+            }
+            return (taken.get(seat >>> 6) & bit) != 0 ? 'H' : '.';
+        }
+
+        /**
+         * Seat labels ("E7") to sorted seat indexes.
+         */
+        int[] parse(List<String> labels) {
+            if (labels.size() > MAX_SEATS_PER_HOLD) {
+                throw new BadRequestException("At most " + MAX_SEATS_PER_HOLD + " seats can be held at once");
+            }
+            int[] seats = new int[labels.size()];
+            for (int i = 0; i < seats.length; i++) {
+                String label = labels.get(i) == null ? "" : labels.get(i).trim().toUpperCase(Locale.ROOT);
+                int row = label.isEmpty() ? -1 : label.charAt(0) - 'A';
+                int number;
+                try {
+                    number = Integer.parseInt(label.substring(Math.min(1, label.length())));
+                } catch (NumberFormatException e) {
+                    number = 0;
+                }
+                if (row < 0 || row >= rows || number < 1 || number > perRow) {
+                    throw new BadRequestException("Unknown seat: " + labels.get(i));
+                }
+                seats[i] = row * perRow + number - 1;
+            }
+            Arrays.sort(seats);
+            for (int i = 1; i < seats.length; i++) {
+                if (seats[i] == seats[i - 1]) {
+                    throw new BadRequestException("Seat listed twice: " + labels(new int[]{seats[i]}).get(0));
+                }
+            }
+            return seats;
+        }
+
+        List<String> labels(int[] seats) {
+            List<String> labels = new ArrayList<>(seats.length);
+            for (int seat : seats) {
+                labels.add((char) ('A' + seat / perRow) + String.valueOf(seat % perRow + 1));
+            }
+            return labels;
+        }
+    }
+
+    private static final class Hold implements Delayed {
+        final String id;
+        final Long showtimeId;
+        final Long userid;
+        final int[] seats;
+        final Timestamp expiresAt;
+        private final long deadlineNanos;
+
+        Hold(String id, Long showtimeId, Long userid, int[] seats, long ttlNanos) {
+            this.id = id;
+            this.showtimeId = showtimeId;
+            this.userid = userid;
+            this.seats = seats;
+            this.expiresAt = new Timestamp(System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(ttlNanos));
+            this.deadlineNanos = System.nanoTime() + ttlNanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineNanos, ((Hold) other).deadlineNanos);
+        }
+    }
+}
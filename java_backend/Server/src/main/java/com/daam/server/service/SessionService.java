@@ -0,0 +1,192 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.LoginResponse;
+import com.daam.server.dto.UserCredentials;
+import com.daam.server.exception.ServiceUnavailableException;
+import com.daam.server.exception.UnauthorizedException;
+import com.daam.server.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logs users in and keeps their sessions. A password is checked against its BCrypt hash (cost
+ * 12, about a quarter of a second of CPU) on a small dedicated pool with a bounded queue, so a
+ * burst of logins waits there or is turned away with 503 instead of tying up request threads.
+ * A successful login issues a random token; the sessions live in memory, so checking a token
+ * on later requests is a map lookup with no hashing and no query.
+ */
+@Service
+public class SessionService {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final int TOKEN_BYTES = 32;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${daam.auth.bcrypt-strength:12}")
+    private int bcryptStrength;
+
+    @Value("${daam.auth.verify-threads:2}")
+    private int verifyThreads;
+
+    @Value("${daam.auth.verify-queue:64}")
+    private int verifyQueue;
+
+    @Value("${daam.auth.session-ttl-minutes:720}")
+    private long sessionTtlMinutes;
+
+    private final SecureRandom random = new SecureRandom();
+    // Token -> session
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private ThreadPoolExecutor verifier;
+    // Checked when the username is unknown, so that takes as long as a wrong password
+    private String unknownUserHash;
+
+    /**
+     * A logged-in user, as seen by later requests.
+     */
+    public record Session(Long userid, String username, String roles, Timestamp expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt.getTime() <= now;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        passwordEncoder = new BCryptPasswordEncoder(bcryptStrength, random);
+        AtomicInteger threadNumber = new AtomicInteger();
+        verifier = new ThreadPoolExecutor(verifyThreads, verifyThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(verifyQueue), task -> {
+                    Thread thread = new Thread(task, "password-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        unknownUserHash = passwordEncoder.encode(token());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        verifier.shutdownNow();
+    }
+
+    /**
+     * Checks the password off the request thread and completes with a new session token, or
+     * with 401 Unauthorized for an unknown user or a wrong password (the two look the same).
+     * Throws 503 right away when the verification queue is full.
+     */
+    public CompletableFuture<LoginResponse> login(String username, String password) {
+        Optional<UserCredentials> credentials = userRepository.findCredentialsByUsername(username);
+        String hash = credentials.map(UserCredentials::password).orElse(unknownUserHash);
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordEncoder.matches(password, hash), verifier)
+                    .thenApply(matches -> {
+                        if (!matches || credentials.isEmpty()) {
+                            throw new UnauthorizedException("Invalid username or password");
+                        }
+                        return startSession(credentials.get());
+                    });
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many logins in progress; retry shortly", 1);
+        }
+    }
+
+    /**
+     * The session for a token, or null if there is none or it has expired.
+     */
+    public Session authenticate(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        if (session.isExpired(System.currentTimeMillis())) {
+            sessions.remove(token, session);
+            return null;
+        }
+        return session;
+    }
+
+    public void logout(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    /**
+     * Ends every session of a user, e.g. after their password or roles changed or they were deleted.
+     */
+    public void evictUser(Long userid) {
+        sessions.values().removeIf(session -> session.userid().equals(userid));
+    }
+
+    /**
+     * Hashes a password being stored off the request thread, on the verification pool like a
+     * login, and completes with its BCrypt hash (null for null). Every password a client sends is
+     * hashed, even one that looks like a hash already. Throws 503 right away when the
+     * verification queue is full.
+     */
+    public CompletableFuture<String> encodePassword(String password) {
+        if (password == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), verifier);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many password checks in progress; retry shortly", 1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${daam.auth.session-sweep-ms:60000}")
+    public void expireSessions() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> session.isExpired(now));
+    }
+
+    /**
+     * The token of an "Authorization: Bearer &lt;token&gt;" header, or null.
+     */
+    public static String bearerToken(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private LoginResponse startSession(UserCredentials credentials) {
+        String token = token();
+        Timestamp expiresAt = new Timestamp(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(sessionTtlMinutes));
+        sessions.put(token, new Session(credentials.id(), credentials.username(), credentials.roles(), expiresAt));
+        return new LoginResponse(token, credentials.id(), credentials.username(), credentials.roles(), expiresAt);
+    }
+
+    private String token() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,40 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps the id sequences of the sequence-generated entities clear of ids already in their tables.
+ */
+final class IdSequences {
+
+    private IdSequences() {
+    }
+
+    /**
+     * Moves the sequence forward so the next block Hibernate's pooled optimizer takes starts above
+     * the highest id in the table. The optimizer reads the sequence value as the end of its block
+     * and hands out ids from value - allocationSize + 1, so the value must be a full block past
+     * that id. A sequence that is already far enough is left where it is (one value is used up
+     * while reading it).
+     */
+    static void restartAbove(Connection connection, String sequence, String table, int allocationSize) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long maxId = queryForLong(statement, "select coalesce(max(id), 0) from " + table);
+            long next = queryForLong(statement, "select next value for " + sequence);
+            long restartWith = maxId + allocationSize;
+            if (next < restartWith) {
+                statement.execute("alter sequence " + sequence + " restart with " + restartWith);
+            }
+        }
+    }
+
+    private static long queryForLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
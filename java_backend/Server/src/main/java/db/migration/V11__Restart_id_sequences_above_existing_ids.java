@@ -0,0 +1,20 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * V1 creates orders_seq and item_seq at fixed values (2000 and 1000). On a database that
+ * ddl-auto=update created before the migrations existed, V1 keeps the old AUTO_INCREMENT orders
+ * and item tables, whose ids can already be at or beyond those values, so new orders and items
+ * would collide with them. This moves both sequences past the highest existing id; on a new
+ * database it changes nothing.
+ */
+public class V11__Restart_id_sequences_above_existing_ids extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        IdSequences.restartAbove(context.getConnection(), "orders_seq", "orders", 50);
+        IdSequences.restartAbove(context.getConnection(), "item_seq", "item", 50);
+    }
+}
@@ -0,0 +1,23 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+/**
+ * Films used to take AUTO_INCREMENT ids, which Hibernate cannot batch inserts with. This creates
+ * film_seq (increment = the Film allocationSize) and moves it past the ids already in film.
+ */
+public class V12__Create_film_id_sequence extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS film_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        IdSequences.restartAbove(context.getConnection(), "film_seq", "film", ALLOCATION_SIZE);
+    }
+}
@@ -0,0 +1,10 @@
+-- A single row the resource server stamps on the primary every daam.datasource.replica.heartbeat-ms
+-- when a read replica is configured; how old the replica's copy of beat_at (epoch millis) is tells
+-- how far replication lags behind.
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id      INTEGER NOT NULL,
+    beat_at BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT IGNORE INTO replica_heartbeat (id, beat_at) VALUES (1, 0);
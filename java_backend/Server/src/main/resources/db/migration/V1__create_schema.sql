@@ -0,0 +1,76 @@
+-- Base schema, matching the JPA entity mappings.
+-- IF NOT EXISTS lets this baseline over databases previously created by ddl-auto=update.
+
+CREATE TABLE IF NOT EXISTS users (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    username     VARCHAR(255) NOT NULL,
+    password     VARCHAR(255) NOT NULL,
+    first        VARCHAR(255) NOT NULL,
+    last         VARCHAR(255) NOT NULL,
+    phone        VARCHAR(255),
+    email        VARCHAR(255),
+    image_url    VARCHAR(255),
+    pan          VARCHAR(255),
+    expiry_month INTEGER,
+    expiry_year  INTEGER,
+    roles        VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS menu_item (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255)  NOT NULL,
+    description VARCHAR(1024),
+    category    VARCHAR(255)  NOT NULL,
+    price       DOUBLE        NOT NULL,
+    imageurl    VARCHAR(255),
+    available   BIT           NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS film (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255)  NOT NULL,
+    homepage    VARCHAR(255),
+    releasedate DATE,
+    overview    VARCHAR(2048),
+    posterpath  VARCHAR(255),
+    runtime     INTEGER,
+    tagline     VARCHAR(255),
+    popularity  DOUBLE,
+    imdbid      VARCHAR(255),
+    voteaverage DOUBLE,
+    votecount   INTEGER,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id           BIGINT       NOT NULL,
+    userid       BIGINT       NOT NULL,
+    ordertime    DATETIME(6)  NOT NULL,
+    pickuptime   DATETIME(6),
+    area         VARCHAR(255),
+    location     VARCHAR(255),
+    tax          DOUBLE       NOT NULL,
+    tip          DOUBLE       NOT NULL,
+    pan          VARCHAR(255) NOT NULL,
+    expiry_month INTEGER      NOT NULL,
+    expiry_year  INTEGER      NOT NULL,
+    status       VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS item (
+    id        BIGINT       NOT NULL,
+    orderid   BIGINT       NOT NULL,
+    itemid    BIGINT       NOT NULL,
+    price     DOUBLE       NOT NULL,
+    notes     VARCHAR(255),
+    firstname VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+-- Pooled id sequences for Order and Item (increment = allocationSize), starting above the seed data
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 2000 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_seq START WITH 1000 INCREMENT BY 50;
@@ -0,0 +1,62 @@
+-- Seed data (formerly data.sql). INSERT IGNORE keeps this safe on databases that already hold these rows.
+
+-- Users Table
+INSERT IGNORE INTO users (ID,USERNAME, PASSWORD, FIRST, LAST, PHONE, EMAIL, IMAGE_URL, PAN, EXPIRY_MONTH, EXPIRY_YEAR, ROLES) VALUES (1, 'admin', '$2a$12$sPUi2kLGlu.YcCV9cfnE.uzJiPOR/G1sRHZcwV3agV9ScZReaY3VO', 'Administrator', 'User', '(555) 943-2230', 'admin@daam.com', 'https://minimaltoolkit.com/images/randomdata/female/70.jpg', '', 6, 2025, 'ROLE_ADMIN');
+INSERT IGNORE INTO users (ID,USERNAME, password, FIRST, LAST, PHONE, EMAIL, IMAGE_URL, PAN, EXPIRY_MONTH, EXPIRY_YEAR, ROLES) VALUES (2, 'cmac', '$2a$12$sPUi2kLGlu.YcCV9cfnE.uzJiPOR/G1sRHZcwV3agV9ScZReaY3VO', 'Caitlin', 'McIntyre', '(555) 442-2093', 'cmac@daam.com', 'https://minimaltoolkit.com/images/randomdata/female/71.jpg', '4332-1234-1234-1234', 6, 2025, 'ROLE_ADMIN');
+INSERT IGNORE INTO users (ID,USERNAME, password, FIRST, LAST, PHONE, EMAIL, IMAGE_URL, PAN, EXPIRY_MONTH, EXPIRY_YEAR, ROLES) VALUES (3, 'me', '$2a$12$sPUi2kLGlu.YcCV9cfnE.uzJiPOR/G1sRHZcwV3agV9ScZReaY3VO', 'Test', 'User', '(555) 853-1039', 'testUser@daam.com', 'https://minimaltoolkit.com/images/randomdata/female/7.jpg', '4332-1234-1234-1234', 6, 2025, 'ROLE_USER');
+INSERT IGNORE INTO users (ID,USERNAME, password, FIRST, LAST, PHONE, EMAIL, IMAGE_URL, ROLES) VALUES (4, 'server1', '$2a$12$sPUi2kLGlu.YcCV9cfnE.uzJiPOR/G1sRHZcwV3agV9ScZReaY3VO', 'Jo', 'Server', '(555) 443-4567', 'server1@daam.com', 'https://minimaltoolkit.com/images/randomdata/female/9.jpg', 'ROLE_SERVER');
+INSERT IGNORE INTO users (ID,USERNAME, password, FIRST, LAST, PHONE, EMAIL, IMAGE_URL, ROLES) VALUES (5, 'server2', '$2a$12$sPUi2kLGlu.YcCV9cfnE.uzJiPOR/G1sRHZcwV3agV9ScZReaY3VO', 'Lee', 'Server', '(555) 123-4954', 'server2@daam.com', 'https://minimaltoolkit.com/images/randomdata/male/9.jpg', 'ROLE_SERVER');
+
+-- MenuItems Table
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (1, 'Bison Burger', 'Packed with protein and a touch of sweetness, it''s topped with your choice of cheese and classic burger fixings. Lean, humanely raised meat for those who are more health-conscious.', 'entrees', 11.54, '/images/food/burger_1.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (2, 'Southwest Burger', 'Inspired by the spices of Tex-Mex, this one will light you up! Juicy patty seasoned with chili, cumin, and coriander, topped with pepper jack cheese, chipotle mayo, and fresh pico de gallo.', 'entrees', 10.7, '/images/food/burger_2.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (3, 'Philly Burger', 'Philly cheesesteak flavor on a juicy burger! Shaved ribeye joins melty provolone, grilled onions, and peppers for a cheeseburger that''s anything but ordinary.', 'entrees', 15.54, '/images/food/burger_3.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (4, 'Frisco Burger', 'Craving a classic with a twist? Our Frisco Burger features a juicy patty nestled between toasted sourdough bread. Tangy thousand island dressing and creamy Swiss cheese elevate this burger to new heights.', 'entrees', 13.5, '/images/food/burger_4.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (5, 'Chicago Burger', 'Chicago classic alert! Our Chicago Burger piles a juicy griddled patty high with Vienna beef hot dog relish, dill pickles, sport peppers, tomato, and creamy poppy seed dressing – all on a classic poppy seed bun.', 'entrees', 15, '/images/food/burger_5.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (6, 'Salmon Sashimi', 'Premium salmon pieces, expertly carved. Covered with our signature curry-inspired sauce that is slightly sweet and slightly spicy. Indulge in the fresh taste of the ocean. Our Salmon Sashimi features vibrant slices of salmon, perfect for savoring its natural flavor. Served with wasabi, pickled ginger, and soy sauce for a delightful appetizer.', 'sushi', 11.38, '/images/food/sushi_1.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (7, 'Sakura Blossom Salmon Sushi Roll', 'Immerse yourself in a culinary masterpiece with our Sakura Blossom Salmon Sushi Roll. Handcrafted with the utmost precision, this roll features the finest Norwegian salmon, creamy avocado, and delicate sakura radish sprouts, elegantly wrapped in crisp nori seaweed and perfectly seasoned sushi rice. Topped with toasted sesame seeds, it''s a symphony of flavors and textures, a celebration of artistry on a plate. Served with a house-made dipping sauce.', 'sushi', 13.66, '/images/food/sushi_2.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (8, 'Strawberry Parfait', 'Indulge in a sweet symphony of flavors and textures with our Strawberry Parfait. Layers of luscious, ripe strawberries, nestled between clouds of velvety vanilla custard and delicate, golden-brown granola clusters. Each spoonful is a harmonious blend of juicy, sun-kissed strawberries, creamy custard, and the satisfying crunch of granola. Topped with a dollop of freshly whipped cream and a garnish of fresh mint leaves, it''s a delightful journey of taste and a visual masterpiece in a glass. A heavenly treat that''s both elegant and comforting, the Strawberry Parfait is the perfect finale to any meal or a delightful indulgence anytime you crave a taste of pure bliss. Enjoy!', 'desserts', 8.75, '/images/food/desserts_1.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (9, 'Decadent Chocolate Cake with Mousse Layers', 'Indulge in the ultimate chocolate lover''s delight with our Decadent Chocolate Cake. Moist, rich chocolate cake layers alternate with silky chocolate mousse, creating a symphony of textures and flavors. A drizzle of vibrant strawberry sauce crowns this masterpiece, adding a delightful touch of fruity sweetness. It''s a sensory journey that combines the deep, dark allure of chocolate with the bright, tangy notes of strawberries, making each bite an exquisite experience.', 'desserts', 9.5, '/images/food/desserts_2.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (10, 'Tropical Fruit Bowl Delight', 'Escape to a tropical paradise with our exquisite Tropical Fruit Bowl. This vibrant dessert is a celebration of nature''s bounty, featuring an array of fresh, colorful fruits that awaken your senses with every bite. Sweet, juicy strawberries mingle with the tropical allure of ripe kiwi and luscious papaya, while plump blueberries offer a burst of freshness. A scattering of coconut flakes adds a hint of exotic crunch, and jewel-like pomegranate arils provide a playful burst of tartness. Each spoonful is a symphony of flavors and textures, a refreshing and wholesome indulgence that transports you to sun-kissed shores with every bite.', 'desserts', 8.5, '/images/food/desserts_3.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (11, 'Heavenly Dessert Pancake Stack', 'Indulge in our Heavenly Dessert Pancake Stack, a tower of golden pancakes kissed with cinnamon and drenched in velvety caramel. Fresh strawberries provide a burst of fruity sweetness, while a side of sweet butter dipping sauce adds a luxurious touch. It''s a symphony of flavors and textures, where each bite blends the comforting warmth of pancakes with the richness of caramel and the brightness of strawberries. This dessert is a delightfully indulgent treat that will leave you craving more.', 'desserts', 12.25, '/images/food/desserts_4.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (12, 'Fiery Seafood Pho Sensation', 'Dive into a bold culinary adventure with our Fiery Seafood Pho, featuring thick noodles enveloped in a rich, spicy broth. Succulent shrimp and tender fish pieces swim amidst the noodles, while fresh mint and vibrant red pepper add contrasting layers of coolness and heat. This dish is a harmonious balance of bold flavors and satisfying textures, a celebration of Vietnamese cuisine''s vibrant spirit.', 'pho', 11.69, '/images/food/pho_1.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (13, 'Vegetarian Dumpling Soup', 'Indulge in the comforting embrace of our reconstructed ''pho''; Vegetarian Dumpling Soup. This delightful dish combines a fragrant, hearty vegetable broth with plump, handmade dumplings that burst with flavor. The dumplings are filled with a medley of finely chopped vegetables, offering a satisfying, savory bite with each spoonful. Tender, simmered vegetables float gracefully in the aromatic broth, creating a nourishing and soul-warming experience. Topped with a sprinkle of fresh herbs, this soup is a celebration of wholesome goodness, a perfect harmony of taste and texture for vegetarians and soup lovers alike.', 'pho', 12.24, '/images/food/pho_2.jpg', 1);
+INSERT IGNORE INTO menu_item (id, name, description, category, price, imageurl, available) VALUES (14, 'Coconut-Curry Lobster Dumpling Soup', 'Savor the exotic flavors of our Coconut-Curry Lobster Dumpling Soup, a culinary masterpiece that takes your taste buds on a journey to paradise. A rich, velvety coconut-curry broth forms the luxurious base, infused with the fragrant spices of the East. Nestled within this aromatic elixir are succulent lobster dumplings, each bite revealing tender, perfectly cooked lobster meat wrapped in delicate dumpling skin. Alongside, you''ll find baby potatoes, soft and creamy, providing a comforting contrast to the bold flavors of the soup. This dish is a harmonious blend of indulgence and sophistication, a true celebration of the sea and global culinary inspiration in every luscious spoonful.', 'pho', 10, '/images/food/pho_3.jpg', 1);
+
+-- Orders Table
+INSERT IGNORE INTO orders (id, userid, ordertime, pickuptime, area, location, tax, tip, pan, expiry_month, expiry_year, status) VALUES (1001, 3, '2024-08-01 11:42:25', '2024-08-01 11:51:47', 'Theater 1', 'Table 37', 5.33, 12.93, '4026664388908977', 9, 2028, 'completed');
+INSERT IGNORE INTO orders (id, userid, ordertime, pickuptime, area, location, tax, tip, pan, expiry_month, expiry_year, status) VALUES (1002, 3, '2024-08-02 12:00:00', NULL, 'Theater 1', 'Table 32', 1.01, 2.46, '5182958648591491', 5, 2024, 'problem');
+INSERT IGNORE INTO orders (id, userid, ordertime, pickuptime, area, location, tax, tip, pan, expiry_month, expiry_year, status) VALUES (1003, 3, '2024-08-03 13:00:00', NULL, 'Theater 1', 'Table 33', 2.17, 5.26, '201447805801057', 9, 2026, 'readyForGuest');
+INSERT IGNORE INTO orders (id, userid, ordertime, pickuptime, area, location, tax, tip, pan, expiry_month, expiry_year, status) VALUES (1004, 3, '2024-08-04 14:00:00', NULL, 'Theater 1', 'Table 16', 4.94, 11.99, '5137069438784126', 8, 2027, 'readyForGuest');
+INSERT IGNORE INTO orders (id, userid, ordertime, pickuptime, area, location, tax, tip, pan, expiry_month, expiry_year, status) VALUES (1005, 3, '2024-08-05 15:00:00', NULL, 'Theater 1', 'Table 34', 3.52, 8.53, '30004888442197', 2, 2026, 'new');
+
+-- Items Table
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (1, 1001, 4, 5.1, 'Nora', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (2, 1001, 2, 10.74, 'Carlos', 'Ci mawone icafo nujuluk sivpa muksuco menur agabucen tom marbofzu cune nure fizo.');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (3, 1001, 14, 14.55, 'Timothy', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (4, 1001, 14, 14.55, 'Harriet', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (5, 1001, 7, 4.58, 'Jeff', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (6, 1001, 13, 14.31, 'Hannah', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (7, 1002, 1, 12.29, 'Ethel', 'Obe woca zu elu tuz ge pepatdo caruhe goc kaguwtij refo toniroj jav uneigi.');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (8, 1003, 11, 10.25, 'Edna', 'Wic ojfag foghaval mossoh ga ve osnuz fevu jek vuw ez pu reopele hemcal gi.');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (9, 1003, 11, 10.85, 'Sara', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (10, 1003, 7, 4.58, 'Noah', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (11, 1004, 14, 14.55, 'Lena', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (12, 1004, 2, 12.29, 'Mary', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (13, 1004, 10, 9.39, 'Cecilia', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (14, 1004, 10, 10.39, 'Maud', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (15, 1004, 13, 14.31, 'Linnie', 'Hefzeku kigle ekdovhub kuhihufaj jaw zavijnob sedow ge ze egupurag ursehu roole.');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (16, 1005, 10, 9.39, 'Belle', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (17, 1005, 12, 5.42, 'Lawrence', 'Vegot heversa cuzwode piwbilaha vem wirapo edoguc hev cuki ha gisor cupzib.');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (18, 1005, 9, 4.55, 'Floyd', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (19, 1005, 13, 14.31, 'Jon', '');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (20, 1005, 9, 5.51, 'Eleanor', 'Hakbate kimursi jazkin anes gudkili guh azo cebire jazeki covtu mob fopaz ozki iwu so.');
+INSERT IGNORE INTO item (id, orderid, itemid, price, firstname, notes) VALUES (21, 1005, 9, 4.51, 'Hunter', '');
+
+-- Films Table
+INSERT IGNORE INTO film (id, title, homepage, overview, posterpath, runtime, tagline, popularity, imdbid, voteaverage, votecount) VALUES (1, 'Chunnel', 'http://chunnelmovie.com', 'Illuminating the darkest depths of international intrigue and personal sacrifice, ''Chunnel'' takes you on a heart-pounding journey through the underbelly of the world''s most vital tunnel. When a mysterious explosion rocks the Chunnel, trapping the U.S. President''s daughter inside, the race against time begins. As rescuers tunnel their way through the wreckage, they unearth a web of conspiracies that threaten to reshape global politics. Unraveling the layers of deception becomes a gripping chess game, where every move could mean life or death. ''Chunnel'' is not just a pulse-pounding thriller; it''s a masterclass in suspense, leaving audiences at the edge of their seats, guessing until the final revelation. Get ready for a cinematic ride that will have you questioning alliances, unraveling secrets, and redefining the limits of human determination. The Chunnel holds more than just passengers; it harbors a tale of deception, bravery, and the resilience of the human spirit. Don''t miss the tunnel of twists and turns that is ''Chunnel.''', '/images/posters/1.jpg', 0, 'There''s a war 100 meters below the English Channel', 7.1, 'tt0137523', 6.2, 52);
+INSERT IGNORE INTO film (id, title, homepage, overview, posterpath, runtime, tagline, popularity, imdbid, voteaverage, votecount) VALUES (2, 'Prognosis Negative', 'http://prognosisnegative.com', 'In a world on the brink of medical revolution, ''Prognosis Negative'' delves into the moral complexities of a groundbreaking discovery. Dr. Michael Thornton, a brilliant but tormented scientist, grapples with the weight of his own creation—a miracle cure that could change the course of human history. As the pressure mounts to test the cure on a grand scale, Dr. Thornton faces an agonizing dilemma: should he risk the uncharted territory of human trials, even if it means putting his own family in the line of fire? The boundaries between professional duty and personal responsibility blur as the doctor''s internal struggle unfolds onscreen, creating a gripping narrative that challenges our understanding of ethics, sacrifice, and the pursuit of scientific advancement. ''Prognosis Negative'' is not just a medical thriller; it''s a moral odyssey that forces audiences to confront the choices we make in the name of progress. Prepare for a cinematic journey that will keep you questioning the very fabric of human morality. The cure may be a miracle, but the cost may be too high. Are you ready for the prognosis?', '/images/posters/2.jpg', 0, 'How far will a man go to find a cure?', 8.3, 'tt0137523', 9.3, 822);
+INSERT IGNORE INTO film (id, title, homepage, overview, posterpath, runtime, tagline, popularity, imdbid, voteaverage, votecount) VALUES (3, 'Checkmate', 'http://paramount.com/checkmatemovie', 'Prepare for a riveting game of strategy, power, and survival in ''Checkmate.'' As the chessboard of life unfolds, our enigmatic king finds himself facing real-life checkmate, with danger lurking around every corner. Delve into a world where the lines between the game of kings and the game of life blur, and the stakes are higher than ever. In this thrilling dialogue-packed cinematic experience, witness the tension rise as the king confronts the harsh reality that the rules of the game may not be so different from the rules of his own kingdom. With everyone gunning for the throne, ''Checkmate'' is a pulse-pounding journey that will have you questioning every move on and off the board. Can the king navigate the treacherous landscape and emerge victorious, or is checkmate inevitable? Get ready for a cinematic masterpiece that plays with the mind and keeps you on the edge of your seat until the very last move.', '/images/posters/3.jpg', 0, 'Being the king is not a game... or is it?', 3.3, 'tt0137523', 3.9, 98);
+INSERT IGNORE INTO film (id, title, homepage, overview, posterpath, runtime, tagline, popularity, imdbid, voteaverage, votecount) VALUES (4, 'Death Blow', 'http://deathblowmovie.com', 'Get ready for a high-octane, adrenaline-fueled ride back to the thrilling era of the ''80s in ''Death Blow.'' When the line between friend and foe is as blurry as a neon-lit cityscape, Adam, an amnesia-stricken patient harboring government secrets, becomes the epicenter of a Cold War showdown. Enter John Rock, the only man standing between Adam and a lethal game of cat and mouse with the Soviets. As the clock ticks down, the race against time intensifies, weaving a web of suspense, intrigue, and explosive action that will leave you breathless. In a world where trust is a rare commodity and danger lurks in every shadow, ''Death Blow'' takes you on a retro rollercoaster of espionage and survival. Can John Rock outmaneuver the forces determined to silence Adam, or will the secrets be lost to the winds of time? Buckle up for a cinematic experience that''s as relentless as the ticking of the clock—because in the game of survival, every second counts.', '/images/posters/4.jpg', 0, 'They''re after you', 9.2, 'tt0137523', 8.7, 721);
+INSERT IGNORE INTO film (id, title, homepage, overview, posterpath, runtime, tagline, popularity, imdbid, voteaverage, votecount) VALUES (5, 'Blimp', 'http://sonypictures/blimp', 'Experience the harrowing tale of humanity against the backdrop of one of the most infamous moments in aviation history with ''Blimp.'' This gripping docu-drama takes you on the maiden voyage of the ill-fated Hindenburg, where the lives of five passengers become intertwined in the face of impending disaster. As the colossal blimp soars through the skies, tensions rise, secrets unravel, and destinies collide. The meticulous attention to historical detail immerses audiences in the heart-wrenching reality of the Hindenburg tragedy. ''Blimp'' is not just a reenactment; it''s an emotional journey that explores the fragility of life, the resilience of the human spirit, and the enduring mysteries surrounding that fateful day. Brace yourself for a cinematic experience that will take you back in time and leave you on the edge of your seat as the story unfolds with the weight of history. Oh, the humanity!', '/images/posters/5.jpg', 0, 'The original disaster movie', 1.4, 'tt0137523', 2.2, 312);
+INSERT IGNORE INTO film (id, title, homepage, overview, posterpath, runtime, tagline, popularity, imdbid, voteaverage, votecount) VALUES (6, 'Sack Lunch', 'http://sacklunch.com', 'Get ready for a hilarious ride with ''Sack Lunch,'' a comedy that dives into the uproarious world of the McIntyre family. Charles, the engineer, faces workplace absurdities, Joy, the nurse, deals with medical mayhem, and their kids, Kitty and Mac, navigate the quirks of school life. As they embark on what should be a simple journey to a church potluck supper, their day turns into a sidesplitting series of unexpected twists. Workplace antics, medical mishaps, and school shenanigans collide in this lighthearted comedy that proves laughter is the best remedy. Join the McIntyre family for a feel-good adventure that celebrates the humor in life''s unpredictability. ''Sack Lunch''—because sometimes the strangest days make for the best stories!', '/images/posters/6.jpg', 0, 'Pack in the fun', 7.5, 'tt0137523', 7.3, 42);
@@ -0,0 +1,10 @@
+-- Secondary indexes for the repository queries
+
+-- ItemRepository.findByOrderid / deleteByOrderid
+CREATE INDEX IF NOT EXISTS idx_item_orderid ON item (orderid);
+
+-- OrderRepository.findByUserid
+CREATE INDEX IF NOT EXISTS idx_orders_userid ON orders (userid);
+
+-- Kitchen/status views filtering on status and ordering by ordertime
+CREATE INDEX IF NOT EXISTS idx_orders_status_ordertime ON orders (status, ordertime);
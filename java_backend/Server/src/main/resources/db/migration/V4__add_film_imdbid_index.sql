@@ -0,0 +1,2 @@
+-- FilmRepository.findByImdbidIn: the bulk film import upserts by imdbid
+CREATE INDEX IF NOT EXISTS idx_film_imdbid ON film (imdbid);
@@ -0,0 +1,2 @@
+-- OrderRepository.streamExportRows: the order export filters and orders by ordertime
+CREATE INDEX IF NOT EXISTS idx_orders_ordertime ON orders (ordertime);
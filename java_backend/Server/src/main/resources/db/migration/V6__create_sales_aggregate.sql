@@ -0,0 +1,10 @@
+-- Running totals maintained by SalesAnalyticsService (revenue per day, location and category,
+-- item popularity, orders per pickup slot). Backfilled from orders/items on first use when empty.
+CREATE TABLE IF NOT EXISTS sales_aggregate (
+    dimension     VARCHAR(32)  NOT NULL,
+    bucket        VARCHAR(512) NOT NULL,
+    order_count   BIGINT       NOT NULL,
+    quantity      BIGINT       NOT NULL,
+    revenue_cents BIGINT       NOT NULL,
+    PRIMARY KEY (dimension, bucket)
+);
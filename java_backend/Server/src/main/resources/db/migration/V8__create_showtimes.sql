@@ -0,0 +1,26 @@
+-- Screenings and their sold seats. Seat holds are kept in memory by SeatInventoryService;
+-- only confirmed seats are written here, one row per seat.
+CREATE TABLE IF NOT EXISTS showtime (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    filmid      BIGINT       NOT NULL,
+    starttime   DATETIME(6)  NOT NULL,
+    theater     VARCHAR(255) NOT NULL,
+    seatrows    INTEGER      NOT NULL,
+    seatsperrow INTEGER      NOT NULL,
+    version     BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+-- ShowtimeRepository.findByFilmidAndStarttimeAfterOrderByStarttimeAsc
+CREATE INDEX IF NOT EXISTS idx_showtime_filmid_starttime ON showtime (filmid, starttime);
+
+CREATE TABLE IF NOT EXISTS seat_booking (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    showtimeid BIGINT      NOT NULL,
+    seat       VARCHAR(8)  NOT NULL,
+    userid     BIGINT      NOT NULL,
+    orderid    BIGINT,
+    bookedat   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_seat_booking_seat UNIQUE (showtimeid, seat)
+);
@@ -0,0 +1,2 @@
+-- Stock-tracked menu items (MenuStockService); NULL means the item is not tracked
+ALTER TABLE menu_item ADD COLUMN IF NOT EXISTS stock INTEGER;
@@ -0,0 +1,230 @@
+package com.daam.server.admission;
+
+import com.daam.server.auth.SessionAuthInterceptor;
+import com.daam.server.exception.TooManyRequestsException;
+import com.daam.server.service.SessionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdmissionControlTests {
+
+    private static final long TARGET_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private static AdmissionControl admissionControl(Map<String, AdmissionControl.UserRate> userRates) {
+        return new AdmissionControl(Map.of(
+                "orders", new AdaptiveConcurrencyLimit(1, 3, TARGET_LATENCY_NANOS),
+                "items", new AdaptiveConcurrencyLimit(1, 2, TARGET_LATENCY_NANOS),
+                "imports", new AdaptiveConcurrencyLimit(1, 1, TARGET_LATENCY_NANOS)), 1, userRates);
+    }
+
+    private static MockHttpServletRequest request(Long sessionUserid, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.setRemoteAddr(remoteAddress);
+        if (sessionUserid != null) {
+            request.setAttribute(SessionAuthInterceptor.SESSION_ATTRIBUTE, new SessionService.Session(
+                    sessionUserid, "user" + sessionUserid, "ROLE_USER", new Timestamp(System.currentTimeMillis() + 60_000)));
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("Test a user over the group's burst is turned away with a Retry-After while other users get in")
+    public void givenUserOverBurst_whenAdmitUser_thenTooManyRequestsForThatUserOnly() {
+        // given
+        AdmissionControl admissionControl = admissionControl(Map.of("orders", new AdmissionControl.UserRate(0.5, 3)));
+        for (int i = 0; i < 3; i++) {
+            admissionControl.admitUser("orders", request(3L, "10.0.0.1"));
+        }
+
+        // when / then
+        assertThatThrownBy(() -> admissionControl.admitUser("orders", request(3L, "10.0.0.2")))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(2));
+        admissionControl.admitUser("orders", request(4L, "10.0.0.1"));
+        admissionControl.admitUser("items", request(3L, "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Test requests without a session are not rate limited, however many share a remote address")
+    public void givenNoSession_whenAdmitUser_thenNotLimited() {
+        // given: the UI's server calls on behalf of every anonymous customer from one address
+        AdmissionControl admissionControl = admissionControl(Map.of("orders", new AdmissionControl.UserRate(0.5, 1)));
+
+        // when / then
+        for (int i = 0; i < 20; i++) {
+            admissionControl.admitUser("orders", request(null, "10.0.0.1"));
+        }
+        admissionControl.admitUser("orders", request(3L, "10.0.0.1"));
+        assertThatThrownBy(() -> admissionControl.admitUser("orders", request(3L, "10.0.0.1")))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("user 3");
+    }
+
+    @Test
+    @DisplayName("Test a user's bucket refills over time and is dropped once full")
+    public void givenDrainedBucket_whenTimePasses_thenRefilledAndSwept() throws InterruptedException {
+        // given
+        AdmissionControl admissionControl = admissionControl(Map.of("seats", new AdmissionControl.UserRate(50, 1)));
+        admissionControl.admitUser("seats", request(3L, "10.0.0.1"));
+        assertThatThrownBy(() -> admissionControl.admitUser("seats", request(3L, "10.0.0.1"))).isInstanceOf(TooManyRequestsException.class);
+
+        // when
+        Thread.sleep(50);
+        admissionControl.sweepIdleBuckets();
+
+        // then
+        admissionControl.admitUser("seats", request(3L, "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Test under concurrent load each group's interceptor admits up to its own limit and no more")
+    public void givenConcurrentWritesInEveryGroup_whenIntercepted_thenEachGroupHeldToItsLimit() throws Exception {
+        // given: 30 writers per group hold their slot until released
+        AdmissionControl admissionControl = admissionControl(Map.of());
+        Map<String, Integer> limits = Map.of("orders", 3, "items", 2, "imports", 1);
+        Map<String, AtomicInteger> running = Map.of("orders", new AtomicInteger(), "items", new AtomicInteger(), "imports", new AtomicInteger());
+        Map<String, AtomicInteger> peak = Map.of("orders", new AtomicInteger(), "items", new AtomicInteger(), "imports", new AtomicInteger());
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService writers = Executors.newFixedThreadPool(90);
+        List<Future<Integer>> results = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (String group : limits.keySet()) {
+            AdmissionInterceptor interceptor = new AdmissionInterceptor(admissionControl, group);
+            for (int i = 0; i < 30; i++) {
+                results.add(writers.submit(write(interceptor, start, release, running.get(group), peak.get(group))));
+            }
+        }
+
+        // when
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (results.stream().filter(Future::isDone).count() < 90 - 6 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        int admitted = 0;
+        for (Future<Integer> result : results) {
+            int status = result.get(5, TimeUnit.SECONDS);
+            if (status == HttpStatus.OK.value()) {
+                admitted++;
+            } else {
+                assertThat(status).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+            }
+        }
+        writers.shutdown();
+
+        // then
+        assertThat(admitted).isEqualTo(6);
+        limits.forEach((group, limit) -> assertThat(peak.get(group).get()).as(group).isEqualTo(limit));
+    }
+
+    @Test
+    @DisplayName("Test slow writes through the interceptor shrink only their own group's limit")
+    public void givenSlowOrderWrites_whenIntercepted_thenOnlyOrderLimitBacksOff() throws Exception {
+        // given
+        AdmissionControl admissionControl = new AdmissionControl(Map.of(
+                "orders", new AdaptiveConcurrencyLimit(1, 3, TimeUnit.MILLISECONDS.toNanos(20)),
+                "items", new AdaptiveConcurrencyLimit(1, 2, TimeUnit.MILLISECONDS.toNanos(20))), 1, Map.of());
+        AdmissionInterceptor orders = new AdmissionInterceptor(admissionControl, "orders");
+        AdmissionInterceptor items = new AdmissionInterceptor(admissionControl, "items");
+
+        // when
+        handle(orders, 50);
+        handle(items, 0);
+
+        // then
+        assertThat(admissionControl.getWriteLimit("orders")).isEqualTo(2);
+        assertThat(admissionControl.getWriteLimit("items")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test the write limit backs off when writes get slow and grows back when they are fast again")
+    public void givenSlowThenFastWrites_whenReleased_thenLimitFollowsLatency() {
+        // given
+        AdaptiveConcurrencyLimit writeLimit = new AdaptiveConcurrencyLimit(2, 8, TARGET_LATENCY_NANOS);
+        assertThat(writeLimit.getLimit()).isEqualTo(8);
+
+        // when
+        assertThat(writeLimit.tryAcquire()).isTrue();
+        writeLimit.release(TARGET_LATENCY_NANOS * 4);
+        int backedOff = writeLimit.getLimit();
+        for (int i = 0; i < 200; i++) {
+            int slots = writeLimit.getLimit();
+            for (int j = 0; j < slots; j++) {
+                assertThat(writeLimit.tryAcquire()).isTrue();
+            }
+            assertThat(writeLimit.tryAcquire()).isFalse();
+            for (int j = 0; j < slots; j++) {
+                writeLimit.release(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+        }
+
+        // then
+        assertThat(backedOff).isEqualTo(7);
+        assertThat(writeLimit.getLimit()).isEqualTo(8);
+        assertThat(writeLimit.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test the write limit never drops below its minimum")
+    public void givenSustainedSlowWrites_whenReleased_thenLimitStopsAtMinimum() {
+        // given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 8, 0);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(TimeUnit.SECONDS.toNanos(1));
+        }
+
+        // then
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    // One write through the interceptor: preHandle, hold the slot until released, afterCompletion
+    private static Callable<Integer> write(AdmissionInterceptor interceptor, CountDownLatch start, CountDownLatch release,
+                                           AtomicInteger running, AtomicInteger peak) {
+        return () -> {
+            start.await();
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            if (!interceptor.preHandle(request, response, null)) {
+                return response.getStatus();
+            }
+            try {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                release.await();
+                running.decrementAndGet();
+                return HttpStatus.OK.value();
+            } finally {
+                interceptor.afterCompletion(request, response, null, null);
+            }
+        };
+    }
+
+    private static void handle(AdmissionInterceptor interceptor, long millis) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        Thread.sleep(millis);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+}
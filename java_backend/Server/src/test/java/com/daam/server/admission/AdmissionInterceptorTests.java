@@ -0,0 +1,230 @@
+package com.daam.server.admission;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// The interceptors and limits are the ones AdmissionConfig registers with its defaults; the pool is
+// a real Hikari pool of the configured size on H2
+@WebMvcTest(AdmissionInterceptorTests.PooledController.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AdmissionInterceptorTests {
+
+    private static final int POOL_SIZE = 14;
+    // Hikari's shortest connection timeout; a read that waits longer gives up
+    private static final long READ_BOUND_MILLIS = 250;
+    private static final int WRITERS_PER_GROUP = 8;
+
+    // One write endpoint per group, with the group's default max-concurrency
+    private static final Map<String, Integer> GROUP_LIMITS = Map.of(
+            "/api/orders", 3,
+            "/api/items/order/1001", 2,
+            "/api/showtimes/1/holds/h1/confirm", 1,
+            "/api/kitchen/orders/1/claim", 2,
+            "/api/films/import", 1,
+            "/api/menuitems", 3);
+    private static final int ADMITTED = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PooledController controller;
+
+    private ExecutorService writers;
+
+    @BeforeEach
+    void setUp() {
+        writers = Executors.newFixedThreadPool(GROUP_LIMITS.size() * WRITERS_PER_GROUP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.writesDone.countDown();
+        writers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test reads stay fast while every write group is saturated, each group admitting up to its own limit")
+    public void givenSaturatingWritesInEveryGroup_whenReading_thenReadsStayUnderBoundAndEachGroupHeldToItsLimit() throws Exception {
+        // given
+        Map<String, List<Future<MvcResult>>> writes = new HashMap<>();
+        GROUP_LIMITS.keySet().forEach(path -> writes.put(path, startWrites(mockMvc, post(path), WRITERS_PER_GROUP)));
+        int total = GROUP_LIMITS.size() * WRITERS_PER_GROUP;
+        awaitUntil(() -> controller.pool.getHikariPoolMXBean().getActiveConnections() == ADMITTED
+                && writes.values().stream().flatMap(List::stream).filter(Future::isDone).count() == total - ADMITTED);
+
+        // when
+        long slowestRead = 0;
+        for (int i = 0; i < 50; i++) {
+            long start = System.nanoTime();
+            MvcResult read = mockMvc.perform(get("/api/menuitems")).andReturn();
+            slowestRead = Math.max(slowestRead, System.nanoTime() - start);
+            assertThat(read.getResponse().getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+        controller.writesDone.countDown();
+
+        // then
+        assertThat(TimeUnit.NANOSECONDS.toMillis(slowestRead)).isLessThan(READ_BOUND_MILLIS);
+        for (Map.Entry<String, List<Future<MvcResult>>> group : writes.entrySet()) {
+            int created = 0;
+            for (Future<MvcResult> write : group.getValue()) {
+                MvcResult result = write.get(5, TimeUnit.SECONDS);
+                if (result.getResponse().getStatus() == HttpStatus.CREATED.value()) {
+                    created++;
+                } else {
+                    assertThat(result.getResponse().getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+                    assertThat(result.getResponse().getHeader("Retry-After")).isEqualTo("1");
+                }
+            }
+            assertThat(created).as(group.getKey()).isEqualTo(GROUP_LIMITS.get(group.getKey()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test a running film import takes no slot from the order writes and a second import is turned away")
+    public void givenRunningImport_whenOrdersArrive_thenOrdersAdmittedAndSecondImportShed() throws Exception {
+        // given
+        List<Future<MvcResult>> imports = startWrites(mockMvc, post("/api/films/import"), 1);
+        awaitUntil(() -> controller.pool.getHikariPoolMXBean().getActiveConnections() == 1);
+
+        // when
+        List<Future<MvcResult>> orders = startWrites(mockMvc, post("/api/orders"), 3);
+        awaitUntil(() -> controller.pool.getHikariPoolMXBean().getActiveConnections() == 4);
+        MvcResult secondImport = mockMvc.perform(post("/api/films/import")).andReturn();
+        controller.writesDone.countDown();
+
+        // then
+        assertThat(secondImport.getResponse().getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(imports.get(0).get(5, TimeUnit.SECONDS).getResponse().getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        for (Future<MvcResult> order : orders) {
+            assertThat(order.get(5, TimeUnit.SECONDS).getResponse().getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        }
+    }
+
+    @Test
+    @DisplayName("Test seat holds are not held to the seats group's write slot")
+    public void givenSeatRush_whenHolding_thenEveryHoldAdmitted() throws Exception {
+        // given
+        List<Future<MvcResult>> holds = startWrites(mockMvc, post("/api/showtimes/1/holds"), WRITERS_PER_GROUP);
+        awaitUntil(() -> controller.pool.getHikariPoolMXBean().getActiveConnections() == WRITERS_PER_GROUP);
+
+        // when
+        controller.writesDone.countDown();
+
+        // then
+        for (Future<MvcResult> hold : holds) {
+            assertThat(hold.get(5, TimeUnit.SECONDS).getResponse().getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        }
+    }
+
+    @Test
+    @DisplayName("Test without admission control the same burst of writes starves reads")
+    public void givenSaturatingWritesWithoutAdmission_whenReading_thenReadTimesOut() throws Exception {
+        // given
+        MockMvc unguarded = MockMvcBuilders.standaloneSetup(controller).build();
+        startWrites(unguarded, post("/api/orders"), GROUP_LIMITS.size() * WRITERS_PER_GROUP);
+        awaitUntil(() -> controller.pool.getHikariPoolMXBean().getActiveConnections() == POOL_SIZE);
+
+        // when
+        MvcResult read = unguarded.perform(get("/api/menuitems")).andReturn();
+
+        // then
+        assertThat(read.getResponse().getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    private List<Future<MvcResult>> startWrites(MockMvc mvc, MockHttpServletRequestBuilder request, int count) {
+        List<Future<MvcResult>> writes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            writes.add(writers.submit(() -> mvc.perform(request).andReturn()));
+        }
+        return writes;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not reached in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    // Writes run a statement and hold their connection until released; reads need one only briefly.
+    // Either gives up with 503 when the pool has none free within READ_BOUND_MILLIS
+    @RestController
+    static class PooledController {
+
+        final HikariDataSource pool;
+        final CountDownLatch writesDone = new CountDownLatch(1);
+
+        PooledController() {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:admission;DB_CLOSE_DELAY=-1");
+            config.setUsername("sa");
+            config.setMaximumPoolSize(POOL_SIZE);
+            config.setConnectionTimeout(READ_BOUND_MILLIS);
+            pool = new HikariDataSource(config);
+        }
+
+        @PreDestroy
+        void close() {
+            pool.close();
+        }
+
+        @PostMapping({"/api/orders", "/api/items/order/{orderid}", "/api/showtimes/{id}/holds", "/api/showtimes/{id}/holds/{holdId}/confirm",
+                "/api/kitchen/orders/{orderId}/claim", "/api/films/import", "/api/menuitems"})
+        ResponseEntity<Void> write() throws InterruptedException {
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("select 1");
+                writesDone.await();
+            } catch (SQLException e) {
+                return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return new ResponseEntity<>(HttpStatus.CREATED);
+        }
+
+        @GetMapping("/api/menuitems")
+        ResponseEntity<String> read() {
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("select 1");
+            } catch (SQLException e) {
+                return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return ResponseEntity.ok("[]");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.daam.server.auth;
+
+import com.daam.server.service.SessionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class SessionAuthInterceptorTests {
+
+    private final SessionService sessionService = mock(SessionService.class);
+
+    @Test
+    @DisplayName("Test a valid bearer token puts its session on the request")
+    public void givenValidToken_whenPreHandle_thenSessionAttributeSet() throws Exception {
+        // given
+        SessionService.Session session = new SessionService.Session(3L, "me", "ROLE_USER", new Timestamp(System.currentTimeMillis() + 60_000L));
+        given(sessionService.authenticate("t0k3n")).willReturn(session);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/user/3");
+        request.addHeader("Authorization", "Bearer t0k3n");
+
+        // when
+        boolean proceed = new SessionAuthInterceptor(sessionService, true).preHandle(request, new MockHttpServletResponse(), null);
+
+        // then
+        assertThat(proceed).isTrue();
+        assertThat(request.getAttribute(SessionAuthInterceptor.SESSION_ATTRIBUTE)).isEqualTo(session);
+    }
+
+    @Test
+    @DisplayName("Test a request without a token is let through unless sessions are required")
+    public void givenNoToken_whenPreHandle_thenUnauthorizedOnlyWhenRequired() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when / then
+        assertThat(new SessionAuthInterceptor(sessionService, false).preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(new SessionAuthInterceptor(sessionService, true).preHandle(request, response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader("WWW-Authenticate")).isEqualTo("Bearer");
+        assertThat(new SessionAuthInterceptor(sessionService, true)
+                .preHandle(new MockHttpServletRequest("OPTIONS", "/api/orders"), new MockHttpServletResponse(), null)).isTrue();
+    }
+}
@@ -0,0 +1,61 @@
+package com.daam.server.controller;
+
+import com.daam.server.dto.SalesBucket;
+import com.daam.server.service.SalesAnalyticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AnalyticsController.class)
+public class AnalyticsControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Test
+    @DisplayName("Test get daily revenue for a date range")
+    public void givenDateRange_whenGetDailyRevenue_thenReturnOneBucketPerDay() throws Exception {
+        // given
+        given(salesAnalyticsService.getDailyRevenue(LocalDate.parse("2025-03-01"), LocalDate.parse("2025-03-02")))
+                .willReturn(List.of(new SalesBucket("2025-03-01", 12, 0, new BigDecimal("431.20")),
+                        new SalesBucket("2025-03-02", 0, 0, new BigDecimal("0.00"))));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/analytics/revenue/daily")
+                .param("from", "2025-03-01")
+                .param("to", "2025-03-02"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].orders", is(12)))
+                .andExpect(jsonPath("$[0].revenue", is(431.20)));
+    }
+
+    @Test
+    @DisplayName("Test get top items with an invalid k - bad request")
+    public void givenInvalidK_whenGetTopItems_thenReturnBadRequest() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/analytics/items/top").param("k", "0"));
+
+        // then
+        response.andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,131 @@
+package com.daam.server.controller;
+
+import com.daam.server.dto.LoginRequest;
+import com.daam.server.dto.LoginResponse;
+import com.daam.server.exception.ServiceUnavailableException;
+import com.daam.server.exception.UnauthorizedException;
+import com.daam.server.service.SessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AuthController.class)
+public class AuthControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private SessionService sessionService;
+
+    @Test
+    @DisplayName("Test login - success")
+    public void givenValidCredentials_whenLogin_thenReturnToken() throws Exception {
+        // given
+        Timestamp expiresAt = new Timestamp(System.currentTimeMillis() + 3_600_000L);
+        given(sessionService.login("me", "secret"))
+                .willReturn(CompletableFuture.completedFuture(new LoginResponse("t0k3n", 3L, "me", "ROLE_USER", expiresAt)));
+
+        // when
+        MvcResult started = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("me", "secret"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(started));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", is("t0k3n")))
+                .andExpect(jsonPath("$.userid", is(3)));
+    }
+
+    @Test
+    @DisplayName("Test login - failure (wrong password)")
+    public void givenWrongPassword_whenLogin_thenReturnUnauthorized() throws Exception {
+        // given
+        given(sessionService.login("me", "wrong"))
+                .willReturn(CompletableFuture.failedFuture(new UnauthorizedException("Invalid username or password")));
+
+        // when
+        MvcResult started = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("me", "wrong"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(started));
+
+        // then
+        response.andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"));
+    }
+
+    @Test
+    @DisplayName("Test login - failure (verification queue full)")
+    public void givenBusyVerifier_whenLogin_thenReturnServiceUnavailable() throws Exception {
+        // given
+        given(sessionService.login("me", "secret"))
+                .willThrow(new ServiceUnavailableException("Too many logins in progress; retry shortly", 1));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("me", "secret"))));
+
+        // then
+        response.andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("Test get the session of a bearer token")
+    public void givenBearerToken_whenGetSession_thenReturnSession() throws Exception {
+        // given
+        given(sessionService.authenticate("t0k3n"))
+                .willReturn(new SessionService.Session(3L, "me", "ROLE_USER", new Timestamp(System.currentTimeMillis() + 3_600_000L)));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/auth/session").header("Authorization", "Bearer t0k3n"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("me")));
+        mockMvc.perform(get("/api/auth/session").header("Authorization", "Bearer expired"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Test logout ends the session")
+    public void givenBearerToken_whenLogout_thenSessionEnded() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer t0k3n"));
+
+        // then
+        response.andExpect(status().isNoContent());
+        then(sessionService).should().logout("t0k3n");
+    }
+}
@@ -1,7 +1,14 @@
 package com.daam.server.controller;
 
+import com.daam.server.dto.FilmImportReport;
+import com.daam.server.dto.FilmSummary;
 import com.daam.server.entity.Film;
 import com.daam.server.repository.FilmRepository;
+import com.daam.server.service.FilmCatalogService;
+import com.daam.server.service.FilmImportFormat;
+import com.daam.server.service.FilmImportService;
+import com.daam.server.service.FilmRanking;
+import com.daam.server.service.SearchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,10 +20,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -31,6 +41,15 @@ public class FilmControllerTests {
     @MockitoBean
     private FilmRepository filmRepository;
 
+    @MockitoBean
+    private SearchService searchService;
+
+    @MockitoBean
+    private FilmCatalogService filmCatalogService;
+
+    @MockitoBean
+    private FilmImportService filmImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -38,7 +57,43 @@ public class FilmControllerTests {
 
     @BeforeEach
     void setUp() {
-        film = new Film(1L, "Chunnel", "http://chunnelmovie.com", null, "Overview here", "/images/posters/1.jpg", 120, "Tagline here", 7.1, "tt0137523", 6.2, 52);
+        film = new Film(1L, "Chunnel", "http://chunnelmovie.com", null, "Overview here", "/images/posters/1.jpg", 120, "Tagline here", 7.1, "tt0137523", 6.2, 52, null);
+    }
+
+    @Test
+    @DisplayName("Test get all films as summaries")
+    public void givenFilmSummaries_whenGetAllFilms_thenReturnSummariesWithoutOverview() throws Exception {
+        // given
+        given(filmRepository.findSummariesByOrderByIdAsc()).willReturn(List.of(
+                new FilmSummary(1L, "Chunnel", null, "/images/posters/1.jpg", 120, "Tagline here", 7.1, "tt0137523", 6.2, 52)));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/films"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].title", is("Chunnel")))
+                .andExpect(jsonPath("$[0].overview").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Test bulk import of a CSV body")
+    public void givenCsvBody_whenImportFilms_thenReturnReport() throws Exception {
+        // given
+        given(filmImportService.importFilms(any(InputStream.class), eq(FilmImportFormat.CSV)))
+                .willReturn(new FilmImportReport(2, 1, 1, 0, 0, List.of(), List.of()));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/films/import")
+                .contentType("text/csv")
+                .content("imdb_id,title\ntt0000001,Chunnel\ntt0000002,Sack Lunch\n"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.inserted", is(1)))
+                .andExpect(jsonPath("$.updated", is(1)));
     }
 
     @Test
@@ -70,4 +125,42 @@ public class FilmControllerTests {
         response.andExpect(status().isCreated())
                 .andExpect(jsonPath("$.title", is(film.getTitle())));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test get top films by rating")
+    public void givenRatingRanking_whenGetTopFilms_thenReturnRankedFilms() throws Exception {
+        // given
+        given(filmCatalogService.getTopFilms(FilmRanking.RATING, 3)).willReturn(List.of(film));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/films/top").param("by", "rating").param("k", "3"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].title", is(film.getTitle())));
+    }
+
+    @Test
+    @DisplayName("Test get top films - unknown ranking")
+    public void givenUnknownRanking_whenGetTopFilms_thenReturnBadRequest() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/films/top").param("by", "length"));
+
+        // then
+        response.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test get top films - an internal IllegalArgumentException is a server error, not a bad request")
+    public void givenInternalIllegalArgument_whenGetTopFilms_thenReturnServerError() throws Exception {
+        // given
+        given(filmCatalogService.getTopFilms(FilmRanking.POPULARITY, 10)).willThrow(new IllegalArgumentException("bad internal state"));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/films/top"));
+
+        // then
+        response.andExpect(status().isInternalServerError());
+    }
+}
@@ -0,0 +1,141 @@
+package com.daam.server.controller;
+
+import com.daam.server.service.ImageService;
+import com.daam.server.service.ImageVariant;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ImageController.class)
+public class ImageControllerTests {
+
+    private static final String HASH = "9f2c";
+    private static final String BYTES = "0123456789abcdefghij";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ImageService imageService;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("card.jpg"), BYTES);
+        given(imageService.resolve("/posters/6.jpg", ImageVariant.CARD))
+                .willReturn(new ImageService.ImageFile(file, MediaType.IMAGE_JPEG, HASH, BYTES.length()));
+    }
+
+    @Test
+    @DisplayName("Test get image returns the whole file with an ETag")
+    public void givenImage_whenGet_thenReturnFileWithValidators() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/images/posters/6.jpg").param("variant", "card"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(content().bytes(BYTES.getBytes(StandardCharsets.US_ASCII)))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"9f2c-card\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+    }
+
+    @Test
+    @DisplayName("Test get image with its content hash is cacheable for a year")
+    public void givenMatchingVersion_whenGet_thenImmutable() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/images/posters/6.jpg").param("variant", "card").param("v", HASH));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    @DisplayName("Test get image with a matching If-None-Match returns 304")
+    public void givenMatchingEtag_whenGet_thenNotModified() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/images/posters/6.jpg").param("variant", "card")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"9f2c-card\""));
+
+        // then
+        response.andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Test get image with a byte range returns 206 with that range")
+    public void givenRange_whenGet_thenPartialContent() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/images/posters/6.jpg").param("variant", "card")
+                .header(HttpHeaders.RANGE, "bytes=5-9"));
+
+        // then
+        response.andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().bytes("56789".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Test get image with a range past the end returns 416")
+    public void givenUnsatisfiableRange_whenGet_thenRangeNotSatisfiable() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/images/posters/6.jpg").param("variant", "card")
+                .header(HttpHeaders.RANGE, "bytes=50-"));
+
+        // then
+        response.andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    @DisplayName("Test get image hands the range to sendfile when the connector supports it")
+    public void givenSendfileSupport_whenGetRange_thenSendfileAttributesSet() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/images/posters/6.jpg").param("variant", "card")
+                .requestAttr(ImageController.SENDFILE_SUPPORTED, Boolean.TRUE)
+                .header(HttpHeaders.RANGE, "bytes=-4"));
+
+        // then
+        response.andExpect(status().isPartialContent())
+                .andExpect(request().attribute(ImageController.SENDFILE_START, 16L))
+                .andExpect(request().attribute(ImageController.SENDFILE_END, 20L))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Test get image returns 404 for an unknown image and 400 for an unknown variant")
+    public void givenUnknownImageOrVariant_whenGet_thenNotFoundOrBadRequest() throws Exception {
+        // given
+        given(imageService.resolve("/posters/99.jpg", ImageVariant.ORIGINAL))
+                .willThrow(new EntityNotFoundException("Image not found: /posters/99.jpg"));
+
+        // when / then
+        mockMvc.perform(get("/api/images/posters/99.jpg")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/images/posters/6.jpg").param("variant", "huge")).andExpect(status().isBadRequest());
+    }
+}
@@ -1,7 +1,10 @@
 package com.daam.server.controller;
 
 import com.daam.server.entity.Item;
+import com.daam.server.event.ItemsRemovedEvent;
+import com.daam.server.exception.ConflictException;
 import com.daam.server.repository.ItemRepository;
+import com.daam.server.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
@@ -17,15 +22,18 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
+@RecordApplicationEvents
 public class ItemControllerTests {
 
     @Autowired
@@ -34,14 +42,20 @@ public class ItemControllerTests {
     @MockitoBean
     private ItemRepository itemRepository;
 
+    @MockitoBean
+    private OrderService orderService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ApplicationEvents events;
+
     private Item item;
 
     @BeforeEach
     void setUp() {
-        item = new Item(1L, 1001L, 4L, 5.10, "Some notes", "Nora");
+        item = new Item(1L, 1001L, 4L, 5.10, "Some notes", "Nora", null);
     }
 
     @Test
@@ -77,7 +91,7 @@ public class ItemControllerTests {
     public void givenItemList_whenAddItemsToOrder_thenReturnSavedItems() throws Exception {
         // given
         List<Item> items = Collections.singletonList(item);
-        given(itemRepository.saveAll(any(List.class))).willReturn(items);
+        given(orderService.addItems(eq(item.getOrderid()), anyList())).willReturn(items);
 
         // when
         ResultActions response = mockMvc.perform(post("/api/items/order/{orderid}", item.getOrderid())
@@ -89,17 +103,36 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("$.size()", is(1)));
     }
 
+    @Test
+    @DisplayName("Test add items to an order - sold out")
+    public void givenSoldOutMenuItem_whenAddItemsToOrder_thenReturnConflict() throws Exception {
+        // given
+        List<Item> items = Collections.singletonList(item);
+        willThrow(new ConflictException("Bison Burger is sold out")).given(orderService).addItems(eq(item.getOrderid()), anyList());
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/items/order/{orderid}", item.getOrderid())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(items)));
+
+        // then
+        response.andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("Test delete all items from an order")
     public void givenOrderId_whenDeleteItemsFromOrder_thenReturnNoContent() throws Exception {
         // given
         long orderId = 1001L;
-        willDoNothing().given(itemRepository).deleteByOrderid(orderId);
+        given(itemRepository.findByOrderid(orderId)).willReturn(Collections.singletonList(item));
+        given(itemRepository.deleteByOrderid(orderId)).willReturn(1);
 
         // when
         ResultActions response = mockMvc.perform(delete("/api/items/order/{orderid}", orderId));
 
         // then
         response.andExpect(status().isNoContent());
+        assertThat(events.stream(ItemsRemovedEvent.class)).singleElement()
+                .satisfies(event -> assertThat(event.items()).containsExactly(item));
     }
 }
\ No newline at end of file
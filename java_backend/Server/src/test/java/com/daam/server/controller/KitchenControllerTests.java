@@ -0,0 +1,98 @@
+package com.daam.server.controller;
+
+import com.daam.server.auth.SessionAuthInterceptor;
+import com.daam.server.dto.KitchenBatch;
+import com.daam.server.dto.KitchenTicket;
+import com.daam.server.exception.ConflictException;
+import com.daam.server.service.KitchenQueueService;
+import com.daam.server.service.SessionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(KitchenController.class)
+public class KitchenControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private KitchenQueueService kitchenQueueService;
+
+    private static final SessionService.Session SERVER1 = new SessionService.Session(4L, "server1", "ROLE_SERVER", new Timestamp(Long.MAX_VALUE));
+    private static final SessionService.Session SERVER2 = new SessionService.Session(5L, "server2", "ROLE_SERVER", new Timestamp(Long.MAX_VALUE));
+
+    @Test
+    @DisplayName("Test get the kitchen batch view")
+    public void givenQueuedOrders_whenGetBatches_thenReturnAggregatedItems() throws Exception {
+        // given
+        given(kitchenQueueService.getBatches()).willReturn(List.of(new KitchenBatch(4L, 3, List.of(1001L, 1002L))));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/kitchen/batches"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemid", is(4)))
+                .andExpect(jsonPath("$[0].quantity", is(3)));
+    }
+
+    @Test
+    @DisplayName("Test claim an order - success")
+    public void givenStaffUser_whenClaimOrder_thenReturnClaimedTicket() throws Exception {
+        // given
+        given(kitchenQueueService.claim(1001L, SERVER1))
+                .willReturn(new KitchenTicket(1001L, 3L, null, "Theater 1", "Table 37", "preparing", 4L, List.of()));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/kitchen/orders/{orderId}/claim", 1001L)
+                .requestAttr(SessionAuthInterceptor.SESSION_ATTRIBUTE, SERVER1));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.claimedBy", is(4)))
+                .andExpect(jsonPath("$.status", is("preparing")));
+    }
+
+    @Test
+    @DisplayName("Test claim an order - already claimed")
+    public void givenClaimedOrder_whenClaimOrder_thenReturnConflict() throws Exception {
+        // given
+        given(kitchenQueueService.claim(1001L, SERVER2)).willThrow(new ConflictException("Order 1001 is already claimed by user 4"));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/kitchen/orders/{orderId}/claim", 1001L)
+                .requestAttr(SessionAuthInterceptor.SESSION_ATTRIBUTE, SERVER2));
+
+        // then
+        response.andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Test claim an order - no session, even with a staff id in the request")
+    public void givenNoSession_whenClaimOrder_thenReturnUnauthorized() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(post("/api/kitchen/orders/{orderId}/claim", 1001L).param("staffId", "4"));
+
+        // then
+        response.andExpect(status().isUnauthorized());
+        then(kitchenQueueService).should(never()).claim(any(), any());
+    }
+}
@@ -1,29 +1,42 @@
 package com.daam.server.controller;
 
+import com.daam.server.dto.MenuItemPatch;
 import com.daam.server.entity.MenuItem;
 import com.daam.server.repository.MenuItemRepository;
+import com.daam.server.service.MenuSnapshotService;
+import com.daam.server.service.MenuStockService;
+import com.daam.server.service.SearchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(MenuItemController.class)
+@Import(MenuSnapshotService.class)
 public class MenuItemControllerTests {
 
     @Autowired
@@ -32,6 +45,15 @@ public class MenuItemControllerTests {
     @MockitoBean
     private MenuItemRepository menuItemRepository;
 
+    @MockitoBean
+    private SearchService searchService;
+
+    @MockitoBean
+    private MenuStockService menuStockService;
+
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -39,7 +61,41 @@ public class MenuItemControllerTests {
 
     @BeforeEach
     void setUp() {
-        menuItem = new MenuItem(1L, "Bison Burger", "A tasty burger", "entrees", 11.54, "/images/food/burger_1.jpg", true);
+        menuItem = new MenuItem(1L, "Bison Burger", "A tasty burger", "entrees", 11.54, "/images/food/burger_1.jpg", true, null, null);
+    }
+
+    @Test
+    @DisplayName("Test get all menu items from the snapshot")
+    public void givenMenuItems_whenGetAllMenuItems_thenReturnSnapshotWithETag() throws Exception {
+        // given
+        given(menuItemRepository.findAll()).willReturn(Collections.singletonList(menuItem));
+        menuSnapshotService.refresh();
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/menuitems"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].name", is(menuItem.getName())));
+    }
+
+    @Test
+    @DisplayName("Test get all menu items - not modified")
+    public void givenMatchingETag_whenGetAllMenuItems_thenReturnNotModified() throws Exception {
+        // given
+        given(menuItemRepository.findAll()).willReturn(Collections.singletonList(menuItem));
+        menuSnapshotService.refresh();
+        String etag = mockMvc.perform(get("/api/menuitems"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/menuitems").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // then
+        response.andExpect(status().isNotModified());
+        verify(menuItemRepository, times(1)).findAll();
     }
 
     @Test
@@ -83,12 +139,43 @@ public class MenuItemControllerTests {
                 .andExpect(jsonPath("$.name", is(menuItem.getName())));
     }
 
+    @Test
+    @DisplayName("Test restock a menu item with a patch")
+    public void givenStock_whenPatchMenuItem_thenStockCounterReset() throws Exception {
+        // given
+        menuItem.setStock(40);
+        given(menuItemRepository.patch(eq(menuItem.getId()), isNull(), any(MenuItemPatch.class))).willReturn(1);
+        given(menuItemRepository.findById(menuItem.getId())).willReturn(Optional.of(menuItem));
+
+        // when
+        ResultActions response = mockMvc.perform(patch("/api/menuitems/{id}", menuItem.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"stock\": 40}"));
+
+        // then
+        response.andExpect(status().isNoContent());
+        verify(menuStockService).onMenuItemSaved(menuItem);
+        verify(searchService, never()).indexMenuItem(any(MenuItem.class));
+    }
+
+    @Test
+    @DisplayName("Test patch a menu item with negative stock - bad request")
+    public void givenNegativeStock_whenPatchMenuItem_thenReturnBadRequest() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(patch("/api/menuitems/{id}", menuItem.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"stock\": -1}"));
+
+        // then
+        response.andExpect(status().isBadRequest());
+        verify(menuItemRepository, never()).patch(any(), any(), any(MenuItemPatch.class));
+    }
+
     @Test
     @DisplayName("Test delete a menu item - success")
     public void givenMenuItemId_whenDeleteMenuItem_thenReturnNoContent() throws Exception {
         // given
-        given(menuItemRepository.existsById(menuItem.getId())).willReturn(true);
-        willDoNothing().given(menuItemRepository).deleteById(menuItem.getId());
+        given(menuItemRepository.removeById(menuItem.getId())).willReturn(1);
 
         // when
         ResultActions response = mockMvc.perform(delete("/api/menuitems/{id}", menuItem.getId()));
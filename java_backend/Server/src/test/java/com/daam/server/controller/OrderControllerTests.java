@@ -1,8 +1,23 @@
 package com.daam.server.controller;
 
+import com.daam.server.admission.AdmissionControl;
+import com.daam.server.dto.CheckoutRequest;
+import com.daam.server.dto.CheckoutResponse;
+import com.daam.server.dto.OrderDetail;
+import com.daam.server.dto.OrderDetailItem;
+import com.daam.server.dto.OrderPatch;
+import com.daam.server.dto.OrderSummary;
+import com.daam.server.entity.Item;
 import com.daam.server.entity.Order;
+import com.daam.server.event.OrderUpdatedEvent;
+import com.daam.server.exception.TooManyRequestsException;
 import com.daam.server.repository.OrderRepository;
+import com.daam.server.service.OrderEventHub;
+import com.daam.server.service.OrderExportFormat;
+import com.daam.server.service.OrderExportService;
+import com.daam.server.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,22 +25,40 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
+@RecordApplicationEvents
 public class OrderControllerTests {
 
     @Autowired
@@ -34,14 +67,29 @@ public class OrderControllerTests {
     @MockitoBean
     private OrderRepository orderRepository;
 
+    @MockitoBean
+    private OrderService orderService;
+
+    @MockitoBean
+    private OrderEventHub orderEventHub;
+
+    @MockitoBean
+    private OrderExportService orderExportService;
+
+    @MockitoSpyBean
+    private AdmissionControl admissionControl;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ApplicationEvents events;
+
     private Order order;
 
     @BeforeEach
     void setUp() {
-        order = new Order(1001L, 3L, new Timestamp(System.currentTimeMillis()), null, "Theater 1", "Table 37", 5.33, 12.93, "4026...", 9, 2028, "completed");
+        order = new Order(1001L, 3L, new Timestamp(System.currentTimeMillis()), null, "Theater 1", "Table 37", 5.33, 12.93, "4026...", 9, 2028, "completed", null);
     }
 
     @Test
@@ -61,22 +109,25 @@ public class OrderControllerTests {
     @DisplayName("Test get orders by user ID")
     public void givenUserId_whenGetOrdersByUserId_thenReturnOrderList() throws Exception {
         // given
-        List<Order> orders = Collections.singletonList(order);
-        given(orderRepository.findByUserid(order.getUserid())).willReturn(orders);
+        List<OrderSummary> orders = Collections.singletonList(new OrderSummary(order.getId(), order.getUserid(),
+                order.getOrdertime(), null, order.getArea(), order.getLocation(), order.getTax(), order.getTip(), order.getStatus()));
+        given(orderRepository.findSummariesByUserid(order.getUserid())).willReturn(orders);
 
         // when
         ResultActions response = mockMvc.perform(get("/api/orders/user/{userid}", order.getUserid()));
 
         // then
         response.andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()", is(1)));
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].area", is(order.getArea())))
+                .andExpect(jsonPath("$[0].pan").doesNotExist());
     }
 
     @Test
     @DisplayName("Test create a new order")
     public void givenOrderObject_whenCreateOrder_thenReturnSavedOrder() throws Exception {
         // given
-        given(orderRepository.save(any(Order.class)))
+        given(orderService.createOrder(any(Order.class)))
                 .willAnswer((invocation) -> invocation.getArgument(0));
 
         // when
@@ -88,4 +139,178 @@ public class OrderControllerTests {
         response.andExpect(status().isCreated())
                 .andExpect(jsonPath("$.area", is(order.getArea())));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test create a new order - user over their rate")
+    public void givenUserOverRate_whenCreateOrder_thenReturnTooManyRequests() throws Exception {
+        // given
+        willThrow(new TooManyRequestsException("Too many requests from user 3; retry shortly", 2))
+                .given(admissionControl).admitUser(eq("orders"), any(HttpServletRequest.class));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(order)));
+
+        // then
+        response.andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+        then(orderService).should(never()).createOrder(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Test checkout an order with its items")
+    public void givenCheckoutRequest_whenCheckout_thenReturnSavedOrderAndItems() throws Exception {
+        // given
+        List<Item> items = Collections.singletonList(new Item(null, null, 4L, 5.10, "Some notes", "Nora", null));
+        given(orderService.checkout(any(Order.class), anyList()))
+                .willReturn(new CheckoutResponse(order, Collections.singletonList(new Item(1L, order.getId(), 4L, 5.10, "Some notes", "Nora", null))));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/orders/checkout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CheckoutRequest(order, items))));
+
+        // then
+        response.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.order.id", is(1001)))
+                .andExpect(jsonPath("$.items.size()", is(1)))
+                .andExpect(jsonPath("$.items[0].orderid", is(1001)));
+    }
+
+    @Test
+    @DisplayName("Test get order detail with items and menu metadata")
+    public void givenOrderId_whenGetOrderDetail_thenReturnOrderItemsAndTotals() throws Exception {
+        // given
+        OrderDetailItem detailItem = new OrderDetailItem(1L, order.getId(), 4L, 5.10, "Some notes", "Nora", "Frisco Burger", "/images/food/burger_4.jpg", "entrees");
+        given(orderService.getOrderDetail(order.getId()))
+                .willReturn(new OrderDetail(order, Collections.singletonList(detailItem), 5.10, 23.36));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/orders/{id}/full", order.getId()));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.order.id", is(1001)))
+                .andExpect(jsonPath("$.items[0].menuItemName", is("Frisco Burger")))
+                .andExpect(jsonPath("$.total", is(23.36)));
+    }
+
+    @Test
+    @DisplayName("Test update order status publishes the change with the previous status")
+    public void givenStatusChange_whenUpdateOrder_thenPublishStatusEvent() throws Exception {
+        // given
+        Order updatedOrder = new Order(order.getId(), order.getUserid(), order.getOrdertime(), null, "Theater 1", "Table 37", 5.33, 12.93, "4026...", 9, 2028, "readyForGuest", null);
+        given(orderRepository.findById(order.getId())).willReturn(Optional.of(order));
+        given(orderRepository.save(any(Order.class)))
+                .willAnswer((invocation) -> invocation.getArgument(0));
+
+        // when
+        ResultActions response = mockMvc.perform(put("/api/orders/{id}", order.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedOrder)));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("readyForGuest")));
+        assertThat(events.stream(OrderUpdatedEvent.class)).singleElement().satisfies(event -> {
+            assertThat(event.previous().getStatus()).isEqualTo("completed");
+            assertThat(event.order().getStatus()).isEqualTo("readyForGuest");
+        });
+    }
+
+    @Test
+    @DisplayName("Test patch order status runs one conditional update and publishes the change")
+    public void givenStatusPatch_whenPatchOrder_thenUpdateAndPublish() throws Exception {
+        // given
+        order.setVersion(2L);
+        given(orderRepository.findById(order.getId())).willReturn(Optional.of(order));
+        given(orderRepository.patch(eq(order.getId()), eq(2L), any(OrderPatch.class))).willReturn(1);
+
+        // when
+        ResultActions response = mockMvc.perform(patch("/api/orders/{id}", order.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"readyForGuest\", \"version\": 2}"));
+
+        // then
+        response.andExpect(status().isNoContent());
+        then(orderRepository).should(never()).save(any(Order.class));
+        assertThat(events.stream(OrderUpdatedEvent.class)).singleElement().satisfies(event -> {
+            assertThat(event.statusChanged()).isTrue();
+            assertThat(event.previous().getStatus()).isEqualTo("completed");
+            assertThat(event.order().getVersion()).isEqualTo(3L);
+        });
+    }
+
+    @Test
+    @DisplayName("Test patch order with a stale version returns 409 and changes nothing")
+    public void givenStaleVersion_whenPatchOrder_thenReturnConflict() throws Exception {
+        // given
+        order.setVersion(3L);
+        given(orderRepository.findById(order.getId())).willReturn(Optional.of(order));
+
+        // when
+        ResultActions response = mockMvc.perform(patch("/api/orders/{id}", order.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"cancelled\", \"version\": 2}"));
+
+        // then
+        response.andExpect(status().isConflict());
+        then(orderRepository).should(never()).patch(any(), any(), any(OrderPatch.class));
+        assertThat(events.stream(OrderUpdatedEvent.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test delete order removes it with its items")
+    public void givenOrderId_whenDeleteOrder_thenReturnNoContent() throws Exception {
+        // given
+        List<Item> items = Collections.singletonList(new Item(1L, order.getId(), 4L, 5.10, "Some notes", "Nora", 0L));
+        given(orderService.deleteOrder(order.getId())).willReturn(new OrderService.RemovedOrder(order, items));
+
+        // when
+        ResultActions response = mockMvc.perform(delete("/api/orders/{id}", order.getId()));
+
+        // then
+        response.andExpect(status().isNoContent());
+        then(orderService).should().deleteOrder(order.getId());
+    }
+
+    @Test
+    @DisplayName("Test export streams orders as CSV for a date range")
+    public void givenDateRange_whenExportCsv_thenStreamAttachment() throws Exception {
+        // given
+        willAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class).write("order_id\n1001\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(orderExportService).export(any(), any(), eq(OrderExportFormat.CSV), any(OutputStream.class));
+
+        // when
+        MvcResult started = mockMvc.perform(get("/api/orders/export")
+                        .param("format", "csv")
+                        .param("from", "2025-03-01T00:00:00")
+                        .param("to", "2025-04-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(started));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+                .andExpect(content().string("order_id\n1001\n"));
+        then(orderExportService).should().export(eq(LocalDateTime.parse("2025-03-01T00:00:00")),
+                eq(LocalDateTime.parse("2025-04-01T00:00:00")), eq(OrderExportFormat.CSV), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("Test export with an empty date range - bad request")
+    public void givenFromAfterTo_whenExport_thenReturnBadRequest() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/orders/export")
+                .param("from", "2025-04-01T00:00:00")
+                .param("to", "2025-03-01T00:00:00"));
+
+        // then
+        response.andExpect(status().isBadRequest());
+    }
+}
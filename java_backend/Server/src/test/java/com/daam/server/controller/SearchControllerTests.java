@@ -0,0 +1,46 @@
+package com.daam.server.controller;
+
+import com.daam.server.dto.SearchResult;
+import com.daam.server.service.SearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SearchController.class)
+public class SearchControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SearchService searchService;
+
+    @Test
+    @DisplayName("Test search films and menu items")
+    public void givenQuery_whenSearch_thenReturnRankedResults() throws Exception {
+        // given
+        given(searchService.search("burger", 20))
+                .willReturn(List.of(new SearchResult("menuitem", 1L, "Bison Burger", "entrees", "/images/food/burger_1.jpg", 1.5)));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/search").param("q", "burger"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].type", is("menuitem")))
+                .andExpect(jsonPath("$[0].title", is("Bison Burger")));
+    }
+}
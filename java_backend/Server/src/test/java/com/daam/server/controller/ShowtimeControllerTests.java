@@ -0,0 +1,137 @@
+package com.daam.server.controller;
+
+import com.daam.server.dto.SeatHold;
+import com.daam.server.dto.SeatHoldRequest;
+import com.daam.server.entity.SeatBooking;
+import com.daam.server.entity.Showtime;
+import com.daam.server.exception.ConflictException;
+import com.daam.server.repository.FilmRepository;
+import com.daam.server.repository.ShowtimeRepository;
+import com.daam.server.service.SeatInventoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ShowtimeController.class)
+public class ShowtimeControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ShowtimeRepository showtimeRepository;
+
+    @MockitoBean
+    private FilmRepository filmRepository;
+
+    @MockitoBean
+    private SeatInventoryService seatInventoryService;
+
+    @Test
+    @DisplayName("Test add a showtime - success")
+    public void givenShowtime_whenAddShowtime_thenReturnSavedShowtime() throws Exception {
+        // given
+        Showtime showtime = new Showtime(null, 1L, Timestamp.valueOf("2030-05-01 19:30:00"), "Theater 1", 10, 12, null);
+        given(filmRepository.existsById(1L)).willReturn(true);
+        given(showtimeRepository.save(any(Showtime.class))).willAnswer(invocation -> {
+            Showtime saved = invocation.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/showtimes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(showtime)));
+
+        // then
+        response.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(7)))
+                .andExpect(jsonPath("$.seatsperrow", is(12)));
+    }
+
+    @Test
+    @DisplayName("Test add a showtime - seat grid too large")
+    public void givenTooManyRows_whenAddShowtime_thenReturnBadRequest() throws Exception {
+        // given
+        Showtime showtime = new Showtime(null, 1L, Timestamp.valueOf("2030-05-01 19:30:00"), "Theater 1", 27, 12, null);
+        given(filmRepository.existsById(1L)).willReturn(true);
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/showtimes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(showtime)));
+
+        // then
+        response.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test hold seats - success")
+    public void givenFreeSeats_whenHoldSeats_thenReturnHold() throws Exception {
+        // given
+        given(seatInventoryService.hold(7L, 3L, List.of("E7", "E8")))
+                .willReturn(new SeatHold("3f9c", 7L, 3L, List.of("E7", "E8"), Timestamp.valueOf("2030-05-01 19:05:00")));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/showtimes/{id}/holds", 7L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new SeatHoldRequest(3L, List.of("E7", "E8")))));
+
+        // then
+        response.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.holdId", is("3f9c")))
+                .andExpect(jsonPath("$.seats.size()", is(2)));
+    }
+
+    @Test
+    @DisplayName("Test hold seats - already taken")
+    public void givenTakenSeats_whenHoldSeats_thenReturnConflict() throws Exception {
+        // given
+        given(seatInventoryService.hold(7L, 3L, List.of("E7")))
+                .willThrow(new ConflictException("Some of the seats [E7] are no longer available"));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/showtimes/{id}/holds", 7L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new SeatHoldRequest(3L, List.of("E7")))));
+
+        // then
+        response.andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Test confirm a hold - success")
+    public void givenHold_whenConfirm_thenReturnBookings() throws Exception {
+        // given
+        given(seatInventoryService.confirm(7L, "3f9c", 1001L))
+                .willReturn(List.of(new SeatBooking(1L, 7L, "E7", 3L, 1001L, new Timestamp(System.currentTimeMillis()))));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/showtimes/{id}/holds/{holdId}/confirm", 7L, "3f9c").param("orderid", "1001"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].seat", is("E7")))
+                .andExpect(jsonPath("$[0].orderid", is(1001)));
+    }
+}
@@ -1,28 +1,40 @@
 package com.daam.server.controller;
 
+import com.daam.server.dto.UserPatch;
+import com.daam.server.dto.UserSummary;
 import com.daam.server.entity.User;
 import com.daam.server.repository.UserRepository;
+import com.daam.server.service.SessionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -34,6 +46,9 @@ public class UserControllerTests {
     @MockitoBean
     private UserRepository userRepository;
 
+    @MockitoBean
+    private SessionService sessionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -41,24 +56,55 @@ public class UserControllerTests {
 
     @BeforeEach
     void setUp() {
-        user = new User(1L, "admin", "pass", "Admin", "User", null, "admin@daam.com", null, null, null, null, "ROLE_ADMIN");
+        user = new User(1L, "admin", "pass", "Admin", "User", null, "admin@daam.com", null, null, null, null, "ROLE_ADMIN", null);
+        given(sessionService.encodePassword(any())).willAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+    }
+
+    // The write endpoints answer once the password is hashed, from the async dispatch
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
     }
 
     @Test
     @DisplayName("Test get all users")
     public void givenListOfUsers_whenGetAllUsers_thenReturnUsersList() throws Exception {
         // given
-        List<User> users = new ArrayList<>();
-        users.add(user);
-        users.add(new User(2L, "user2", "pass", "User", "Two", null, "user2@daam.com", null, null, null, null, "ROLE_USER"));
-        given(userRepository.findAll()).willReturn(users);
+        List<UserSummary> users = new ArrayList<>();
+        users.add(new UserSummary(1L, "admin", "Admin", "User", null, "admin@daam.com", null, "ROLE_ADMIN"));
+        users.add(new UserSummary(2L, "user2", "User", "Two", null, "user2@daam.com", null, "ROLE_USER"));
+        given(userRepository.findSummariesByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).willReturn(users);
 
         // when
         ResultActions response = mockMvc.perform(get("/api/users"));
 
         // then
         response.andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()", is(users.size())));
+                .andExpect(jsonPath("$.size()", is(users.size())))
+                .andExpect(jsonPath("$[0].username", is("admin")))
+                .andExpect(jsonPath("$[0].password").doesNotExist())
+                .andExpect(jsonPath("$[0].pan").doesNotExist())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Test get all users - next page cursor")
+    public void givenMoreUsersThanLimit_whenGetAllUsers_thenReturnNextCursor() throws Exception {
+        // given
+        List<UserSummary> users = new ArrayList<>();
+        users.add(new UserSummary(1L, "admin", "Admin", "User", null, "admin@daam.com", null, "ROLE_ADMIN"));
+        users.add(new UserSummary(2L, "user2", "User", "Two", null, "user2@daam.com", null, "ROLE_USER"));
+        given(userRepository.findSummariesByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).willReturn(users);
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/users").param("limit", "1"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(header().string("X-Next-Cursor", "1"));
     }
 
     @Test
@@ -97,7 +143,7 @@ public class UserControllerTests {
                 .willAnswer((invocation) -> invocation.getArgument(0));
 
         // when
-        ResultActions response = mockMvc.perform(post("/api/users")
+        ResultActions response = performAsync(post("/api/users")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(user)));
 
@@ -106,17 +152,36 @@ public class UserControllerTests {
                 .andExpect(jsonPath("$.username", is(user.getUsername())));
     }
 
+    @Test
+    @DisplayName("Test create a new user stores the password hashed")
+    public void givenPlainPassword_whenCreateUser_thenPasswordHashedBeforeSave() throws Exception {
+        // given
+        String hash = "$2a$12$sPUi2kLGlu.YcCV9cfnE.uzJiPOR/G1sRHZcwV3agV9ScZReaY3VO";
+        given(sessionService.encodePassword("pass")).willReturn(CompletableFuture.completedFuture(hash));
+        given(userRepository.save(any(User.class)))
+                .willAnswer((invocation) -> invocation.getArgument(0));
+
+        // when
+        ResultActions response = performAsync(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)));
+
+        // then
+        response.andExpect(status().isCreated());
+        then(userRepository).should().save(argThat(saved -> hash.equals(saved.getPassword())));
+    }
+
     @Test
     @DisplayName("Test update a user - success")
     public void givenUpdatedUser_whenUpdateUser_thenReturnUpdatedUserObject() throws Exception {
         // given
-        User updatedUser = new User(user.getId(), "updatedAdmin", "newpass", "Updated", "Admin", null, "updated@daam.com", null, null, null, null, "ROLE_ADMIN");
+        User updatedUser = new User(user.getId(), "updatedAdmin", "newpass", "Updated", "Admin", null, "updated@daam.com", null, null, null, null, "ROLE_ADMIN", null);
         given(userRepository.findById(user.getId())).willReturn(Optional.of(user));
         given(userRepository.save(any(User.class)))
                 .willAnswer((invocation) -> invocation.getArgument(0));
 
         // when
-        ResultActions response = mockMvc.perform(put("/api/users/{id}", user.getId())
+        ResultActions response = performAsync(put("/api/users/{id}", user.getId())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedUser)));
 
@@ -124,6 +189,29 @@ public class UserControllerTests {
         response.andExpect(status().isOk())
                 .andExpect(jsonPath("$.username", is(updatedUser.getUsername())))
                 .andExpect(jsonPath("$.first", is(updatedUser.getFirst())));
+        then(sessionService).should().evictUser(user.getId());
+    }
+
+    @Test
+    @DisplayName("Test update a user sending back the stored password keeps it without hashing it again")
+    public void givenStoredPassword_whenUpdateUser_thenPasswordKept() throws Exception {
+        // given
+        User sentBack = new User(user.getId(), "admin", "pass", "Renamed", "User", null, "admin@daam.com", null, null, null, null, "ROLE_ADMIN", null);
+        given(userRepository.findById(user.getId())).willReturn(Optional.of(user));
+        given(userRepository.save(any(User.class)))
+                .willAnswer((invocation) -> invocation.getArgument(0));
+
+        // when
+        ResultActions response = performAsync(put("/api/users/{id}", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sentBack)));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.first", is("Renamed")));
+        then(sessionService).should(never()).encodePassword(any());
+        then(sessionService).should(never()).evictUser(any());
+        then(userRepository).should().save(argThat(saved -> "pass".equals(saved.getPassword())));
     }
 
     @Test
@@ -145,8 +233,7 @@ public class UserControllerTests {
     @DisplayName("Test delete a user - success")
     public void givenUserId_whenDeleteUser_thenReturnNoContent() throws Exception {
         // given
-        given(userRepository.existsById(user.getId())).willReturn(true);
-        willDoNothing().given(userRepository).deleteById(user.getId());
+        given(userRepository.removeById(user.getId())).willReturn(1);
 
         // when
         ResultActions response = mockMvc.perform(delete("/api/users/{id}", user.getId()));
@@ -159,7 +246,7 @@ public class UserControllerTests {
     @DisplayName("Test delete a user - failure (not found)")
     public void givenInvalidUserId_whenDeleteUser_thenReturnNotFound() throws Exception {
         // given
-        given(userRepository.existsById(999L)).willReturn(false);
+        given(userRepository.removeById(999L)).willReturn(0);
 
         // when
         ResultActions response = mockMvc.perform(delete("/api/users/{id}", 999L));
@@ -167,4 +254,72 @@ public class UserControllerTests {
         // then
         response.andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("Test update a user with a stale version - failure (conflict)")
+    public void givenStaleVersion_whenUpdateUser_thenReturnConflict() throws Exception {
+        // given
+        user.setVersion(4L);
+        User staleUser = new User(user.getId(), "admin", "pass", "Admin", "User", null, "admin@daam.com", null, null, null, null, "ROLE_ADMIN", 3L);
+        given(userRepository.findById(user.getId())).willReturn(Optional.of(user));
+
+        // when
+        ResultActions response = mockMvc.perform(put("/api/users/{id}", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(staleUser)));
+
+        // then
+        response.andExpect(status().isConflict());
+        then(userRepository).should(never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Test patch a user - success")
+    public void givenPatch_whenPatchUser_thenReturnNoContent() throws Exception {
+        // given
+        UserPatch patch = new UserPatch(null, null, null, null, "555-0100", null, null, null, null, null, null, 2L);
+        given(userRepository.patch(eq(user.getId()), eq(2L), any(UserPatch.class))).willReturn(1);
+
+        // when
+        ResultActions response = performAsync(patch("/api/users/{id}", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+
+        // then
+        response.andExpect(status().isNoContent());
+        then(userRepository).should(never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Test patch a user with a stale version - failure (conflict)")
+    public void givenStaleVersion_whenPatchUser_thenReturnConflict() throws Exception {
+        // given
+        UserPatch patch = new UserPatch(null, null, null, null, "555-0100", null, null, null, null, null, null, 2L);
+        given(userRepository.patch(eq(user.getId()), eq(2L), any(UserPatch.class))).willReturn(0);
+        given(userRepository.existsById(user.getId())).willReturn(true);
+
+        // when
+        ResultActions response = performAsync(patch("/api/users/{id}", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+
+        // then
+        response.andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Test patch a user - failure (not found)")
+    public void givenInvalidUserId_whenPatchUser_thenReturnNotFound() throws Exception {
+        // given
+        given(userRepository.patch(eq(999L), any(), any(UserPatch.class))).willReturn(0);
+
+        // when
+        ResultActions response = performAsync(patch("/api/users/{id}", 999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"phone\": \"555-0100\"}"));
+
+        // then
+        response.andExpect(status().isNotFound());
+        then(userRepository).should(never()).existsById(any());
+    }
 }
\ No newline at end of file
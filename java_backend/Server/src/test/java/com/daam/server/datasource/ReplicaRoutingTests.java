@@ -0,0 +1,165 @@
+package com.daam.server.datasource;
+
+import com.daam.server.entity.Film;
+import com.daam.server.repository.FilmRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two H2 databases stand in for the primary and the replica; "replication" is a script copy
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "daam.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "daam.datasource.replica.username=sa",
+        "daam.datasource.replica.password=",
+        "daam.datasource.replica.driver-class-name=org.h2.Driver",
+        "daam.datasource.replica.heartbeat-ms=3600000",
+        "daam.datasource.replica.max-lag-ms.films=5000"})
+@AutoConfigureMockMvc
+public class ReplicaRoutingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        filmRepository.deleteAll();
+        primary.execute("create table if not exists replica_heartbeat (id integer primary key, beat_at bigint not null)");
+        primary.execute("merge into replica_heartbeat key (id) values (1, 0)");
+        filmRepository.save(new Film(null, "Chunnel", null, null, null, null, 120, null, 7.1, "tt0137523", 6.2, 52, null));
+        replicaLagMonitor.heartbeat();
+        replicate();
+        replicaLagMonitor.heartbeat();
+        // Written after the copy, so only the primary has it
+        filmRepository.save(new Film(null, "Sack Lunch", null, null, null, null, 90, null, 7.5, "tt0137524", 7.3, 42, null));
+    }
+
+    private void replicate() throws Exception {
+        Path script = Files.createTempFile("primary", ".sql");
+        primary.execute("script to '" + script + "'");
+        replica.execute("drop all objects");
+        replica.execute("runscript from '" + script + "'");
+        Files.delete(script);
+    }
+
+    @Test
+    @DisplayName("Test a @ReplicaRead endpoint within its lag tolerance reads from the replica")
+    public void givenFreshReplica_whenGetAllFilms_thenReadFromReplica() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/films"));
+
+        // then
+        assertThat(replicaLagMonitor.getLagMillis()).isLessThan(5000);
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Test a replica lagging beyond the tolerance sends the endpoint back to the primary")
+    public void givenLaggingReplica_whenGetAllFilms_thenReadFromPrimary() throws Exception {
+        // given
+        replica.update("update replica_heartbeat set beat_at = ? where id = 1", System.currentTimeMillis() - 60_000);
+        replicaLagMonitor.heartbeat();
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/films"));
+
+        // then
+        assertThat(replicaLagMonitor.getLagMillis()).isGreaterThanOrEqualTo(60_000);
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Test read-only transactions of a request on the replica read the caches but never put into them")
+    public void givenRequestOnReplica_whenReadOnlyTransaction_thenCacheModeGet() {
+        // given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // when
+        CacheMode outsideRequest = readOnly.execute(tx -> entityManager.unwrap(Session.class).getCacheMode());
+        CacheMode onReplica;
+        ReplicaReadScope.start();
+        try {
+            onReplica = readOnly.execute(tx -> entityManager.unwrap(Session.class).getCacheMode());
+        } finally {
+            ReplicaReadScope.clear();
+        }
+
+        // then
+        assertThat(outsideRequest).isEqualTo(CacheMode.NORMAL);
+        assertThat(onReplica).isEqualTo(CacheMode.GET);
+    }
+
+    @Test
+    @DisplayName("Test read-only transactions outside a @ReplicaRead request and read-write transactions read from the primary")
+    public void givenFreshReplica_whenOtherTransactions_thenReadFromPrimary() {
+        // given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // when
+        Long outsideRequest = readOnly.execute(tx -> filmRepository.count());
+        Long readWriteInRequest;
+        ReplicaReadScope.start();
+        try {
+            readWriteInRequest = readWrite.execute(tx -> filmRepository.count());
+        } finally {
+            ReplicaReadScope.clear();
+        }
+
+        // then
+        assertThat(outsideRequest).isEqualTo(2);
+        assertThat(readWriteInRequest).isEqualTo(2);
+    }
+}
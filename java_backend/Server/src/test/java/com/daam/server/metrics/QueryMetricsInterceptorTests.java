@@ -0,0 +1,99 @@
+package com.daam.server.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryMetricsInterceptorTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryMetricsInterceptor interceptor;
+    private QueryStatsSessionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new QueryMetricsInterceptor(meterRegistry);
+        listener = new QueryStatsSessionListener();
+    }
+
+    @Test
+    @DisplayName("Test statements run during a request are recorded against its endpoint")
+    public void givenStatementsDuringRequest_whenRequestCompletes_thenQueryMetricsRecorded() {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/1001/full");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{id}/full");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        interceptor.preHandle(request, response, null);
+        for (int i = 0; i < 3; i++) {
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+        }
+        interceptor.afterCompletion(request, response, null, null);
+
+        // then
+        DistributionSummary queries = meterRegistry.get(QueryMetricsInterceptor.QUERIES_METRIC)
+                .tag("uri", "/api/orders/{id}/full").summary();
+        Timer queryTime = meterRegistry.get(QueryMetricsInterceptor.QUERY_TIME_METRIC)
+                .tag("method", "GET").timer();
+        assertThat(queries.count()).isEqualTo(1);
+        assertThat(queries.totalAmount()).isEqualTo(3);
+        assertThat(queryTime.count()).isEqualTo(1);
+        assertThat(QueryStats.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Test statements an async request runs on another thread before its dispatch are recorded against it")
+    public void givenStatementsOnAnotherThread_whenAsyncRequestCompletes_thenCountedForRequest() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        interceptor.preHandle(request, response, null);
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+        CompletableFuture<Void> save = CompletableFuture.runAsync(() -> {
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+        }, QueryStats.forCurrentRequest(executor));
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        save.get();
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+        executor.shutdown();
+
+        // then
+        DistributionSummary queries = meterRegistry.get(QueryMetricsInterceptor.QUERIES_METRIC)
+                .tag("uri", "/api/users").summary();
+        assertThat(queries.count()).isEqualTo(1);
+        assertThat(queries.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test statements outside a request are ignored")
+    public void givenNoRequest_whenStatementRuns_thenNothingRecorded() {
+        // when
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+
+        // then
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.daam.server.repository;
 
+import com.daam.server.dto.FilmSummary;
 import com.daam.server.entity.Film;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,7 +27,7 @@ public class FilmRepositoryTests {
 
     @BeforeEach
     void setUp() {
-        film1 = new Film(null, "Test Movie 1", null, null, "An overview 1", null, 120, "A tagline 1", 8.0, null, 8.0, 100);
+        film1 = new Film(null, "Test Movie 1", null, null, "An overview 1", null, 120, "A tagline 1", 8.0, null, 8.0, 100, null);
         testEntityManager.persist(film1);
         testEntityManager.flush();
     }
@@ -46,7 +47,7 @@ public class FilmRepositoryTests {
     @DisplayName("Test find all films")
     public void whenFindAll_thenReturnFilmList() {
         // given
-        Film film2 = new Film(null, "Test Movie 2", null, null, "An overview 2", null, 90, "A tagline 2", 7.0, null, 7.0, 50);
+        Film film2 = new Film(null, "Test Movie 2", null, null, "An overview 2", null, 90, "A tagline 2", 7.0, null, 7.0, 50, null);
         testEntityManager.persist(film2);
         testEntityManager.flush();
 
@@ -57,6 +58,22 @@ public class FilmRepositoryTests {
         assertThat(films).hasSize(2);
     }
 
+    @Test
+    @DisplayName("Test film summaries in ID order")
+    public void whenFindSummaries_thenReturnSummaryColumnsInIdOrder() {
+        // given
+        Film film2 = new Film(null, "Test Movie 2", null, null, "An overview 2", null, 90, "A tagline 2", 7.0, null, 7.0, 50, null);
+        testEntityManager.persist(film2);
+        testEntityManager.flush();
+
+        // when
+        List<FilmSummary> summaries = filmRepository.findSummariesByOrderByIdAsc();
+
+        // then
+        assertThat(summaries).extracting(FilmSummary::title).containsExactly("Test Movie 1", "Test Movie 2");
+        assertThat(summaries.get(0).runtime()).isEqualTo(120);
+    }
+
     @Test
     @DisplayName("Test delete a film")
     public void whenDeleteFilm_thenFilmShouldBeDeleted() {
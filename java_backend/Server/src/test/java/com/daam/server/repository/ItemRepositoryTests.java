@@ -29,11 +29,11 @@ public class ItemRepositoryTests {
 
     @BeforeEach
     void setUp() {
-        Order order = new Order(null, 1L, new Timestamp(System.currentTimeMillis()), null, "Area 1", "Location 1", 1.0, 1.0, "1234", 1, 2025, "pending");
+        Order order = new Order(null, 1L, new Timestamp(System.currentTimeMillis()), null, "Area 1", "Location 1", 1.0, 1.0, "1234", 1, 2025, "pending", null);
         testOrder = testEntityManager.persistAndFlush(order);
 
-        item1 = new Item(null, testOrder.getId(), 1L, 10.0, "notes 1", "name 1");
-        item2 = new Item(null, testOrder.getId(), 2L, 20.0, "notes 2", "name 2");
+        item1 = new Item(null, testOrder.getId(), 1L, 10.0, "notes 1", "name 1", null);
+        item2 = new Item(null, testOrder.getId(), 2L, 20.0, "notes 2", "name 2", null);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         testEntityManager.flush();
@@ -54,12 +54,13 @@ public class ItemRepositoryTests {
     @DisplayName("Test delete all items by order ID")
     public void whenDeleteByOrderid_thenItemsShouldBeDeleted() {
         // when
-        itemRepository.deleteByOrderid(testOrder.getId());
+        int deleted = itemRepository.deleteByOrderid(testOrder.getId());
         testEntityManager.flush();
         testEntityManager.clear();
 
         // then
         List<Item> foundItems = itemRepository.findByOrderid(testOrder.getId());
+        assertThat(deleted).isEqualTo(2);
         assertThat(foundItems).isEmpty();
     }
 
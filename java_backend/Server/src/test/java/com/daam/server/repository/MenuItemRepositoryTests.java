@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,7 +27,7 @@ public class MenuItemRepositoryTests {
 
     @BeforeEach
     void setUp() {
-        menuItem1 = new MenuItem(null, "Test Burger", "A test burger", "entrees", 9.99, "/images/test.jpg", true);
+        menuItem1 = new MenuItem(null, "Test Burger", "A test burger", "entrees", 9.99, "/images/test.jpg", true, null, null);
         testEntityManager.persist(menuItem1);
         testEntityManager.flush();
     }
@@ -46,7 +47,7 @@ public class MenuItemRepositoryTests {
     @DisplayName("Test find all menu items")
     public void whenFindAll_thenReturnMenuItemList() {
         // given
-        MenuItem menuItem2 = new MenuItem(null, "Test Drink", "A test drink", "drinks", 1.99, "/images/drink.jpg", true);
+        MenuItem menuItem2 = new MenuItem(null, "Test Drink", "A test drink", "drinks", 1.99, "/images/drink.jpg", true, null, null);
         testEntityManager.persist(menuItem2);
         testEntityManager.flush();
 
@@ -67,4 +68,26 @@ public class MenuItemRepositoryTests {
         // then
         assertThat(deletedItem).isEmpty();
     }
+
+    @Test
+    @DisplayName("Test the stock of several menu items is written in one statement that skips items it would take below 0")
+    public void givenTrackedItems_whenAdjustStock_thenEachWrittenUnlessShort() {
+        // given
+        MenuItem burger = testEntityManager.persist(new MenuItem(null, "Bison Burger", null, "entrees", 11.54, null, true, 3, null));
+        MenuItem fries = testEntityManager.persist(new MenuItem(null, "Fries", null, "sides", 4.25, null, true, 50, null));
+        testEntityManager.flush();
+
+        // when
+        int sold = menuItemRepository.adjustStock(Map.of(burger.getId(), -3, fries.getId(), -2));
+        int partial = menuItemRepository.adjustStock(Map.of(burger.getId(), -1, fries.getId(), -1));
+        testEntityManager.clear();
+
+        // then
+        assertThat(sold).isEqualTo(2);
+        assertThat(partial).isEqualTo(1);
+        assertThat(menuItemRepository.findStockById(burger.getId())).isZero();
+        assertThat(menuItemRepository.findById(burger.getId()).orElseThrow().isAvailable()).isFalse();
+        assertThat(menuItemRepository.findStockById(fries.getId())).isEqualTo(47);
+        assertThat(menuItemRepository.adjustStock(Map.of(menuItem1.getId(), -1))).isZero();
+    }
 }
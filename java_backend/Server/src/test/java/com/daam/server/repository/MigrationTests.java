@@ -0,0 +1,76 @@
+package com.daam.server.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The other tests build the schema from the entities; these run the real migrations on H2 in MariaDB mode
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class MigrationTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Test the migrations build the schema the entities expect and seed it")
+    public void givenEmptyDatabase_whenMigrated_thenSchemaValidatesAndIsSeeded() {
+        // then: the context only starts if Flyway applied every migration and Hibernate validated the schema
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", Long.class)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from menu_item", Long.class)).isEqualTo(14);
+        assertThat(jdbcTemplate.queryForObject("select beat_at from replica_heartbeat where id = 1", Long.class)).isZero();
+        // Hibernate's pooled optimizer hands out the 50 ids ending at the value it reads: above the
+        // seeded orders (up to 1005) and items (up to 21)
+        assertThat(jdbcTemplate.queryForObject("select next value for orders_seq", Long.class) - 49).isGreaterThan(1005);
+        assertThat(jdbcTemplate.queryForObject("select next value for item_seq", Long.class) - 49).isGreaterThan(21);
+        assertThat(jdbcTemplate.queryForObject("select next value for film_seq", Long.class) - 499).isPositive();
+    }
+
+    @Test
+    @DisplayName("Test taking over a database created by ddl-auto moves the id sequences past its ids")
+    public void givenDdlAutoDatabase_whenMigrated_thenSequencesStartAboveExistingIds() {
+        // given: orders, item and film as ddl-auto=update created them, with ids beyond the sequences' start values
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:ddlauto;MODE=MariaDB;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table orders (id bigint not null auto_increment, userid bigint not null, ordertime datetime(6) not null, "
+                + "pickuptime datetime(6), area varchar(255), location varchar(255), tax double not null, tip double not null, "
+                + "pan varchar(255) not null, expiry_month integer not null, expiry_year integer not null, status varchar(255), primary key (id))");
+        jdbc.execute("create table item (id bigint not null auto_increment, orderid bigint not null, itemid bigint not null, "
+                + "price double not null, notes varchar(255), firstname varchar(255), primary key (id))");
+        jdbc.update("insert into orders (id, userid, ordertime, tax, tip, pan, expiry_month, expiry_year) "
+                + "values (4321, 3, current_timestamp, 0, 0, '4111111111111111', 1, 2030)");
+        jdbc.execute("create table film (id bigint not null auto_increment, title varchar(255) not null, homepage varchar(255), "
+                + "releasedate date, overview varchar(2048), posterpath varchar(255), runtime integer, tagline varchar(255), "
+                + "popularity double, imdbid varchar(255), voteaverage double, votecount integer, primary key (id))");
+        jdbc.update("insert into item (id, orderid, itemid, price) values (1500, 4321, 1, 9.99)");
+        jdbc.update("insert into film (id, title, imdbid) values (700, 'Chunnel', 'tt0137523')");
+
+        // when
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        // then
+        long orderBlockEnd = jdbc.queryForObject("select next value for orders_seq", Long.class);
+        long itemBlockEnd = jdbc.queryForObject("select next value for item_seq", Long.class);
+        long filmBlockEnd = jdbc.queryForObject("select next value for film_seq", Long.class);
+        assertThat(orderBlockEnd - 49).isGreaterThan(4321);
+        assertThat(itemBlockEnd - 49).isGreaterThan(1500);
+        assertThat(filmBlockEnd - 499).isGreaterThan(700);
+        assertThat(jdbc.queryForObject("select count(*) from orders where id = 4321", Long.class)).isEqualTo(1);
+    }
+}
@@ -1,5 +1,7 @@
 package com.daam.server.repository;
 
+import com.daam.server.dto.OrderPatch;
+import com.daam.server.dto.OrderSummary;
 import com.daam.server.entity.Order;
 import com.daam.server.entity.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.sql.Timestamp;
 import java.util.List;
@@ -29,11 +32,11 @@ public class OrderRepositoryTests {
 
     @BeforeEach
     void setUp() {
-        User user = new User(null, "testuser", "password", "Test", "User", null, "test@test.com", null, null, null, null, "ROLE_USER");
+        User user = new User(null, "testuser", "password", "Test", "User", null, "test@test.com", null, null, null, null, "ROLE_USER", null);
         testUser = testEntityManager.persistAndFlush(user);
 
-        order1 = new Order(null, testUser.getId(), new Timestamp(System.currentTimeMillis()), null, "Area 1", "Location 1", 1.0, 1.0, "1234", 1, 2025, "pending");
-        order2 = new Order(null, testUser.getId(), new Timestamp(System.currentTimeMillis()), null, "Area 2", "Location 2", 2.0, 2.0, "5678", 2, 2026, "completed");
+        order1 = new Order(null, testUser.getId(), new Timestamp(System.currentTimeMillis()), null, "Area 1", "Location 1", 1.0, 1.0, "1234", 1, 2025, "pending", null);
+        order2 = new Order(null, testUser.getId(), new Timestamp(System.currentTimeMillis()), null, "Area 2", "Location 2", 2.0, 2.0, "5678", 2, 2026, "completed", null);
 
         testEntityManager.persist(order1);
         testEntityManager.persist(order2);
@@ -63,6 +66,29 @@ public class OrderRepositoryTests {
         assertThat(orders.size()).isGreaterThanOrEqualTo(2);
     }
 
+    @Test
+    @DisplayName("Test keyset page of orders after an ID")
+    public void whenFindByIdGreaterThan_thenReturnNextPageInIdOrder() {
+        // when
+        List<OrderSummary> firstPage = orderRepository.findSummariesByIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+        List<OrderSummary> secondPage = orderRepository.findSummariesByIdGreaterThanOrderByIdAsc(firstPage.get(0).id(), Limit.of(1));
+
+        // then
+        assertThat(firstPage).extracting(OrderSummary::id).containsExactly(order1.getId());
+        assertThat(secondPage).extracting(OrderSummary::id).containsExactly(order2.getId());
+    }
+
+    @Test
+    @DisplayName("Test order summaries by user ID")
+    public void whenFindSummariesByUserid_thenReturnSummaryColumns() {
+        // when
+        List<OrderSummary> summaries = orderRepository.findSummariesByUserid(testUser.getId());
+
+        // then
+        assertThat(summaries).extracting(OrderSummary::id).containsExactlyInAnyOrder(order1.getId(), order2.getId());
+        assertThat(summaries).extracting(OrderSummary::area).containsExactlyInAnyOrder("Area 1", "Area 2");
+    }
+
     @Test
     @DisplayName("Test find order by non-existent ID")
     public void whenFindById_withInvalidId_thenReturnEmpty() {
@@ -97,4 +123,52 @@ public class OrderRepositoryTests {
         // then
         assertThat(deletedOrder).isEmpty();
     }
+
+    @Test
+    @DisplayName("Test patch an order changes only the given fields and bumps the version")
+    public void givenCurrentVersion_whenPatch_thenOnlyGivenFieldsChange() {
+        // given
+        Long version = order1.getVersion();
+        testEntityManager.clear();
+
+        // when
+        int updated = orderRepository.patch(order1.getId(), version, new OrderPatch(null, null, null, "preparing", version));
+        testEntityManager.clear();
+
+        // then
+        Order patched = orderRepository.findById(order1.getId()).get();
+        assertThat(updated).isEqualTo(1);
+        assertThat(patched.getStatus()).isEqualTo("preparing");
+        assertThat(patched.getArea()).isEqualTo("Area 1");
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @DisplayName("Test patch an order with a stale version updates nothing")
+    public void givenStaleVersion_whenPatch_thenNothingIsUpdated() {
+        // given
+        Long version = order1.getVersion();
+        orderRepository.updateStatus(order1.getId(), "preparing");
+        testEntityManager.clear();
+
+        // when
+        int updated = orderRepository.patch(order1.getId(), version, new OrderPatch(null, null, null, "cancelled", version));
+        testEntityManager.clear();
+
+        // then
+        assertThat(updated).isZero();
+        assertThat(orderRepository.findById(order1.getId()).get().getStatus()).isEqualTo("preparing");
+    }
+
+    @Test
+    @DisplayName("Test remove an order by id reports the affected rows")
+    public void whenRemoveById_thenReturnDeletedCount() {
+        // when
+        int first = orderRepository.removeById(order1.getId());
+        int second = orderRepository.removeById(order1.getId());
+
+        // then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+    }
 }
\ No newline at end of file
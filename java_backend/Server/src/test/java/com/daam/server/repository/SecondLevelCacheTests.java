@@ -0,0 +1,146 @@
+package com.daam.server.repository;
+
+import com.daam.server.config.SecondLevelCacheConfig;
+import com.daam.server.entity.Film;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.entity.Order;
+import com.daam.server.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each repository call runs in its own transaction, as in the controllers, so the cache is
+// populated and read across sessions
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "daam.cache.entities.film=true",
+        "daam.cache.entities.menu-item=true",
+        "daam.cache.entities.user=false"})
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTests {
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        filmRepository.deleteAll();
+        menuItemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test a cached entity is read from the second-level cache after the first load")
+    public void givenCachedEntity_whenFindByIdTwice_thenSecondReadIsACacheHit() {
+        // given
+        Film film = filmRepository.save(new Film(null, "Chunnel", null, null, null, null, 120, null, 7.1, "tt0137523", 6.2, 52, null));
+        statistics.clear();
+
+        // when
+        filmRepository.findById(film.getId());
+        filmRepository.findById(film.getId());
+
+        // then
+        assertThat(statistics.getDomainDataRegionStatistics("film").getHitCount()).isGreaterThanOrEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test an entity turned off in configuration is not cached")
+    public void givenDisabledEntity_whenFindByIdTwice_thenBothReadsHitTheDatabase() {
+        // given
+        User user = userRepository.save(new User(null, "server1", "pass", "Jo", "Server", null, null, null, null, null, null, "ROLE_SERVER", null));
+        statistics.clear();
+
+        // when
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        // then
+        assertThat(statistics.getSecondLevelCacheRegionNames()).doesNotContain("user");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test a stock write evicts only the menu item it wrote")
+    public void givenCachedMenuItems_whenStockWritten_thenOnlyThatItemIsEvicted() {
+        // given
+        MenuItem burger = menuItemRepository.save(new MenuItem(null, "Bison Burger", null, "entrees", 11.54, null, true, 3, null));
+        MenuItem fries = menuItemRepository.save(new MenuItem(null, "Fries", null, "sides", 4.25, null, true, 50, null));
+        menuItemRepository.findById(burger.getId());
+        menuItemRepository.findById(fries.getId());
+        statistics.clear();
+
+        // when
+        int updated = menuItemRepository.adjustStock(Map.of(burger.getId(), -3));
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        MenuItem reloaded = menuItemRepository.findById(burger.getId()).orElseThrow();
+        assertThat(reloaded.getStock()).isZero();
+        assertThat(reloaded.isAvailable()).isFalse();
+        assertThat(reloaded.getVersion()).isEqualTo(burger.getVersion());
+        menuItemRepository.findById(fries.getId());
+        assertThat(statistics.getDomainDataRegionStatistics("menu-item").getMissCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("menu-item").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test order history is served from the query cache until orders are written")
+    public void givenOrderHistoryQuery_whenRepeated_thenQueryCacheHitUntilWrite() {
+        // given
+        orderRepository.save(new Order(null, 3L, new Timestamp(System.currentTimeMillis()), null, "Theater 1", "Table 37", 1.15, 2.00, "4026", 9, 2028, "new", null));
+        statistics.clear();
+
+        // when
+        orderRepository.findSummariesByUserid(3L);
+        orderRepository.findSummariesByUserid(3L);
+        long hitsBeforeWrite = statistics.getQueryCacheHitCount();
+        orderRepository.save(new Order(null, 3L, new Timestamp(System.currentTimeMillis()), null, "Theater 1", "Table 12", 1.15, 2.00, "4026", 9, 2028, "new", null));
+
+        // then
+        assertThat(hitsBeforeWrite).isEqualTo(1);
+        assertThat(orderRepository.findSummariesByUserid(3L)).hasSize(2);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+}
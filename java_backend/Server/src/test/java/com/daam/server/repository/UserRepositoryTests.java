@@ -1,5 +1,6 @@
 package com.daam.server.repository;
 
+import com.daam.server.dto.UserCredentials;
 import com.daam.server.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,7 +27,7 @@ public class UserRepositoryTests {
 
     @BeforeEach
     void setUp() {
-        user1 = new User(null, "testuser1", "password", "Test", "User1", null, "test1@test.com", null, null, null, null, "ROLE_USER");
+        user1 = new User(null, "testuser1", "password", "Test", "User1", null, "test1@test.com", null, null, null, null, "ROLE_USER", null);
         testEntityManager.persist(user1);
         testEntityManager.flush();
     }
@@ -35,7 +36,7 @@ public class UserRepositoryTests {
     @DisplayName("Test save and find user by ID")
     public void whenSaveUser_thenFindById() {
         // given
-        User newUser = new User(null, "newuser", "password", "New", "User", null, "new@test.com", null, null, null, null, "ROLE_USER");
+        User newUser = new User(null, "newuser", "password", "New", "User", null, "new@test.com", null, null, null, null, "ROLE_USER", null);
 
         // when
         User savedUser = userRepository.save(newUser);
@@ -50,7 +51,7 @@ public class UserRepositoryTests {
     @DisplayName("Test find all users")
     public void whenFindAll_thenReturnUserList() {
         // given
-        User user2 = new User(null, "testuser2", "password", "Test", "User2", null, "test2@test.com", null, null, null, null, "ROLE_USER");
+        User user2 = new User(null, "testuser2", "password", "Test", "User2", null, "test2@test.com", null, null, null, null, "ROLE_USER", null);
         testEntityManager.persist(user2);
         testEntityManager.flush();
 
@@ -71,4 +72,15 @@ public class UserRepositoryTests {
         // then
         assertThat(deletedUser).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test find a user's credentials by username")
+    public void givenUsername_whenFindCredentialsByUsername_thenReturnHashAndRoles() {
+        // when
+        Optional<UserCredentials> credentials = userRepository.findCredentialsByUsername("testuser1");
+
+        // then
+        assertThat(credentials).contains(new UserCredentials(user1.getId(), "testuser1", "password", "ROLE_USER"));
+        assertThat(userRepository.findCredentialsByUsername("nobody")).isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.FilmPatch;
+import com.daam.server.entity.Film;
+import com.daam.server.repository.FilmRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class FilmCatalogServiceTests {
+
+    @Mock
+    private FilmRepository filmRepository;
+
+    @InjectMocks
+    private FilmCatalogService filmCatalogService;
+
+    private Film fewVotes, manyVotes, popular;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filmCatalogService, "minVotes", 50);
+        fewVotes = new Film(1L, "Few Votes", null, null, null, null, 90, null, 1.0, "tt1", 10.0, 1, null);
+        manyVotes = new Film(2L, "Many Votes", null, null, null, null, 90, null, 2.0, "tt2", 8.0, 1000, null);
+        popular = new Film(3L, "Popular", null, null, null, null, 90, null, 99.0, "tt3", 5.0, 200, null);
+        given(filmRepository.findAll()).willReturn(List.of(fewVotes, manyVotes, popular));
+    }
+
+    @Test
+    @DisplayName("Test top films by popularity")
+    public void whenTopByPopularity_thenReturnMostPopularFirst() {
+        // when
+        List<Film> top = filmCatalogService.getTopFilms(FilmRanking.POPULARITY, 2);
+
+        // then
+        assertThat(top).containsExactly(popular, manyVotes);
+    }
+
+    @Test
+    @DisplayName("Test weighted rating keeps low-vote films from dominating")
+    public void whenTopByRating_thenWellVotedFilmRanksAboveLowVoteFilm() {
+        // when
+        List<Film> top = filmCatalogService.getTopFilms(FilmRanking.RATING, 3);
+
+        // then
+        assertThat(top).containsExactly(manyVotes, fewVotes, popular);
+    }
+
+    @Test
+    @DisplayName("Test the catalog is loaded once and rankings are recomputed in memory after a write")
+    public void whenRankingRequestedAroundWrites_thenCatalogLoadedOnce() {
+        // given
+        filmCatalogService.getTopFilms(FilmRanking.POPULARITY, 2);
+        filmCatalogService.getTopFilms(FilmRanking.POPULARITY, 2);
+
+        // when
+        filmCatalogService.onFilmPatched(1L, new FilmPatch(null, null, null, null, null, null, null, 500.0, null, null, null, null));
+        List<Film> top = filmCatalogService.getTopFilms(FilmRanking.POPULARITY, 2);
+
+        // then
+        assertThat(top).extracting(Film::getId).containsExactly(1L, 3L);
+        assertThat(top.get(0).getPopularity()).isEqualTo(500.0);
+        assertThat(fewVotes.getPopularity()).isEqualTo(1.0);
+        verify(filmRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Test saved and deleted films are applied to the rankings, including the mean vote")
+    public void givenSavedAndDeletedFilms_whenTopByRating_thenRankingReflectsWrites() {
+        // given
+        filmCatalogService.getTopFilms(FilmRanking.RATING, 3);
+        Film acclaimed = new Film(4L, "Acclaimed", null, null, null, null, 90, null, 3.0, "tt4", 9.5, 5000, null);
+
+        // when
+        filmCatalogService.onFilmSaved(acclaimed);
+        filmCatalogService.onFilmDeleted(2L);
+        List<Film> top = filmCatalogService.getTopFilms(FilmRanking.RATING, 3);
+
+        // then
+        assertThat(top).extracting(Film::getId).containsExactly(4L, 1L, 3L);
+        verify(filmRepository, times(1)).findAll();
+    }
+}
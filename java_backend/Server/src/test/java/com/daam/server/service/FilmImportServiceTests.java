@@ -0,0 +1,189 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.FilmImportReport;
+import com.daam.server.entity.Film;
+import com.daam.server.exception.BadRequestException;
+import com.daam.server.repository.FilmRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+// A batch size of 2 makes every multi-record test span several batches
+@DataJpaTest(properties = "daam.films.import.batch-size=2")
+@Import(FilmImportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class FilmImportServiceTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FilmImportService filmImportService;
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    @MockitoBean
+    private SearchService searchService;
+
+    @MockitoBean
+    private FilmCatalogService filmCatalogService;
+
+    private Film existing;
+
+    @BeforeEach
+    void setUp() {
+        existing = filmRepository.saveAndFlush(new Film(null, "Chunnel", "http://chunnelmovie.com", null,
+                "Original overview", "/images/posters/1.jpg", 120, "Original tagline", 7.1, "tt0000001", 6.2, 52, null));
+    }
+
+    // Tests that run outside the test transaction commit their films
+    @AfterEach
+    void tearDown() {
+        filmRepository.deleteAll();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Test NDJSON import inserts new films in batches")
+    public void givenNdjson_whenImport_thenFilmsAreInserted() throws Exception {
+        // given
+        String ndjson = """
+                {"imdbid": "tt0000002", "title": "Sack Lunch", "popularity": 12.5, "votecount": 300}
+                {"imdbid": "tt0000003", "title": "The Long Queue", "runtime": 95}
+                {"imdbid": "tt0000004", "title": "Intermission"}
+                """;
+
+        // when
+        FilmImportReport report = filmImportService.importFilms(body(ndjson), FilmImportFormat.JSON);
+
+        // then
+        assertThat(report.getReceived()).isEqualTo(3);
+        assertThat(report.getInserted()).isEqualTo(3);
+        assertThat(report.getRejected()).isZero();
+        assertThat(filmRepository.findByImdbidIn(List.of("tt0000002", "tt0000003", "tt0000004")))
+                .extracting(Film::getTitle).containsExactlyInAnyOrder("Sack Lunch", "The Long Queue", "Intermission");
+        then(searchService).should(times(3)).indexFilm(any(Film.class));
+        then(filmCatalogService).should().onFilmsSaved(argThat(saved -> saved.size() == 3));
+    }
+
+    @Test
+    @DisplayName("Test JSON array import updates an existing film by imdbid and keeps absent columns")
+    public void givenJsonArrayWithExistingImdbid_whenImport_thenFilmIsUpdated() throws Exception {
+        // given
+        String json = """
+                [{"imdbid": "tt0000001", "title": "Chunnel (Director's Cut)", "vote_average": 8.4}]
+                """;
+
+        // when
+        FilmImportReport report = filmImportService.importFilms(body(json), FilmImportFormat.JSON);
+
+        // then
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getInserted()).isZero();
+        Film updated = filmRepository.findById(existing.getId()).orElseThrow();
+        assertThat(updated.getTitle()).isEqualTo("Chunnel (Director's Cut)");
+        assertThat(updated.getVoteaverage()).isEqualTo(8.4);
+        assertThat(updated.getOverview()).isEqualTo("Original overview");
+        assertThat(filmRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test CSV import with TMDB column names and rejected rows")
+    public void givenCsvWithBadRows_whenImport_thenValidRowsAreSavedAndRejectsReported() throws Exception {
+        // given
+        String csv = """
+                imdb_id,title,release_date,vote_average,vote_count,poster_path
+                tt0000005,Popcorn Heist,2019-05-17,7.5,1200,/p/5.jpg
+                ,No Identifier,2019-05-17,7.0,10,/p/6.jpg
+                tt0000007,Bad Votes,2019-05-17,lots,10,/p/7.jpg
+                tt0000008,Bad Date,17/05/2019,6.0,10,/p/8.jpg
+                """;
+
+        // when
+        FilmImportReport report = filmImportService.importFilms(body(csv), FilmImportFormat.CSV);
+
+        // then
+        assertThat(report.getReceived()).isEqualTo(4);
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(3);
+        assertThat(report.getRejects()).extracting(reject -> reject.getRecord()).containsExactly(2L, 3L, 4L);
+        Film imported = filmRepository.findByImdbidIn(List.of("tt0000005")).get(0);
+        assertThat(imported.getVotecount()).isEqualTo(1200);
+        assertThat(imported.getPosterpath()).isEqualTo("/p/5.jpg");
+    }
+
+    @Test
+    @DisplayName("Test malformed JSON stops the import with a 400-style error")
+    public void givenMalformedJson_whenImport_thenThrowBadRequest() {
+        // given
+        String ndjson = """
+                {"imdbid": "tt0000009", "title": "Fine"}
+                {"imdbid": "tt0000010", "title": 
+                """;
+
+        // when & then
+        assertThatThrownBy(() -> filmImportService.importFilms(body(ndjson), FilmImportFormat.JSON))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("after record 1");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // each batch commits or rolls back on its own
+    @DisplayName("Test a batch that fails to write is rolled back and reported, and the import carries on")
+    public void givenFailingBatch_whenImport_thenFailureReportedAndLaterBatchesSaved() throws Exception {
+        // given: the database refuses sequels, so the first batch fails at flush
+        jdbcTemplate.execute("alter table film add constraint no_sequels check (title not like '% 2')");
+        String ndjson = """
+                {"imdbid": "tt0000011", "title": "Fine"}
+                {"imdbid": "tt0000012", "title": "Sack Lunch 2"}
+                {"imdbid": "tt0000013", "title": "The Long Queue"}
+                {"imdbid": "tt0000014", "title": "Intermission"}
+                """;
+
+        // when
+        FilmImportReport report;
+        try {
+            report = filmImportService.importFilms(body(ndjson), FilmImportFormat.JSON);
+        } finally {
+            jdbcTemplate.execute("alter table film drop constraint no_sequels");
+        }
+
+        // then
+        assertThat(report.getReceived()).isEqualTo(4);
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getFailures()).hasSize(1);
+        assertThat(report.getFailures().get(0).getFirstRecord()).isEqualTo(1);
+        assertThat(report.getFailures().get(0).getLastRecord()).isEqualTo(2);
+        assertThat(filmRepository.findByImdbidIn(List.of("tt0000011", "tt0000012"))).isEmpty();
+        assertThat(filmRepository.findByImdbidIn(List.of("tt0000013", "tt0000014"))).hasSize(2);
+        then(searchService).should(times(2)).indexFilm(any(Film.class));
+        then(filmCatalogService).should().onFilmsSaved(argThat(saved -> saved.size() == 2));
+    }
+}
@@ -0,0 +1,164 @@
+package com.daam.server.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ImageServiceTests {
+
+    @TempDir
+    private Path tempDir;
+
+    private ImageService imageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(tempDir.resolve("images/posters"));
+        writeImage("posters/6.jpg", 1000, 1500);
+        writeImage("posters/7.jpg", 900, 1200);
+        imageService = service(Long.MAX_VALUE);
+    }
+
+    private ImageService service(long cacheMaxBytes) throws IOException {
+        ImageService service = new ImageService();
+        ReflectionTestUtils.setField(service, "root", tempDir.resolve("images").toString());
+        ReflectionTestUtils.setField(service, "cacheDir", tempDir.resolve("cache").toString());
+        ReflectionTestUtils.setField(service, "cacheMaxBytes", cacheMaxBytes);
+        service.init();
+        return service;
+    }
+
+    private void writeImage(String path, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 7) ^ (y * 13));
+            }
+        }
+        ImageIO.write(image, "jpg", tempDir.resolve("images").resolve(path).toFile());
+    }
+
+    @Test
+    @DisplayName("Test the original is served as stored")
+    public void givenOriginal_whenResolve_thenSourceFile() throws IOException {
+        // when
+        ImageService.ImageFile image = imageService.resolve("/posters/6.jpg", ImageVariant.ORIGINAL);
+
+        // then
+        assertThat(image.file()).isEqualTo(tempDir.resolve("images/posters/6.jpg").toAbsolutePath());
+        assertThat(image.mediaType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(image.length()).isEqualTo(Files.size(image.file()));
+        assertThat(image.contentHash()).hasSize(64);
+    }
+
+    @Test
+    @DisplayName("Test a variant is resized to fit its longest side and generated only once")
+    public void givenVariant_whenResolveTwice_thenResizedAndCached() throws IOException {
+        // when
+        ImageService.ImageFile first = imageService.resolve("/posters/6.jpg", ImageVariant.CARD);
+        long generatedAt = Files.getLastModifiedTime(first.file()).toMillis();
+        ImageService.ImageFile second = imageService.resolve("/posters/6.jpg", ImageVariant.CARD);
+
+        // then
+        BufferedImage card = ImageIO.read(first.file().toFile());
+        assertThat(card.getWidth()).isEqualTo(320);
+        assertThat(card.getHeight()).isEqualTo(480);
+        assertThat(second.file()).isEqualTo(first.file());
+        assertThat(Files.getLastModifiedTime(second.file()).toMillis()).isEqualTo(generatedAt);
+        assertThat(imageService.getCacheBytes()).isEqualTo(Files.size(first.file()));
+    }
+
+    @Test
+    @DisplayName("Test a variant larger than the source does not upscale")
+    public void givenLargeVariant_whenResolve_thenSourceDimensionsKept() throws IOException {
+        // when
+        ImageService.ImageFile full = imageService.resolve("/posters/6.jpg", ImageVariant.FULL);
+
+        // then
+        BufferedImage image = ImageIO.read(full.file().toFile());
+        assertThat(image.getWidth()).isEqualTo(1000);
+        assertThat(image.getHeight()).isEqualTo(1500);
+    }
+
+    @Test
+    @DisplayName("Test the least recently used variant is evicted once the cache is over its bound")
+    public void givenCacheOverBound_whenResolve_thenLeastRecentlyUsedEvicted() throws IOException {
+        // given
+        ImageService.ImageFile poster6 = imageService.resolve("/posters/6.jpg", ImageVariant.THUMBNAIL);
+        ImageService.ImageFile poster7 = imageService.resolve("/posters/7.jpg", ImageVariant.THUMBNAIL);
+        ImageService.ImageFile generated = imageService.resolve("/posters/6.jpg", ImageVariant.CARD);
+        long cardBytes = Files.size(generated.file());
+        Files.delete(generated.file());
+        // Restarted with room for one thumbnail and the card; 6 is used again so 7 becomes the eldest
+        imageService = service(Files.size(poster6.file()) + cardBytes);
+        imageService.resolve("/posters/6.jpg", ImageVariant.THUMBNAIL);
+
+        // when
+        ImageService.ImageFile card = imageService.resolve("/posters/6.jpg", ImageVariant.CARD);
+
+        // then
+        assertThat(card.file()).exists();
+        assertThat(poster6.file()).exists();
+        assertThat(poster7.file()).doesNotExist();
+        assertThat(imageService.getCacheBytes()).isEqualTo(Files.size(poster6.file()) + Files.size(card.file()));
+    }
+
+    @Test
+    @DisplayName("Test concurrent requests evicting each other's variants still get the length of the file they resolved")
+    public void givenCacheBoundOfOneVariant_whenResolveConcurrently_thenEveryRequestSucceeds() throws Exception {
+        // given: every new variant evicts all the others
+        imageService = service(1);
+        List<String> paths = List.of("/posters/6.jpg", "/posters/7.jpg");
+        List<ImageVariant> variants = List.of(ImageVariant.THUMBNAIL, ImageVariant.CARD);
+        ExecutorService requests = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<ImageService.ImageFile>> resolved = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                String path = paths.get(i % paths.size());
+                ImageVariant variant = variants.get(i / paths.size() % variants.size());
+                resolved.add(requests.submit(() -> imageService.resolve(path, variant)));
+            }
+
+            // then
+            for (Future<ImageService.ImageFile> image : resolved) {
+                assertThat(image.get(30, TimeUnit.SECONDS).length()).isPositive();
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test paths outside the images root are not found")
+    public void givenTraversalPath_whenResolve_thenThrowNotFound() throws IOException {
+        // given
+        Files.writeString(tempDir.resolve("secret.jpg"), "not an image");
+
+        // when / then
+        assertThatThrownBy(() -> imageService.resolve("/../secret.jpg", ImageVariant.ORIGINAL))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> imageService.resolve("/posters/missing.jpg", ImageVariant.CARD))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
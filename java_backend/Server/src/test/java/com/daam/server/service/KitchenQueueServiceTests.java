@@ -0,0 +1,189 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.KitchenBatch;
+import com.daam.server.dto.KitchenTicket;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.Order;
+import com.daam.server.exception.ConflictException;
+import com.daam.server.exception.ForbiddenException;
+import com.daam.server.repository.ItemRepository;
+import com.daam.server.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class KitchenQueueServiceTests {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private OrderEventHub orderEventHub;
+
+    @InjectMocks
+    private KitchenQueueService kitchenQueueService;
+
+    private static SessionService.Session session(Long userid, String roles) {
+        return new SessionService.Session(userid, "user" + userid, roles, new Timestamp(Long.MAX_VALUE));
+    }
+
+    private static final SessionService.Session SERVER1 = session(4L, "ROLE_SERVER");
+    private static final SessionService.Session SERVER2 = session(5L, "ROLE_SERVER");
+    private static final SessionService.Session CUSTOMER = session(3L, "ROLE_USER");
+
+    private Order order(Long id, long pickupOffsetMinutes) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return new Order(id, 3L, now, new Timestamp(now.getTime() + pickupOffsetMinutes * 60_000), "Theater 1", "Table 1", 1.0, 1.0, "1234", 1, 2028, "new", null);
+    }
+
+    @BeforeEach
+    void setUp() {
+        given(orderRepository.findByStatusIn(anyCollection())).willReturn(List.of(order(1001L, 30), order(1002L, 10)));
+        given(itemRepository.findByOrderidIn(anyCollection())).willReturn(List.of(
+                new Item(1L, 1001L, 4L, 5.10, "", "Nora", null),
+                new Item(2L, 1002L, 4L, 5.10, "", "Carlos", null),
+                new Item(3L, 1002L, 9L, 4.51, "", "Carlos", null)));
+    }
+
+    @Test
+    @DisplayName("Test the queue is ordered by pickup time")
+    public void whenGetQueue_thenEarliestPickupFirst() {
+        // when
+        List<KitchenTicket> queue = kitchenQueueService.getQueue();
+
+        // then
+        assertThat(queue).extracting(KitchenTicket::getOrderId).containsExactly(1002L, 1001L);
+    }
+
+    @Test
+    @DisplayName("Test the batch view aggregates identical items across orders")
+    public void whenGetBatches_thenIdenticalItemsAreGrouped() {
+        // when
+        List<KitchenBatch> batches = kitchenQueueService.getBatches();
+
+        // then
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0).getItemid()).isEqualTo(4L);
+        assertThat(batches.get(0).getQuantity()).isEqualTo(2);
+        assertThat(batches.get(0).getOrderIds()).containsExactlyInAnyOrder(1001L, 1002L);
+    }
+
+    @Test
+    @DisplayName("Test concurrent claims of one order have exactly one winner")
+    public void givenManyTablets_whenClaimSameOrder_thenOnlyOneSucceeds() throws Exception {
+        // given
+        kitchenQueueService.getQueue();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Boolean>> claims = IntStream.range(0, 16)
+                .mapToObj(i -> (Callable<Boolean>) () -> {
+                    try {
+                        kitchenQueueService.claim(1001L, i % 2 == 0 ? SERVER1 : SERVER2);
+                        return true;
+                    } catch (ConflictException e) {
+                        return false;
+                    }
+                })
+                .collect(Collectors.toList());
+
+        // when
+        List<Future<Boolean>> results = executor.invokeAll(claims);
+        executor.shutdown();
+
+        // then
+        long winningStaff = kitchenQueueService.getQueue().stream()
+                .filter(ticket -> ticket.getOrderId() == 1001L)
+                .findFirst().orElseThrow().getClaimedBy();
+        for (int i = 0; i < results.size(); i++) {
+            long staffId = i % 2 == 0 ? 4L : 5L;
+            assertThat(results.get(i).get()).isEqualTo(staffId == winningStaff);
+        }
+        verify(orderRepository, times(1)).updateStatus(1001L, KitchenQueueService.STATUS_PREPARING);
+    }
+
+    @Test
+    @DisplayName("Test completing an order removes it from the queue")
+    public void givenClaimedOrder_whenComplete_thenOrderLeavesQueue() {
+        // given
+        kitchenQueueService.claim(1002L, SERVER1);
+
+        // when
+        kitchenQueueService.complete(1002L, SERVER1);
+
+        // then
+        assertThat(kitchenQueueService.getQueue()).extracting(KitchenTicket::getOrderId).containsExactly(1001L);
+        verify(orderRepository).updateStatus(1002L, KitchenQueueService.STATUS_READY);
+    }
+
+    @Test
+    @DisplayName("Test non-staff users cannot claim orders")
+    public void givenCustomer_whenClaim_thenForbidden() {
+        assertThatThrownBy(() -> kitchenQueueService.claim(1001L, CUSTOMER))
+                .isInstanceOf(ForbiddenException.class);
+    }
+
+    @Test
+    @DisplayName("Test a claim whose status write fails leaves the ticket unclaimed")
+    public void givenFailingWrite_whenClaim_thenTicketUnchanged() {
+        // given
+        given(orderRepository.updateStatus(1001L, KitchenQueueService.STATUS_PREPARING))
+                .willThrow(new IllegalStateException("connection lost"));
+
+        // when
+        assertThatThrownBy(() -> kitchenQueueService.claim(1001L, SERVER1)).isInstanceOf(IllegalStateException.class);
+
+        // then
+        KitchenTicket ticket = kitchenQueueService.getQueue().stream()
+                .filter(t -> t.getOrderId() == 1001L).findFirst().orElseThrow();
+        assertThat(ticket.getClaimedBy()).isNull();
+        assertThat(ticket.getStatus()).isEqualTo("new");
+        verify(orderEventHub, never()).publish(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test an order update keeps the kitchen's claim and moves the ticket by its new pickup time")
+    public void givenClaimedOrder_whenOrderSaved_thenClaimKept() {
+        // given
+        kitchenQueueService.claim(1001L, SERVER1);
+        Order updated = order(1001L, 5);
+        updated.setStatus(KitchenQueueService.STATUS_PREPARING);
+
+        // when
+        kitchenQueueService.onOrderSaved(updated, null);
+
+        // then
+        List<KitchenTicket> queue = kitchenQueueService.getQueue();
+        assertThat(queue).extracting(KitchenTicket::getOrderId).containsExactly(1001L, 1002L);
+        assertThat(queue.get(0).getClaimedBy()).isEqualTo(4L);
+        assertThat(queue.get(0).getItems()).hasSize(1);
+        assertThatThrownBy(() -> kitchenQueueService.claim(1001L, SERVER2)).isInstanceOf(ConflictException.class);
+    }
+}
@@ -0,0 +1,202 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.MenuItemStock;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.exception.ConflictException;
+import com.daam.server.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class MenuStockServiceTests {
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @Mock
+    private MenuSnapshotService menuSnapshotService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private MenuStockService menuStockService;
+
+    @BeforeEach
+    void setUp() {
+        // Burger (1) and fries (2) are tracked; the drink (3) is not
+        given(menuItemRepository.findByStockIsNotNull()).willReturn(List.of(
+                new MenuItemStock(1L, "Bison Burger", 3),
+                new MenuItemStock(2L, "Fries", 50)));
+        // The database has the portions the counters expect
+        given(menuItemRepository.adjustStock(anyMap())).willAnswer(invocation -> invocation.<Map<?, ?>>getArgument(0).size());
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+    }
+
+    private static Item item(Long menuItemId) {
+        return new Item(null, 1001L, menuItemId, 5.00, "", "Nora", null);
+    }
+
+    @Test
+    @DisplayName("Test reserving takes one portion per item of the tracked menu items only")
+    public void givenTrackedAndUntrackedItems_whenReserve_thenTrackedStockDecremented() {
+        // when
+        menuStockService.reserve(List.of(item(1L), item(1L), item(2L), item(3L)));
+
+        // then
+        assertThat(menuStockService.getStock(1L)).isEqualTo(1);
+        assertThat(menuStockService.getStock(2L)).isEqualTo(49);
+        assertThat(menuStockService.getStock(3L)).isNull();
+        verify(menuItemRepository).adjustStock(Map.of(1L, -2, 2L, -1));
+    }
+
+    @Test
+    @DisplayName("Test a reservation one menu item cannot cover takes nothing")
+    public void givenShortStock_whenReserve_thenConflictAndNothingTaken() {
+        // when / then
+        assertThatThrownBy(() -> menuStockService.reserve(List.of(item(2L), item(1L), item(1L), item(1L), item(1L))))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Only 3 of Bison Burger left");
+        assertThat(menuStockService.getStock(1L)).isEqualTo(3);
+        assertThat(menuStockService.getStock(2L)).isEqualTo(50);
+        verify(menuItemRepository, never()).adjustStock(anyMap());
+    }
+
+    @Test
+    @DisplayName("Test concurrent reservations never oversell")
+    public void givenConcurrentReservations_whenStockRunsOut_thenExactlyTheStockIsSold() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Boolean>> orders = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            orders.add(() -> {
+                start.await();
+                try {
+                    menuStockService.reserve(List.of(item(2L)));
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            });
+        }
+
+        // when
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Callable<Boolean> order : orders) {
+            results.add(executor.submit(order));
+        }
+        start.countDown();
+        int sold = 0;
+        for (Future<Boolean> result : results) {
+            sold += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(sold).isEqualTo(50);
+        assertThat(menuStockService.getStock(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Test released portions can be reserved again")
+    public void givenReservation_whenReleased_thenStockRestored() {
+        // given
+        List<Item> items = List.of(item(1L), item(1L), item(1L));
+        menuStockService.reserve(items);
+
+        // when
+        menuStockService.release(items);
+
+        // then
+        assertThat(menuStockService.getStock(1L)).isEqualTo(3);
+        verify(menuItemRepository).adjustStock(Map.of(1L, 3));
+    }
+
+    @Test
+    @DisplayName("Test selling out a menu item refreshes the menu")
+    public void givenLastPortions_whenReserve_thenMenuRefreshed() {
+        // when
+        menuStockService.reserve(List.of(item(1L), item(1L), item(1L)));
+
+        // then
+        verify(menuItemRepository).adjustStock(Map.of(1L, -3));
+        verify(menuSnapshotService).refresh();
+    }
+
+    @Test
+    @DisplayName("Test a reservation that leaves the item available does not refresh the menu")
+    public void givenPartlySoldItem_whenReserve_thenNoMenuRefresh() {
+        // when
+        menuStockService.reserve(List.of(item(2L)));
+
+        // then
+        verify(menuItemRepository).adjustStock(Map.of(2L, -1));
+        verifyNoInteractions(menuSnapshotService);
+    }
+
+    @Test
+    @DisplayName("Test a database with fewer portions than the counter wins: nothing is taken and the counter is reset")
+    public void givenDatabaseShort_whenReserve_thenConflictAndCounterReset() {
+        // given: a restock raced a sale, so the counter shows more than is stored
+        given(menuItemRepository.adjustStock(Map.of(1L, -1, 2L, -1))).willReturn(1);
+        given(menuItemRepository.findByIdIn(any())).willReturn(List.of(
+                new MenuItemStock(1L, "Bison Burger", 2),
+                new MenuItemStock(2L, "Fries", 0)));
+        given(menuItemRepository.findStockById(1L)).willReturn(3);
+        given(menuItemRepository.findStockById(2L)).willReturn(0);
+
+        // when / then
+        assertThatThrownBy(() -> menuStockService.reserve(List.of(item(1L), item(2L))))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Fries is sold out");
+        assertThat(menuStockService.getStock(1L)).isEqualTo(3);
+        assertThat(menuStockService.getStock(2L)).isZero();
+        verify(menuItemRepository).findStockById(2L);
+    }
+
+    @Test
+    @DisplayName("Test restocking a sold-out item lets it be reserved again")
+    public void givenSoldOutItem_whenRestocked_thenReservable() {
+        // given
+        menuStockService.reserve(List.of(item(1L), item(1L), item(1L)));
+        MenuItem burger = new MenuItem(1L, "Bison Burger", "", "entrees", 11.54, null, true, 20, 4L);
+
+        // when
+        menuStockService.onMenuItemSaved(burger);
+        menuStockService.reserve(List.of(item(1L)));
+
+        // then
+        assertThat(menuStockService.getStock(1L)).isEqualTo(19);
+        verify(menuItemRepository).adjustStock(Map.of(1L, -1));
+    }
+}
@@ -0,0 +1,118 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.OrderStatusEvent;
+import com.daam.server.entity.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderEventHubTests {
+
+    private OrderEventHub orderEventHub;
+
+    @BeforeEach
+    void setUp() {
+        orderEventHub = new OrderEventHub();
+        ReflectionTestUtils.setField(orderEventHub, "sendThreads", 1);
+        ReflectionTestUtils.setField(orderEventHub, "sendQueue", 16);
+        ReflectionTestUtils.setField(orderEventHub, "subscriberBuffer", 8);
+        orderEventHub.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderEventHub.shutdown();
+    }
+
+    private Order order(Long id, Long userid, String status) {
+        return new Order(id, userid, new Timestamp(System.currentTimeMillis()), null, "Theater 1", "Table 1", 1.0, 1.0, "1234", 1, 2028, status, null);
+    }
+
+    @Test
+    @DisplayName("Test events after the last seen id are replayed per user and per order")
+    public void givenPublishedEvents_whenEventsAfter_thenReturnOnlyNewerMatchingEvents() {
+        // given
+        orderEventHub.publish(order(1L, 3L, "preparing"), "new");
+        orderEventHub.publish(order(2L, 4L, "preparing"), "new");
+        orderEventHub.publish(order(1L, 3L, "readyForGuest"), "preparing");
+
+        // when
+        List<OrderStatusEvent> userEvents = orderEventHub.eventsAfter(3L, 1L, true);
+        List<OrderStatusEvent> orderEvents = orderEventHub.eventsAfter(2L, 0L, false);
+
+        // then
+        assertThat(userEvents).extracting(OrderStatusEvent::getStatus).containsExactly("readyForGuest");
+        assertThat(orderEvents).extracting(OrderStatusEvent::getUserid).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Test the replay buffer is bounded")
+    public void givenMoreEventsThanBuffer_whenEventsAfter_thenOldestAreDropped() {
+        // given
+        for (int i = 0; i < OrderEventHub.REPLAY_BUFFER_SIZE + 10; i++) {
+            orderEventHub.publish(order(1L, 3L, "status" + i), null);
+        }
+
+        // when
+        List<OrderStatusEvent> events = orderEventHub.eventsAfter(1L, 0L, false);
+
+        // then
+        assertThat(events).hasSize(OrderEventHub.REPLAY_BUFFER_SIZE);
+        assertThat(events.get(0).getEventId()).isEqualTo(11L);
+    }
+
+    @Test
+    @DisplayName("Test subscribers are tracked until their stream completes")
+    public void whenSubscribe_thenSubscriberIsRegistered() {
+        // when
+        orderEventHub.subscribeToUser(3L, null);
+        orderEventHub.subscribeToOrder(1L, null);
+
+        // then
+        assertThat(orderEventHub.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test publishing only queues events, bounded per subscriber, while the send-thread is stuck")
+    public void givenStuckSendThread_whenPublish_thenPublisherNotBlockedAndOutboxBounded() throws Exception {
+        // given: the only send-thread is busy, as if writing to a client that stopped reading
+        CountDownLatch stuck = new CountDownLatch(1);
+        ThreadPoolExecutor sender = (ThreadPoolExecutor) ReflectionTestUtils.getField(orderEventHub, "sender");
+        sender.execute(() -> {
+            try {
+                stuck.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        orderEventHub.subscribeToUser(3L, null);
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            orderEventHub.publish(order(1L, 3L, "status" + i), null);
+        }
+        orderEventHub.sendHeartbeats();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertThat(elapsedMillis).isLessThan(500);
+        assertThat(orderEventHub.pendingEvents()).isEqualTo(8);
+
+        // and once the send-thread is free, the lagging subscriber's stream is ended and its outbox dropped
+        stuck.countDown();
+        sender.shutdown();
+        assertThat(sender.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(orderEventHub.pendingEvents()).isZero();
+    }
+}
@@ -0,0 +1,91 @@
+package com.daam.server.service;
+
+import com.daam.server.entity.Item;
+import com.daam.server.entity.Order;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(OrderExportService.class)
+public class OrderExportServiceTests {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Order withItems, withoutItems;
+
+    @BeforeEach
+    void setUp() {
+        withItems = testEntityManager.persist(order("2025-03-01 18:00:00"));
+        withoutItems = testEntityManager.persist(order("2025-03-02 19:30:00"));
+        testEntityManager.persist(order("2025-04-01 18:00:00"));
+        testEntityManager.persist(new Item(null, withItems.getId(), 1L, 11.54, "no onions, extra pickles", "Nora", null));
+        testEntityManager.persist(new Item(null, withItems.getId(), 2L, 4.25, null, "Hunter", null));
+        testEntityManager.flush();
+    }
+
+    private static Order order(String ordertime) {
+        return new Order(null, 3L, Timestamp.valueOf(ordertime), null, "Theater 1", "Table 37", 1.15, 2.00, "4026", 9, 2028, "completed", null);
+    }
+
+    private String export(OrderExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.export(LocalDateTime.parse("2025-03-01T00:00:00"), LocalDateTime.parse("2025-04-01T00:00:00"), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Test NDJSON export writes one order per line with its items")
+    public void givenOrdersInRange_whenExportNdjson_thenOneLinePerOrder() throws Exception {
+        // when
+        List<String> lines = export(OrderExportFormat.NDJSON).lines().toList();
+
+        // then
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.at("/order/id").asLong()).isEqualTo(withItems.getId());
+        assertThat(first.at("/order/pan").isMissingNode()).isTrue();
+        assertThat(first.get("items")).hasSize(2);
+        assertThat(first.at("/items/0/itemid").asLong()).isEqualTo(1L);
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertThat(second.at("/order/id").asLong()).isEqualTo(withoutItems.getId());
+        assertThat(second.get("items")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test CSV export writes one line per item and quotes embedded commas")
+    public void givenOrdersInRange_whenExportCsv_thenOneLinePerItem() throws Exception {
+        // when
+        List<String> lines = export(OrderExportFormat.CSV).lines().toList();
+
+        // then
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo(OrderExportService.CSV_HEADER);
+        assertThat(lines.get(1)).startsWith(withItems.getId() + ",3,").contains("\"no onions, extra pickles\"");
+        assertThat(lines.get(3)).startsWith(withoutItems.getId() + ",3,").endsWith("completed,,,,,");
+    }
+}
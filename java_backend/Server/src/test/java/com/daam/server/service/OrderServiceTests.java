@@ -0,0 +1,191 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.CheckoutResponse;
+import com.daam.server.dto.OrderDetail;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.entity.Order;
+import com.daam.server.event.ItemsAddedEvent;
+import com.daam.server.event.OrderCreatedEvent;
+import com.daam.server.event.OrderRemovedEvent;
+import com.daam.server.exception.ConflictException;
+import com.daam.server.repository.ItemRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@RecordApplicationEvents
+@Import({OrderService.class, MenuStockService.class})
+public class OrderServiceTests {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MenuStockService menuStockService;
+
+    @MockitoBean
+    private MenuSnapshotService menuSnapshotService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private MenuItem burger;
+
+    @BeforeEach
+    void setUp() {
+        burger = testEntityManager.persistAndFlush(new MenuItem(null, "Bison Burger", "A tasty burger", "entrees", 11.54, "/images/food/burger_1.jpg", true, null, null));
+    }
+
+    private Order newOrder() {
+        return new Order(null, 3L, new Timestamp(System.currentTimeMillis()), null, "Theater 1", "Table 37", 1.15, 2.00, "4026", 9, 2028, "pending", null);
+    }
+
+    @Test
+    @DisplayName("Test checkout saves the order and its items")
+    public void whenCheckout_thenOrderAndItemsAreSaved() {
+        // given
+        List<Item> items = List.of(
+                new Item(null, null, burger.getId(), 11.54, "no onions", "Nora", null),
+                new Item(null, null, burger.getId(), 11.54, "", "Hunter", null));
+
+        // when
+        CheckoutResponse checkout = orderService.checkout(newOrder(), items);
+        testEntityManager.flush();
+
+        // then
+        assertThat(checkout.getOrder().getId()).isNotNull();
+        assertThat(itemRepository.findByOrderid(checkout.getOrder().getId())).hasSize(2);
+        assertThat(events.stream(OrderCreatedEvent.class)).singleElement()
+                .satisfies(event -> assertThat(event.items()).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Test checkout reserves stock and rejects orders for more than is left")
+    public void givenTrackedStock_whenCheckout_thenReservedWithoutOverselling() {
+        // given
+        MenuItem fries = testEntityManager.persistAndFlush(new MenuItem(null, "Fries", "Crispy fries", "sides", 4.25, null, true, 1, null));
+        menuStockService.onMenuItemSaved(fries);
+
+        // when / then
+        assertThatThrownBy(() -> orderService.checkout(newOrder(), List.of(
+                new Item(null, null, fries.getId(), 4.25, "", "Nora", null),
+                new Item(null, null, fries.getId(), 4.25, "", "Hunter", null))))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Only 1 of Fries left");
+        assertThat(menuStockService.getStock(fries.getId())).isEqualTo(1);
+
+        orderService.checkout(newOrder(), List.of(
+                new Item(null, null, fries.getId(), 4.25, "", "Nora", null),
+                new Item(null, null, burger.getId(), 11.54, "", "Hunter", null)));
+        assertThat(menuStockService.getStock(fries.getId())).isZero();
+        assertThat(menuStockService.getStock(burger.getId())).isNull();
+        testEntityManager.flush();
+        testEntityManager.clear();
+        MenuItem stored = testEntityManager.find(MenuItem.class, fries.getId());
+        assertThat(stored.getStock()).isZero();
+        assertThat(stored.isAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test get order detail joins menu metadata and computes totals")
+    public void whenGetOrderDetail_thenReturnItemsWithMenuMetadataAndTotals() {
+        // given
+        CheckoutResponse checkout = orderService.checkout(newOrder(), List.of(
+                new Item(null, null, burger.getId(), 11.54, "", "Nora", null),
+                new Item(null, null, burger.getId(), 0.10, "", "Hunter", null)));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // when
+        OrderDetail detail = orderService.getOrderDetail(checkout.getOrder().getId());
+
+        // then
+        assertThat(detail.getItems()).hasSize(2);
+        assertThat(detail.getItems()).extracting("menuItemName").containsOnly("Bison Burger");
+        assertThat(detail.getSubtotal()).isEqualTo(11.64);
+        assertThat(detail.getTotal()).isEqualTo(14.79);
+    }
+
+    @Test
+    @DisplayName("Test get order detail - not found")
+    public void whenGetOrderDetail_withInvalidId_thenThrowEntityNotFound() {
+        assertThatThrownBy(() -> orderService.getOrderDetail(999L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Test delete order removes the order and its items")
+    public void whenDeleteOrder_thenOrderAndItemsAreRemoved() {
+        // given
+        CheckoutResponse checkout = orderService.checkout(newOrder(), List.of(
+                new Item(null, null, burger.getId(), 11.54, "", "Nora", null),
+                new Item(null, null, burger.getId(), 11.54, "", "Hunter", null)));
+        Long orderId = checkout.getOrder().getId();
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // when
+        OrderService.RemovedOrder removed = orderService.deleteOrder(orderId);
+        testEntityManager.clear();
+
+        // then
+        assertThat(removed.order().getId()).isEqualTo(orderId);
+        assertThat(removed.items()).extracting(Item::getFirstname).containsExactly("Nora", "Hunter");
+        assertThat(testEntityManager.find(Order.class, orderId)).isNull();
+        assertThat(itemRepository.findByOrderid(orderId)).isEmpty();
+        assertThat(events.stream(OrderRemovedEvent.class)).singleElement()
+                .satisfies(event -> assertThat(event.items()).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Test add items saves them under the order, takes their stock and announces them")
+    public void givenOrder_whenAddItems_thenItemsSavedAndPublished() {
+        // given
+        MenuItem fries = testEntityManager.persistAndFlush(new MenuItem(null, "Fries", "Crispy fries", "sides", 4.25, null, true, 3, null));
+        menuStockService.onMenuItemSaved(fries);
+        Order order = orderService.createOrder(newOrder());
+
+        // when
+        List<Item> saved = orderService.addItems(order.getId(), List.of(
+                new Item(null, null, fries.getId(), 4.25, "", "Nora", null),
+                new Item(null, null, burger.getId(), 11.54, "", "Hunter", null)));
+
+        // then
+        assertThat(saved).extracting(Item::getOrderid).containsOnly(order.getId());
+        assertThat(itemRepository.findByOrderid(order.getId())).hasSize(2);
+        assertThat(menuStockService.getStock(fries.getId())).isEqualTo(2);
+        assertThat(events.stream(OrderCreatedEvent.class)).singleElement()
+                .satisfies(event -> assertThat(event.items()).isEmpty());
+        assertThat(events.stream(ItemsAddedEvent.class)).singleElement()
+                .satisfies(event -> assertThat(event.orderid()).isEqualTo(order.getId()));
+    }
+
+    @Test
+    @DisplayName("Test delete order - not found")
+    public void whenDeleteOrder_withInvalidId_thenThrowEntityNotFound() {
+        assertThatThrownBy(() -> orderService.deleteOrder(999L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -0,0 +1,291 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.OrderExportRow;
+import com.daam.server.dto.SalesBucket;
+import com.daam.server.entity.Item;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.entity.Order;
+import com.daam.server.entity.SalesAggregate;
+import com.daam.server.event.OrderCreatedEvent;
+import com.daam.server.event.OrderUpdatedEvent;
+import com.daam.server.repository.ItemRepository;
+import com.daam.server.repository.MenuItemRepository;
+import com.daam.server.repository.OrderRepository;
+import com.daam.server.repository.SalesAggregateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SalesAnalyticsServiceTests {
+
+    private static final LocalDate DAY = LocalDate.parse("2025-03-01");
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @Mock
+    private SalesAggregateRepository salesAggregateRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SalesAnalyticsService salesAnalyticsService;
+
+    private Order order;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        order = new Order(1001L, 3L, Timestamp.valueOf("2025-03-01 18:05:00"), Timestamp.valueOf("2025-03-01 18:40:00"),
+                "Theater 1", "Table 37", 1.15, 2.00, "4026", 9, 2028, "new", null);
+        items = List.of(new Item(1L, 1001L, 1L, 11.54, "", "Nora", null), new Item(2L, 1001L, 2L, 4.25, "", "Hunter", null));
+        given(salesAggregateRepository.findAll()).willReturn(List.of());
+        given(orderRepository.streamExportRows(any(), any())).willReturn(Stream.empty());
+        given(menuItemRepository.findAll()).willReturn(List.of(
+                new MenuItem(1L, "Bison Burger", "", "entrees", 11.54, null, true, null, null),
+                new MenuItem(2L, "Fries", "", "sides", 4.25, null, true, null, null)));
+        given(orderRepository.findById(1001L)).willReturn(Optional.of(order));
+        given(itemRepository.findByOrderid(1001L)).willReturn(items);
+        ReflectionTestUtils.setField(salesAnalyticsService, "applyQueue", 16);
+        salesAnalyticsService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        salesAnalyticsService.flushOnShutdown();
+    }
+
+    private void checkout() throws Exception {
+        salesAnalyticsService.onOrderCreated(new OrderCreatedEvent(order, items));
+        salesAnalyticsService.awaitApplied();
+    }
+
+    private void update(Order previous) throws Exception {
+        salesAnalyticsService.onOrderUpdated(new OrderUpdatedEvent(previous, order));
+        salesAnalyticsService.awaitApplied();
+    }
+
+    private Order copyOf(Order order) {
+        return new Order(order.getId(), order.getUserid(), order.getOrdertime(), order.getPickuptime(), order.getArea(),
+                order.getLocation(), order.getTax(), order.getTip(), order.getPan(), order.getExpiryMonth(),
+                order.getExpiryYear(), order.getStatus(), order.getVersion());
+    }
+
+    private SalesBucket find(List<SalesBucket> buckets, String bucket) {
+        return buckets.stream().filter(b -> b.getBucket().equals(bucket)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Test a checkout updates revenue, categories, items and pickup slots")
+    public void whenCheckout_thenAggregatesIncludeOrder() throws Exception {
+        // given: the aggregates were loaded before the checkout
+        salesAnalyticsService.getRevenueByLocation();
+
+        // when
+        checkout();
+
+        // then
+        SalesBucket day = salesAnalyticsService.getDailyRevenue(DAY, DAY).get(0);
+        assertThat(day.getOrders()).isEqualTo(1);
+        assertThat(day.getRevenue()).isEqualByComparingTo("18.94");
+        assertThat(find(salesAnalyticsService.getRevenueByCategory(), "entrees").getRevenue()).isEqualByComparingTo("11.54");
+        assertThat(salesAnalyticsService.getTopItems(5)).extracting(SalesBucket::getBucket).containsExactlyInAnyOrder("1", "2");
+        assertThat(find(salesAnalyticsService.getPickupSlots(DAY), "2025-03-01T18:30").getOrders()).isEqualTo(1);
+        assertThat(salesAnalyticsService.getPickupSlots(DAY)).hasSize(96);
+    }
+
+    @Test
+    @DisplayName("Test an order update moves revenue to the new location")
+    public void givenCheckout_whenLocationChanges_thenRevenueMoves() throws Exception {
+        // given
+        salesAnalyticsService.getRevenueByLocation();
+        checkout();
+        Order previous = copyOf(order);
+        order.setLocation("Table 12");
+
+        // when
+        update(previous);
+
+        // then
+        List<SalesBucket> locations = salesAnalyticsService.getRevenueByLocation();
+        assertThat(find(locations, "Theater 1 / Table 12").getRevenue()).isEqualByComparingTo("18.94");
+        assertThat(find(locations, "Theater 1 / Table 37").getRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(find(locations, "Theater 1 / Table 37").getOrders()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test flush writes deltas once and inserts missing rows")
+    public void givenCheckout_whenFlush_thenDeltasAreWrittenOnce() throws Exception {
+        // given
+        salesAnalyticsService.getRevenueByLocation();
+        checkout();
+        given(salesAggregateRepository.increment(anyString(), anyString(), anyLong(), anyLong(), anyLong())).willReturn(0);
+
+        // when
+        salesAnalyticsService.flush();
+        salesAnalyticsService.flush();
+
+        // then
+        verify(salesAggregateRepository).increment("day", "2025-03-01", 1L, 0L, 1894L);
+        verify(salesAggregateRepository).save(new SalesAggregate("day", "2025-03-01", 1L, 0L, 1894L));
+        // day, location, slot, two categories and two items
+        verify(salesAggregateRepository, times(7)).save(any(SalesAggregate.class));
+    }
+
+    @Test
+    @DisplayName("Test totals are loaded from the summary table without scanning orders")
+    public void givenPersistedAggregates_whenRead_thenNoBackfill() {
+        // given
+        given(salesAggregateRepository.findAll()).willReturn(List.of(new SalesAggregate("day", "2025-03-01", 40L, 0L, 125050L)));
+
+        // when
+        SalesBucket day = salesAnalyticsService.getDailyRevenue(DAY, DAY).get(0);
+
+        // then
+        assertThat(day.getOrders()).isEqualTo(40);
+        assertThat(day.getRevenue()).isEqualByComparingTo("1250.50");
+        verify(orderRepository, never()).streamExportRows(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test an empty summary table is backfilled from the orders and items")
+    public void givenNoPersistedAggregates_whenRead_thenBackfillFromOrders() {
+        // given
+        given(orderRepository.streamExportRows(any(), any())).willReturn(Stream.of(
+                new OrderExportRow(1001L, 3L, order.getOrdertime(), order.getPickuptime(), "Theater 1", "Table 37", 1.15, 2.00, "new", 1L, 1L, 11.54, "", "Nora"),
+                new OrderExportRow(1001L, 3L, order.getOrdertime(), order.getPickuptime(), "Theater 1", "Table 37", 1.15, 2.00, "new", 2L, 2L, 4.25, "", "Hunter")));
+
+        // when
+        SalesBucket day = salesAnalyticsService.getDailyRevenue(DAY, DAY).get(0);
+
+        // then
+        assertThat(day.getOrders()).isEqualTo(1);
+        assertThat(day.getRevenue()).isEqualByComparingTo("18.94");
+        assertThat(find(salesAnalyticsService.getRevenueByCategory(), "sides").getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test a checkout that committed before the backfill read the orders is counted once")
+    public void givenCheckoutInBackfill_whenEventApplied_thenCountedOnce() throws Exception {
+        // given: the first write after startup triggers the backfill, which already sees its order
+        given(orderRepository.streamExportRows(any(), any())).willReturn(Stream.of(
+                new OrderExportRow(1001L, 3L, order.getOrdertime(), order.getPickuptime(), "Theater 1", "Table 37", 1.15, 2.00, "new", 1L, 1L, 11.54, "", "Nora"),
+                new OrderExportRow(1001L, 3L, order.getOrdertime(), order.getPickuptime(), "Theater 1", "Table 37", 1.15, 2.00, "new", 2L, 2L, 4.25, "", "Hunter")));
+
+        // when
+        checkout();
+
+        // then
+        SalesBucket day = salesAnalyticsService.getDailyRevenue(DAY, DAY).get(0);
+        assertThat(day.getOrders()).isEqualTo(1);
+        assertThat(day.getRevenue()).isEqualByComparingTo("18.94");
+        assertThat(find(salesAnalyticsService.getTopItems(5), "1").getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test the backfill does not start its read while a checkout is committing, and counts it once")
+    public void givenCheckoutCommitting_whenBackfill_thenReadWaitsAndCountedOnce() throws Exception {
+        // given: a checkout is between its stamp and the end of its commit
+        given(orderRepository.streamExportRows(any(), any())).willReturn(Stream.of(
+                new OrderExportRow(1001L, 3L, order.getOrdertime(), order.getPickuptime(), "Theater 1", "Table 37", 1.15, 2.00, "new", 1L, 1L, 11.54, "", "Nora"),
+                new OrderExportRow(1001L, 3L, order.getOrdertime(), order.getPickuptime(), "Theater 1", "Table 37", 1.15, 2.00, "new", 2L, 2L, 4.25, "", "Hunter")));
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<List<SalesBucket>> read;
+        try {
+            salesAnalyticsService.onOrderCreated(new OrderCreatedEvent(order, items));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+
+            // when
+            read = CompletableFuture.supplyAsync(salesAnalyticsService::getRevenueByLocation);
+            verify(orderRepository, after(100).never()).streamExportRows(any(), any());
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        read.get(5, TimeUnit.SECONDS);
+        salesAnalyticsService.awaitApplied();
+
+        // then
+        SalesBucket day = salesAnalyticsService.getDailyRevenue(DAY, DAY).get(0);
+        assertThat(day.getOrders()).isEqualTo(1);
+        assertThat(day.getRevenue()).isEqualByComparingTo("18.94");
+    }
+
+    @Test
+    @DisplayName("Test cancelled orders are left out of the backfill")
+    public void givenCancelledOrder_whenBackfill_thenNotCounted() {
+        // given
+        given(orderRepository.streamExportRows(any(), any())).willReturn(Stream.of(
+                new OrderExportRow(1001L, 3L, order.getOrdertime(), order.getPickuptime(), "Theater 1", "Table 37", 1.15, 2.00, "new", 1L, 1L, 11.54, "", "Nora"),
+                new OrderExportRow(1002L, 4L, order.getOrdertime(), order.getPickuptime(), "Theater 1", "Table 38", 1.00, 1.00, "cancelled", 3L, 2L, 4.25, "", "Lee")));
+
+        // when
+        SalesBucket day = salesAnalyticsService.getDailyRevenue(DAY, DAY).get(0);
+
+        // then
+        assertThat(day.getOrders()).isEqualTo(1);
+        assertThat(day.getRevenue()).isEqualByComparingTo("14.69");
+        assertThat(salesAnalyticsService.getRevenueByCategory()).extracting(SalesBucket::getBucket).containsExactly("entrees");
+    }
+
+    @Test
+    @DisplayName("Test cancelling an order takes it out of every aggregate")
+    public void givenCheckout_whenCancelled_thenOrderIsReversed() throws Exception {
+        // given
+        salesAnalyticsService.getRevenueByLocation();
+        checkout();
+        Order previous = copyOf(order);
+        order.setStatus(SalesAnalyticsService.STATUS_CANCELLED);
+
+        // when
+        update(previous);
+
+        // then
+        SalesBucket day = salesAnalyticsService.getDailyRevenue(DAY, DAY).get(0);
+        assertThat(day.getOrders()).isZero();
+        assertThat(day.getRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(find(salesAnalyticsService.getRevenueByCategory(), "entrees").getRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(find(salesAnalyticsService.getTopItems(5), "2").getQuantity()).isZero();
+        assertThat(find(salesAnalyticsService.getPickupSlots(DAY), "2025-03-01T18:30").getOrders()).isZero();
+    }
+}
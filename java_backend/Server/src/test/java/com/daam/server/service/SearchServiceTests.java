@@ -0,0 +1,83 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.SearchResult;
+import com.daam.server.entity.Film;
+import com.daam.server.entity.MenuItem;
+import com.daam.server.repository.FilmRepository;
+import com.daam.server.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class SearchServiceTests {
+
+    @Mock
+    private FilmRepository filmRepository;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    private Film chunnel;
+    private MenuItem burger;
+
+    @BeforeEach
+    void setUp() {
+        chunnel = new Film(1L, "Chunnel", null, null, "A mysterious explosion rocks the tunnel", "/images/posters/1.jpg", 120, "Trapped under the sea", 7.1, "tt0137523", 6.2, 52, null);
+        burger = new MenuItem(1L, "Bison Burger", "Lean, humanely raised meat with classic burger fixings", "entrees", 11.54, "/images/food/burger_1.jpg", true, null, null);
+        Film sackLunch = new Film(6L, "Sack Lunch", null, null, "A feel-good adventure for the family", "/images/posters/6.jpg", 0, "Pack in the fun", 7.5, "tt0137524", 7.3, 42, null);
+        MenuItem fries = new MenuItem(2L, "Fries", "Crispy fries, great with a burger", "sides", 4.00, "/images/food/fries.jpg", true, null, null);
+        given(filmRepository.findAll()).willReturn(List.of(chunnel, sackLunch));
+        given(menuItemRepository.findAll()).willReturn(List.of(burger, fries));
+    }
+
+    @Test
+    @DisplayName("Test search ranks a name match above a description match")
+    public void whenSearch_thenNameMatchRanksFirst() {
+        // when
+        List<SearchResult> results = searchService.search("Burger", 10);
+
+        // then
+        assertThat(results).extracting(SearchResult::getTitle).containsExactly("Bison Burger", "Fries");
+    }
+
+    @Test
+    @DisplayName("Test search matches film tagline and overview")
+    public void whenSearchFilmText_thenReturnFilm() {
+        // when
+        List<SearchResult> results = searchService.search("tunnel explosion", 10);
+
+        // then
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getType()).isEqualTo(SearchService.TYPE_FILM);
+        assertThat(results.get(0).getId()).isEqualTo(chunnel.getId());
+    }
+
+    @Test
+    @DisplayName("Test index updates are visible to the next search")
+    public void whenMenuItemUpdatedAndFilmRemoved_thenSearchReflectsChanges() {
+        // given
+        searchService.search("warm up", 10);
+        burger.setName("Bison Slider");
+
+        // when
+        searchService.indexMenuItem(burger);
+        searchService.removeFilm(chunnel.getId());
+
+        // then
+        assertThat(searchService.search("slider", 10)).extracting(SearchResult::getId).containsExactly(burger.getId());
+        assertThat(searchService.search("chunnel", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,224 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.SeatHold;
+import com.daam.server.dto.SeatMapView;
+import com.daam.server.entity.SeatBooking;
+import com.daam.server.entity.Showtime;
+import com.daam.server.exception.BadRequestException;
+import com.daam.server.exception.ConflictException;
+import com.daam.server.repository.SeatBookingRepository;
+import com.daam.server.repository.ShowtimeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SeatInventoryServiceTests {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private SeatBookingRepository seatBookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SeatInventoryService seatInventoryService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(seatInventoryService, "holdTtlSeconds", 300L);
+        Timestamp tomorrow = new Timestamp(System.currentTimeMillis() + 86_400_000L);
+        // 10 rows of 12: 120 seats, spanning two bitmap words
+        given(showtimeRepository.findById(7L)).willReturn(Optional.of(new Showtime(7L, 1L, tomorrow, "Theater 1", 10, 12, 0L)));
+        given(seatBookingRepository.findSeatsByShowtimeid(7L)).willReturn(List.of("A1"));
+        given(seatBookingRepository.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Test seats already booked in the database are shown as booked")
+    public void givenBookedSeat_whenGetSeatMap_thenBookedAndNotAvailable() {
+        // when
+        SeatMapView seatMap = seatInventoryService.getSeatMap(7L);
+
+        // then
+        assertThat(seatMap.getRows()).hasSize(10);
+        assertThat(seatMap.getRows().get(0)).isEqualTo("B...........");
+        assertThat(seatMap.getAvailable()).isEqualTo(119);
+    }
+
+    @Test
+    @DisplayName("Test held seats cannot be held again until the hold is released")
+    public void givenHeldSeats_whenHoldOverlapping_thenConflictUntilReleased() {
+        // given
+        SeatHold hold = seatInventoryService.hold(7L, 3L, List.of("e8", "E7"));
+
+        // when / then
+        assertThat(hold.getSeats()).containsExactly("E7", "E8");
+        assertThat(seatInventoryService.getSeatMap(7L).getRows().get(4)).isEqualTo("......HH....");
+        assertThatThrownBy(() -> seatInventoryService.hold(7L, 4L, List.of("E8", "E9")))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> seatInventoryService.hold(7L, 4L, List.of("A1")))
+                .isInstanceOf(ConflictException.class);
+
+        seatInventoryService.release(7L, hold.getHoldId());
+        assertThat(seatInventoryService.hold(7L, 4L, List.of("E8", "E9")).getSeats()).containsExactly("E8", "E9");
+    }
+
+    @Test
+    @DisplayName("Test a failed multi-seat hold leaves none of its seats held")
+    public void givenPartlyTakenSeats_whenHold_thenNothingHeld() {
+        // given
+        seatInventoryService.hold(7L, 3L, List.of("J12"));
+
+        // when
+        assertThatThrownBy(() -> seatInventoryService.hold(7L, 4L, List.of("A2", "J11", "J12")))
+                .isInstanceOf(ConflictException.class);
+
+        // then
+        SeatMapView seatMap = seatInventoryService.getSeatMap(7L);
+        assertThat(seatMap.getRows().get(0)).isEqualTo("B...........");
+        assertThat(seatMap.getRows().get(9)).isEqualTo("...........H");
+        assertThat(seatMap.getAvailable()).isEqualTo(118);
+    }
+
+    @Test
+    @DisplayName("Test concurrent holds on the same seats have exactly one winner")
+    public void givenConcurrentHolds_whenSameSeats_thenOneSucceeds() throws Exception {
+        // given
+        int attempts = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Boolean>> holds = new ArrayList<>();
+        for (long user = 0; user < attempts; user++) {
+            long userid = user;
+            holds.add(() -> {
+                start.await();
+                try {
+                    // Alternating seat order; the overlap spans both bitmap words
+                    seatInventoryService.hold(7L, userid, userid % 2 == 0 ? List.of("F4", "F5", "J12") : List.of("J12", "F5"));
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            });
+        }
+
+        // when
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Callable<Boolean> hold : holds) {
+            results.add(executor.submit(hold));
+        }
+        start.countDown();
+        int won = 0;
+        for (Future<Boolean> result : results) {
+            won += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(won).isEqualTo(1);
+        SeatMapView seatMap = seatInventoryService.getSeatMap(7L);
+        assertThat(seatMap.getRows().get(9)).isEqualTo("...........H");
+        assertThat(seatMap.getAvailable()).isIn(117, 116);
+    }
+
+    @Test
+    @DisplayName("Test confirming a hold books its seats once")
+    public void givenHold_whenConfirm_thenSeatsBooked() {
+        // given
+        SeatHold hold = seatInventoryService.hold(7L, 3L, List.of("C3", "C4"));
+
+        // when
+        List<SeatBooking> bookings = seatInventoryService.confirm(7L, hold.getHoldId(), 1001L);
+
+        // then
+        assertThat(bookings).extracting(SeatBooking::getSeat).containsExactly("C3", "C4");
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getUserid()).isEqualTo(3L);
+            assertThat(booking.getOrderid()).isEqualTo(1001L);
+        });
+        assertThat(seatInventoryService.getSeatMap(7L).getRows().get(2)).isEqualTo("..BB........");
+        verify(seatBookingRepository).saveAll(anyList());
+        assertThatThrownBy(() -> seatInventoryService.confirm(7L, hold.getHoldId(), 1001L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Test a confirm rejected by the database marks the seats booked elsewhere and releases the rest")
+    public void givenSeatBookedElsewhere_whenConfirm_thenConflictAndOnlyFreeSeatsReleased() {
+        // given: another instance has sold D2 since the seat map was loaded
+        SeatHold hold = seatInventoryService.hold(7L, 3L, List.of("D1", "D2"));
+        given(seatBookingRepository.saveAll(anyList())).willThrow(new DataIntegrityViolationException("uk_seat_booking_seat"));
+        given(seatBookingRepository.findSeatsByShowtimeid(7L)).willReturn(List.of("A1", "D2"));
+
+        // when / then
+        assertThatThrownBy(() -> seatInventoryService.confirm(7L, hold.getHoldId(), null))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("[D2]");
+        assertThat(seatInventoryService.getSeatMap(7L).getRows().get(3)).isEqualTo(".B..........");
+        assertThatThrownBy(() -> seatInventoryService.hold(7L, 4L, List.of("D2")))
+                .isInstanceOf(ConflictException.class);
+        assertThat(seatInventoryService.hold(7L, 4L, List.of("D1")).getSeats()).containsExactly("D1");
+    }
+
+    @Test
+    @DisplayName("Test expired holds are released by the sweep and can no longer be confirmed")
+    public void givenExpiredHold_whenSweep_thenSeatsReleased() {
+        // given
+        ReflectionTestUtils.setField(seatInventoryService, "holdTtlSeconds", 0L);
+        SeatHold hold = seatInventoryService.hold(7L, 3L, List.of("B5", "B6"));
+
+        // when
+        seatInventoryService.expireHolds();
+
+        // then
+        assertThat(seatInventoryService.getSeatMap(7L).getRows().get(1)).isEqualTo("............");
+        assertThatThrownBy(() -> seatInventoryService.confirm(7L, hold.getHoldId(), null))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Test unknown, duplicate or too many seats are rejected")
+    public void givenInvalidSeats_whenHold_thenThrowBadRequest() {
+        // when / then
+        assertThatThrownBy(() -> seatInventoryService.hold(7L, 3L, List.of("K1")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> seatInventoryService.hold(7L, 3L, List.of("A13")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> seatInventoryService.hold(7L, 3L, List.of("A2", "a2")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> seatInventoryService.hold(7L, 3L, List.of("B1", "B2", "B3", "B4", "B5", "B6", "B7", "B8", "B9", "B10", "B11")))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(seatInventoryService.getSeatMap(7L).getAvailable()).isEqualTo(119);
+    }
+}
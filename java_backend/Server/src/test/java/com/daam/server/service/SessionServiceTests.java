@@ -0,0 +1,167 @@
+package com.daam.server.service;
+
+import com.daam.server.dto.LoginResponse;
+import com.daam.server.dto.UserCredentials;
+import com.daam.server.exception.ServiceUnavailableException;
+import com.daam.server.exception.UnauthorizedException;
+import com.daam.server.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SessionServiceTests {
+
+    // Cost 4 keeps the tests fast; production hashes are cost 12
+    private static final String HASH = new BCryptPasswordEncoder(4).encode("secret");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private SessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sessionService, "bcryptStrength", 4);
+        ReflectionTestUtils.setField(sessionService, "verifyThreads", 2);
+        ReflectionTestUtils.setField(sessionService, "verifyQueue", 8);
+        ReflectionTestUtils.setField(sessionService, "sessionTtlMinutes", 60L);
+        sessionService.init();
+        given(userRepository.findCredentialsByUsername(anyString())).willReturn(Optional.empty());
+        given(userRepository.findCredentialsByUsername("me")).willReturn(Optional.of(new UserCredentials(3L, "me", HASH, "ROLE_USER")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test a login issues a token that later checks accept without querying or hashing again")
+    public void givenValidLogin_whenAuthenticate_thenSessionFromMemory() throws Exception {
+        // given
+        LoginResponse login = sessionService.login("me", "secret").get(5, TimeUnit.SECONDS);
+
+        // when
+        long start = System.nanoTime();
+        SessionService.Session session = null;
+        for (int i = 0; i < 10_000; i++) {
+            session = sessionService.authenticate(login.getToken());
+        }
+        long averageNanos = (System.nanoTime() - start) / 10_000;
+
+        // then
+        assertThat(login.getToken()).hasSize(43);
+        assertThat(login.getUserid()).isEqualTo(3L);
+        assertThat(session).isNotNull();
+        assertThat(session.userid()).isEqualTo(3L);
+        assertThat(session.roles()).isEqualTo("ROLE_USER");
+        assertThat(TimeUnit.NANOSECONDS.toMicros(averageNanos)).isLessThan(50);
+        verify(userRepository, times(1)).findCredentialsByUsername("me");
+    }
+
+    @Test
+    @DisplayName("Test a wrong password and an unknown user are both rejected the same way")
+    public void givenBadCredentials_whenLogin_thenUnauthorized() {
+        // when / then
+        assertThatThrownBy(() -> sessionService.login("me", "wrong").get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause().isInstanceOf(UnauthorizedException.class).hasMessage("Invalid username or password");
+        assertThatThrownBy(() -> sessionService.login("nobody", "secret").get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause().isInstanceOf(UnauthorizedException.class).hasMessage("Invalid username or password");
+    }
+
+    @Test
+    @DisplayName("Test logins beyond the verification queue are turned away at once")
+    public void givenFullVerificationQueue_whenLogin_thenServiceUnavailable() {
+        // given
+        sessionService.shutdown();
+        ReflectionTestUtils.setField(sessionService, "verifyThreads", 1);
+        ReflectionTestUtils.setField(sessionService, "verifyQueue", 1);
+        sessionService.init();
+        // Cost 10: long enough for the next two logins to arrive while it runs
+        String slowHash = new BCryptPasswordEncoder(10).encode("secret");
+        given(userRepository.findCredentialsByUsername("slow")).willReturn(Optional.of(new UserCredentials(4L, "slow", slowHash, "ROLE_USER")));
+
+        // when
+        CompletableFuture<LoginResponse> running = sessionService.login("slow", "secret");
+        CompletableFuture<LoginResponse> queued = sessionService.login("slow", "secret");
+
+        // then
+        assertThatThrownBy(() -> sessionService.login("slow", "secret"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(running.join().getUserid()).isEqualTo(4L);
+        assertThat(queued.join().getUserid()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Test expired, logged out and evicted sessions are no longer accepted")
+    public void givenEndedSessions_whenAuthenticate_thenNull() throws Exception {
+        // given
+        String loggedOut = sessionService.login("me", "secret").get(5, TimeUnit.SECONDS).getToken();
+        String evicted = sessionService.login("me", "secret").get(5, TimeUnit.SECONDS).getToken();
+        ReflectionTestUtils.setField(sessionService, "sessionTtlMinutes", 0L);
+        String expired = sessionService.login("me", "secret").get(5, TimeUnit.SECONDS).getToken();
+
+        // when
+        sessionService.logout(loggedOut);
+        assertThat(sessionService.authenticate(evicted)).isNotNull();
+        sessionService.evictUser(3L);
+
+        // then
+        assertThat(sessionService.authenticate(loggedOut)).isNull();
+        assertThat(sessionService.authenticate(evicted)).isNull();
+        assertThat(sessionService.authenticate(expired)).isNull();
+        assertThat(sessionService.authenticate("not-a-token")).isNull();
+    }
+
+    @Test
+    @DisplayName("Test every password is stored as a BCrypt hash, even one that looks like a hash already")
+    public void givenPasswords_whenEncodePassword_thenAlwaysHashed() {
+        // when
+        String encoded = sessionService.encodePassword("secret").join();
+        String rehashed = sessionService.encodePassword(HASH).join();
+
+        // then
+        assertThat(encoded).startsWith("$2a$04$");
+        assertThat(new BCryptPasswordEncoder().matches("secret", encoded)).isTrue();
+        assertThat(rehashed).isNotEqualTo(HASH);
+        assertThat(new BCryptPasswordEncoder().matches(HASH, rehashed)).isTrue();
+        assertThat(sessionService.encodePassword(null).join()).isNull();
+    }
+
+    @Test
+    @DisplayName("Test the token is read from a bearer Authorization header only")
+    public void givenAuthorizationHeaders_whenBearerToken_thenTokenOrNull() {
+        // when / then
+        assertThat(SessionService.bearerToken("Bearer abc")).isEqualTo("abc");
+        assertThat(SessionService.bearerToken("bearer abc")).isEqualTo("abc");
+        assertThat(SessionService.bearerToken("Basic YWJj")).isNull();
+        assertThat(SessionService.bearerToken("Bearer ")).isNull();
+        assertThat(SessionService.bearerToken(null)).isNull();
+    }
+}
@@ -38,7 +38,7 @@ export async function placeOrderAction(
 
     // Use the internal Docker service name and port for server-side fetch
     const apiUrl = 'http://backend-service:8080';
-    const orderApiUrl = `${apiUrl}/api/orders`;
+    const checkoutApiUrl = `${apiUrl}/api/orders/checkout`;
 
     // Prepare the main order payload (including payment details)
     const orderPayload = {
@@ -58,61 +58,40 @@ export async function placeOrderAction(
         status: "pending"
     };
 
+    const itemsPayload = orderItems.map(item => ({
+        itemid: item.itemid,
+        price: item.price,
+        notes: item.notes || "",
+        // Use customerFirstName for each item's firstName field if needed by API
+        // Otherwise, if firstName was per-item, it should be in OrderItemData
+        firstName: customerFirstName || "",
+    }));
+
     let createdOrderId: number | null = null;
 
     try {
-        // --- Create Order ---
-        console.log("Server Action: Placing order:", orderPayload);
-        const orderRes = await fetch(orderApiUrl, {
+        // --- Create Order and its Items in one transaction ---
+        console.log("Server Action: Placing order:", orderPayload, itemsPayload);
+        const checkoutRes = await fetch(checkoutApiUrl, {
             method: 'POST',
             headers: { 'Content-Type': 'application/json' },
-            body: JSON.stringify(orderPayload),
+            body: JSON.stringify({ order: orderPayload, items: itemsPayload }),
             cache: 'no-store', // Ensure fresh request
         });
 
-        if (!orderRes.ok) {
-            const errorText = await orderRes.text();
-            console.error("Server Action: Failed to create order:", orderRes.status, errorText);
-            throw new Error(`Failed to create order: ${orderRes.status} ${errorText || '(No error details)'}`);
+        if (!checkoutRes.ok) {
+            const errorText = await checkoutRes.text();
+            console.error("Server Action: Failed to place order:", checkoutRes.status, errorText);
+            throw new Error(`Failed to place order: ${checkoutRes.status} ${errorText || '(No error details)'}`);
         }
 
-        const createdOrder = await orderRes.json();
-        createdOrderId = createdOrder.id; // Store the ID
+        const checkout = await checkoutRes.json();
+        createdOrderId = checkout.order?.id;
         if (!createdOrderId) {
             console.error("Server Action: Order created, but ID was not returned.");
             throw new Error("Order created, but ID was not returned from the backend.");
         }
-        console.log("Server Action: Order created successfully:", createdOrder);
-
-        // --- Add Items to Order ---
-        const itemsPayload = orderItems.map(item => ({
-            itemid: item.itemid,
-            price: item.price,
-            notes: item.notes || "",
-            // Use customerFirstName for each item's firstName field if needed by API
-            // Otherwise, if firstName was per-item, it should be in OrderItemData
-            firstName: customerFirstName || "",
-        }));
-
-        const itemsApiUrl = `${apiUrl}/api/items/order/${createdOrderId}`;
-        console.log("Server Action: Adding items to order:", itemsPayload);
-
-        const itemsRes = await fetch(itemsApiUrl, {
-            method: 'POST',
-            headers: { 'Content-Type': 'application/json' },
-            body: JSON.stringify(itemsPayload),
-            cache: 'no-store',
-        });
-
-        if (!itemsRes.ok) {
-            const errorText = await itemsRes.text();
-            console.error(`Server Action: Failed to add items to order ${createdOrderId}:`, itemsRes.status, errorText);
-            // Consider attempting to delete the order here if items fail (rollback logic)
-            throw new Error(`Order #${createdOrderId} created, but failed to add items: ${itemsRes.status} ${errorText || '(No error details)'}`);
-        }
-
-        const addedItems = await itemsRes.json();
-        console.log("Server Action: Items added successfully:", addedItems);
+        console.log("Server Action: Order created successfully:", checkout);
 
         // Revalidate the orders page cache so the new order appears immediately
         revalidatePath('/orders');
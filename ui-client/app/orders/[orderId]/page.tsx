@@ -24,7 +24,6 @@ import FormattedDate from '@/components/FormattedDate'; // Import FormattedDate
 // --- Types ---
 type Order = { id: number; userid: number; ordertime: string; pickuptime: string; area: string; location: string; tax: number; tip: number; pan: string; expiryMonth: number; expiryYear: number; status: string; };
 type Item = { id: number; orderid: number; itemid: number; price: number; notes: string; firstName: string; };
-type MenuItem = { id: number; name: string; description: string; category: string; price: number; imageurl: string; available: boolean; };
 export type OrderDetailItem = Item & { menuItemName: string; menuItemImageurl: string; };
 
 // --- Helper Functions ---
@@ -32,7 +31,7 @@ const formatCurrency = (amount: number) => new Intl.NumberFormat('en-US', { styl
 const getStatusVariant = (status: string | null | undefined): "default" | "secondary" | "destructive" | "outline" => { switch (status?.toLowerCase()) { case 'completed': return 'default'; case 'pending': return 'secondary'; case 'cancelled': return 'destructive'; default: return 'outline'; } };
 
 // --- Fetching Function ---
-async function fetchOrderDetails(orderId: string): Promise<{ order: Order; items: OrderDetailItem[] }> { const backendBaseUrl = 'http://backend-service:8080'; const orderUrl = `${backendBaseUrl}/api/orders/${orderId}`; const itemsUrl = `${backendBaseUrl}/api/items/order/${orderId}`; const menuItemsUrl = `${backendBaseUrl}/api/menuitems`; const placeholderImageUrl = 'https://placehold.co/64x64/e2e8f0/a0aec0?text=N/A'; try { const [orderRes, itemsRes, menuItemsRes] = await Promise.all([ fetch(orderUrl, { cache: 'no-store' }), fetch(itemsUrl, { cache: 'no-store' }), fetch(menuItemsUrl, { cache: 'no-store' }) ]); if (!orderRes.ok) throw new Error(`Failed to fetch order: ${orderRes.status} ${await orderRes.text()}`); if (!itemsRes.ok) throw new Error(`Failed to fetch items: ${itemsRes.status} ${await itemsRes.text()}`); if (!menuItemsRes.ok) throw new Error(`Failed to fetch menu items: ${menuItemsRes.status} ${await menuItemsRes.text()}`); const order: Order = await orderRes.json(); const items: Item[] = await itemsRes.json(); const menuItems: MenuItem[] = await menuItemsRes.json(); const menuItemMap = new Map<number, MenuItem>(menuItems.map(item => [item.id, item])); const detailedItems: OrderDetailItem[] = items.map(item => { const menuItem = menuItemMap.get(item.itemid); return { ...item, menuItemName: menuItem?.name || 'Unknown Item', menuItemImageurl: menuItem?.imageurl || placeholderImageUrl, }; }); return { order, items: detailedItems }; } catch (error: any) { console.error(`Error fetching details for order ${orderId}:`, error); throw new Error(error.message || 'Failed to fetch order details.'); } }
+async function fetchOrderDetails(orderId: string): Promise<{ order: Order; items: OrderDetailItem[] }> { const backendBaseUrl = 'http://backend-service:8080'; const orderDetailUrl = `${backendBaseUrl}/api/orders/${orderId}/full`; const placeholderImageUrl = 'https://placehold.co/64x64/e2e8f0/a0aec0?text=N/A'; try { const orderDetailRes = await fetch(orderDetailUrl, { cache: 'no-store' }); if (!orderDetailRes.ok) throw new Error(`Failed to fetch order: ${orderDetailRes.status} ${await orderDetailRes.text()}`); const orderDetail: { order: Order; items: (Item & { menuItemName: string | null; menuItemImageurl: string | null })[] } = await orderDetailRes.json(); const detailedItems: OrderDetailItem[] = orderDetail.items.map(item => ({ ...item, menuItemName: item.menuItemName || 'Unknown Item', menuItemImageurl: item.menuItemImageurl || placeholderImageUrl, })); return { order: orderDetail.order, items: detailedItems }; } catch (error: any) { console.error(`Error fetching details for order ${orderId}:`, error); throw new Error(error.message || 'Failed to fetch order details.'); } }
 
 // --- Page Component ---
 interface OrderDetailPageProps { params: { orderId: string }; }
@@ -2,6 +2,9 @@
 // Server Component to fetch initial orders and render the interactive table
 
 import React from 'react';
+import Link from 'next/link';
+
+import { Button } from '@/components/ui/button';
 
 // Import the Client Component that handles filtering/sorting/display
 import OrderHistoryTable from '@/components/OrderHistoryTable';
@@ -16,15 +19,17 @@ type Order = {
     location: string;
     tax: number;
     tip: number;
-    pan: string;
-    expiryMonth: number;
-    expiryYear: number;
     status: string;
 };
 
 // --- Fetching Function (Server-Side) ---
-async function fetchOrders(): Promise<{ orders: Order[] | null; error?: string }> {
-    const backendApiUrl = 'http://backend-service:8080/api/orders';
+// The backend returns orders one page at a time (max 500) and puts the cursor for the
+// next page in the X-Next-Cursor header. Only the requested page is fetched; the cursor
+// goes into the "Next page" link so each render loads a single page.
+const ORDERS_PAGE_SIZE = 500;
+
+async function fetchOrders(after?: string): Promise<{ orders: Order[] | null; nextCursor?: string | null; error?: string }> {
+    const backendApiUrl = `http://backend-service:8080/api/orders?limit=${ORDERS_PAGE_SIZE}${after ? `&after=${encodeURIComponent(after)}` : ''}`;
     console.log(`Fetching orders from (server-side): ${backendApiUrl}`);
 
     try {
@@ -37,18 +42,18 @@ async function fetchOrders(): Promise<{ orders: Order[] | null; error?: string }
         }
 
         const contentType = res.headers.get("content-type");
-        if (contentType && contentType.indexOf("application/json") !== -1) {
-            const orders: Order[] = await res.json();
-            console.log("Orders fetched successfully (server-side):", orders.length);
-            // Initial sort can happen here or be handled entirely client-side
-            // orders.sort((a, b) => new Date(b.ordertime).getTime() - new Date(a.ordertime).getTime());
-            return { orders };
-        } else {
+        if (!contentType || contentType.indexOf("application/json") === -1) {
             const textResponse = await res.text();
             console.error("Received non-JSON response for orders:", textResponse);
             return { orders: null, error: `Expected JSON response but received content type: ${contentType}. Response body: ${textResponse}` };
         }
 
+        const orders: Order[] = await res.json();
+        console.log("Orders fetched successfully (server-side):", orders.length);
+        // Initial sort can happen here or be handled entirely client-side
+        // orders.sort((a, b) => new Date(b.ordertime).getTime() - new Date(a.ordertime).getTime());
+        return { orders, nextCursor: res.headers.get("X-Next-Cursor") };
+
     } catch (error: any) {
         console.error("Server-side fetch error (orders):", error);
         let errorMessage = error.message || 'An unknown error occurred while fetching orders.';
@@ -58,9 +63,12 @@ async function fetchOrders(): Promise<{ orders: Order[] | null; error?: string }
 }
 
 // --- OrdersPage Component (Server Component) ---
-export default async function OrdersPage() {
-    // Fetch initial data on the server
-    const { orders, error } = await fetchOrders();
+interface OrdersPageProps { searchParams: Promise<{ after?: string }>; }
+
+export default async function OrdersPage({ searchParams }: OrdersPageProps) {
+    const { after } = await searchParams;
+    // Fetch one page of data on the server
+    const { orders, nextCursor, error } = await fetchOrders(after);
 
     return (
         <main className="container mx-auto px-4 py-8">
@@ -79,6 +87,21 @@ export default async function OrdersPage() {
             )}
              {/* If there was an error, initialOrders will be null, so the table won't render */}
 
+            {!error && (after || nextCursor) && (
+                <div className="flex justify-end gap-2 mt-4">
+                    {after && (
+                        <Button variant="outline" size="sm" asChild>
+                            <Link href="/orders">First page</Link>
+                        </Button>
+                    )}
+                    {nextCursor && (
+                        <Button variant="outline" size="sm" asChild>
+                            <Link href={`/orders?after=${encodeURIComponent(nextCursor)}`}>Next page</Link>
+                        </Button>
+                    )}
+                </div>
+            )}
+
         </main>
     );
 }
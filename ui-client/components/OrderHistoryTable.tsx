@@ -26,7 +26,7 @@ import FormattedDate from './FormattedDate'; // Adjust path if needed
 // --- Types ---
 type Order = {
     id: number; userid: number; ordertime: string; pickuptime: string; area: string | null; location: string | null; // Added null possibility
-    tax: number; tip: number; pan: string; expiryMonth: number; expiryYear: number; status: string | null; // Added null possibility
+    tax: number; tip: number; status: string | null; // Added null possibility
 };
 
 // --- Helper Functions ---